@@ -0,0 +1,150 @@
+import mtgbench.BenchWorkload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default-package implementation of {@link BenchWorkload}, giving the JMH
+ * benchmarks in {@code mtgbench} access to the application classes.
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class MtgBenchWorkload implements BenchWorkload {
+
+    private List<Card> collection = new ArrayList<>();
+    private CardIndex index = new CardIndex();
+    private final CardDAO cardDAO = new CardDAO();
+
+    @Override
+    public long importCsv(Path file) {
+        long[] count = {0};
+        try {
+            new CsvCardImporter().importFile(file, batch -> count[0] += batch.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    @Override
+    public long importCsvLegacy(Path file) {
+        // The loop DMSforMTG_GUI.loadCardsFromFile used before CsvCardImporter.
+        List<Card> cards = new ArrayList<>();
+        try (Scanner fileScanner = new Scanner(new File(file.toString()))) {
+            fileScanner.nextLine();
+            while (fileScanner.hasNextLine()) {
+                String line = fileScanner.nextLine();
+                if (line.trim().isEmpty()) continue;
+
+                List<String> partsList = new ArrayList<>();
+                boolean inQuotes = false;
+                StringBuilder current = new StringBuilder();
+                for (char c : line.toCharArray()) {
+                    if (c == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (c == ',' && !inQuotes) {
+                        partsList.add(current.toString());
+                        current.setLength(0);
+                    } else {
+                        current.append(c);
+                    }
+                }
+                partsList.add(current.toString());
+                String[] parts = partsList.toArray(new String[0]);
+                if (parts.length < 8) continue;
+
+                cards.add(new Card(parts[0].replace("\"", "").trim(), parts[1].trim(), parts[2].trim(),
+                        parts[3].trim(), parts[4].trim(), Integer.parseInt(parts[5].trim()),
+                        Double.parseDouble(parts[6].trim()), Boolean.parseBoolean(parts[7].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return cards.size();
+    }
+
+    @Override
+    public void loadCollection(Path file) {
+        List<Card> loaded = new ArrayList<>();
+        try {
+            new CsvCardImporter().importFile(file, loaded::addAll);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        collection = loaded;
+        index = new CardIndex(loaded);
+    }
+
+    @Override
+    public int collectionSize() { return collection.size(); }
+
+    @Override
+    public String cardName(int index) { return collection.get(index).getName(); }
+
+    @Override
+    public boolean validateCard(int index) { return DMSUtils.validateCard(collection.get(index)); }
+
+    @Override
+    public String renderCard(int index) { return collection.get(index).toString(); }
+
+    @Override
+    public Object findByNameLinear(String name) {
+        return collection.stream()
+                .filter(c -> c.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Object findByNameIndexed(String name) {
+        return index.findFirstByName(name).orElse(null);
+    }
+
+    @Override
+    public void prepareDatabase(String jdbcUrl) {
+        DatabaseConnection.closeConnection();
+        System.setProperty("mtg.db.url", jdbcUrl);
+        System.setProperty("mtg.db.user", "sa");
+        System.setProperty("mtg.db.password", "");
+
+        try (Connection conn = DatabaseConnection.getPool().borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS Card");
+            stmt.execute(SchemaMigration.TABLES.get(0));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create benchmark table: " + e.getMessage(), e);
+        }
+        cardDAO.addCards(collection);
+    }
+
+    @Override
+    public int readAllCards() { return cardDAO.getAllCards().size(); }
+
+    @Override
+    public int readPages(int pageSize, boolean async) {
+        // prepareDatabase fills a fresh table, so card IDs run from 1 to the collection size.
+        int pages = (collection.size() + pageSize - 1) / pageSize;
+        int read = 0;
+        if (!async) {
+            for (int p = 0; p < pages; p++) read += cardDAO.getCards(p * pageSize, pageSize).size();
+            return read;
+        }
+        List<CompletableFuture<List<Card>>> futures = new ArrayList<>(pages);
+        for (int p = 0; p < pages; p++) futures.add(cardDAO.getCardsAsync(p * pageSize, pageSize));
+        for (CompletableFuture<List<Card>> future : futures) read += future.join().size();
+        return read;
+    }
+
+    @Override
+    public void close() { DatabaseConnection.closeConnection(); }
+}
@@ -0,0 +1,129 @@
+package mtgbench;
+
+import java.nio.file.Path;
+
+/**
+ * The operations measured by the benchmarks in this package.
+ * <p>
+ * The application classes live in the default package, which classes in a
+ * named package cannot reference, and JMH does not accept benchmarks in the
+ * default package. The benchmarks therefore drive the application through
+ * this interface. Its implementation, {@code MtgBenchWorkload}, sits in the
+ * default package next to the application classes and is loaded once per
+ * trial by {@link #load()}, so the measured calls are plain interface calls.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public interface BenchWorkload {
+
+    /**
+     * Creates the default-package implementation.
+     *
+     * @return a new workload
+     */
+    static BenchWorkload load() {
+        try {
+            return (BenchWorkload) Class.forName("MtgBenchWorkload").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("MtgBenchWorkload is not on the classpath", e);
+        }
+    }
+
+    /**
+     * Parses a card file with {@code CsvCardImporter}.
+     *
+     * @param file the CSV file
+     * @return the number of cards parsed
+     */
+    long importCsv(Path file);
+
+    /**
+     * Parses a card file with the original GUI loader (Scanner, one char[] and
+     * StringBuilder per line), kept as a baseline.
+     *
+     * @param file the CSV file
+     * @return the number of cards parsed
+     */
+    long importCsvLegacy(Path file);
+
+    /**
+     * Loads a card file into memory for the collection benchmarks.
+     *
+     * @param file the CSV file
+     */
+    void loadCollection(Path file);
+
+    /** @return the number of cards loaded by {@link #loadCollection(Path)} */
+    int collectionSize();
+
+    /**
+     * @param index a card position in the loaded collection
+     * @return that card's name
+     */
+    String cardName(int index);
+
+    /**
+     * Validates one loaded card with {@code DMSUtils.validateCard}.
+     *
+     * @param index a card position in the loaded collection
+     * @return true if the card is valid
+     */
+    boolean validateCard(int index);
+
+    /**
+     * Renders one loaded card with {@code Card.toString()}.
+     *
+     * @param index a card position in the loaded collection
+     * @return the card description
+     */
+    String renderCard(int index);
+
+    /**
+     * Finds a card by name the way the deck builder originally did: a linear,
+     * case-insensitive scan of the collection.
+     *
+     * @param name the card name
+     * @return the card, or {@code null}
+     */
+    Object findByNameLinear(String name);
+
+    /**
+     * Finds a card by name through {@code CardIndex}.
+     *
+     * @param name the card name
+     * @return the card, or {@code null}
+     */
+    Object findByNameIndexed(String name);
+
+    /**
+     * Points {@code DatabaseConnection} at an embedded database, creates the
+     * Card table and inserts the loaded collection.
+     *
+     * @param jdbcUrl the embedded database URL
+     */
+    void prepareDatabase(String jdbcUrl);
+
+    /**
+     * Reads every card back with {@code CardDAO.getAllCards()}, exercising the
+     * ResultSet-to-Card mapping.
+     *
+     * @return the number of cards read
+     */
+    int readAllCards();
+
+    /**
+     * Reads every card back as {@code CardDAO.getCards} pages of
+     * {@code pageSize} IDs, either one after another or all at once through
+     * {@code CardDAO.getCardsAsync}.
+     *
+     * @param pageSize the number of cards per page
+     * @param async    true to start every page query before waiting for any
+     * @return the number of cards read
+     */
+    int readPages(int pageSize, boolean async);
+
+    /** Releases database connections. */
+    void close();
+}
@@ -0,0 +1,42 @@
+package mtgbench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled and writes the results
+ * as JSON, so runs can be compared and changes gated on the numbers.
+ *
+ * <p><b>Command line:</b></p>
+ * <pre>
+ * java mtgbench.BenchmarkRunner [regex] [results.json]
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() { }
+
+    /**
+     * @param args an optional benchmark name pattern and an optional results file
+     * @throws RunnerException if JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "mtgbench\\..*";
+        String resultFile = args.length > 1 ? args[1] : "bench-results.json";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,72 @@
+package mtgbench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared benchmark state: a synthetic card file of {@link #rows} rows and a
+ * workload with that file loaded into memory.
+ * <p>
+ * The template for the synthetic rows is read from the {@code mtg.bench.template}
+ * system property, defaulting to {@code src/cards.csv} relative to the working directory.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class CardFileState {
+
+    /** Number of cards in the generated file. */
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    /** The generated card file. */
+    public Path file;
+
+    /** The workload, with {@link #file} loaded. */
+    public BenchWorkload workload;
+
+    /** Card names sampled from the collection, used as lookup keys. */
+    public String[] sampleNames;
+
+    /**
+     * Generates the card file and loads it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path template = Path.of(System.getProperty("mtg.bench.template", "src/cards.csv"));
+        file = Files.createTempFile("mtg-bench-" + rows + "-", ".csv");
+        SyntheticCardData.generate(template, file, rows, 42L);
+
+        workload = BenchWorkload.load();
+        workload.loadCollection(file);
+
+        sampleNames = new String[1024];
+        int size = workload.collectionSize();
+        for (int i = 0; i < sampleNames.length; i++) {
+            sampleNames[i] = workload.cardName((int) ((i * 2654435761L) % size));
+        }
+    }
+
+    /**
+     * Deletes the generated file and releases resources.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workload.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,83 @@
+package mtgbench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-card operations over an in-memory collection: validation, rendering
+ * and name lookup during deck building.
+ * <p>
+ * Each invocation works on the next card (or sampled name) in turn, so the
+ * results reflect the whole collection rather than one hot entry.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionBenchmark {
+
+    /** Position of the next card or name to use. */
+    private int cursor;
+
+    private int nextCard(CardFileState state) {
+        int index = cursor;
+        cursor = index + 1 == state.workload.collectionSize() ? 0 : index + 1;
+        return index;
+    }
+
+    private String nextName(CardFileState state) {
+        cursor = (cursor + 1) & (state.sampleNames.length - 1);
+        return state.sampleNames[cursor];
+    }
+
+    /**
+     * @param state the loaded collection
+     * @return whether the card is valid
+     */
+    @Benchmark
+    public boolean validateCard(CardFileState state) {
+        return state.workload.validateCard(nextCard(state));
+    }
+
+    /**
+     * @param state the loaded collection
+     * @return the rendered card
+     */
+    @Benchmark
+    public String renderCard(CardFileState state) {
+        return state.workload.renderCard(nextCard(state));
+    }
+
+    /**
+     * @param state the loaded collection
+     * @return the card found
+     */
+    @Benchmark
+    public Object findByNameLinearScan(CardFileState state) {
+        return state.workload.findByNameLinear(nextName(state));
+    }
+
+    /**
+     * @param state the loaded collection
+     * @return the card found
+     */
+    @Benchmark
+    public Object findByNameIndexed(CardFileState state) {
+        return state.workload.findByNameIndexed(nextName(state));
+    }
+}
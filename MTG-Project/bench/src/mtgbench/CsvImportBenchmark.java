@@ -0,0 +1,44 @@
+package mtgbench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to parse a whole card file, comparing
+ * {@code CsvCardImporter} with the original Scanner-based GUI loader.
+ *
+ * @author Emily
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CsvImportBenchmark {
+
+    /**
+     * @param state the generated card file
+     * @return the number of cards parsed
+     */
+    @Benchmark
+    public long streamingImporter(CardFileState state) {
+        return state.workload.importCsv(state.file);
+    }
+
+    /**
+     * @param state the generated card file
+     * @return the number of cards parsed
+     */
+    @Benchmark
+    public long legacyScannerLoader(CardFileState state) {
+        return state.workload.importCsvLegacy(state.file);
+    }
+}
@@ -0,0 +1,93 @@
+package mtgbench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code CardDAO.getAllCards()} against an embedded in-memory H2
+ * database in MySQL mode, isolating JDBC ResultSet-to-Card mapping from
+ * network and disk costs. The paged variants read the same rows as
+ * 1000-card pages, sequentially and fanned out through {@code CardDAO.getCardsAsync}.
+ *
+ * @author Emily
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoMappingBenchmark {
+
+    /** Number of rows in the Card table. */
+    @Param({"10000", "100000"})
+    public int rows;
+
+    /** Cards per page in the paged benchmarks. */
+    private static final int PAGE_SIZE = 1000;
+
+    private BenchWorkload workload;
+    private Path file;
+
+    /**
+     * Generates cards and loads them into the embedded database.
+     *
+     * @throws IOException if the card file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path template = Path.of(System.getProperty("mtg.bench.template", "src/cards.csv"));
+        file = Files.createTempFile("mtg-bench-dao-", ".csv");
+        SyntheticCardData.generate(template, file, rows, 42L);
+
+        workload = BenchWorkload.load();
+        workload.loadCollection(file);
+        workload.prepareDatabase("jdbc:h2:mem:mtgbench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1");
+    }
+
+    /**
+     * Closes the database and deletes the card file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workload.close();
+        Files.deleteIfExists(file);
+    }
+
+    /** @return the number of cards read */
+    @Benchmark
+    public int getAllCards() {
+        return workload.readAllCards();
+    }
+
+    /** @return the number of cards read, one page query at a time */
+    @Benchmark
+    public int getCardsPaged() {
+        return workload.readPages(PAGE_SIZE, false);
+    }
+
+    /** @return the number of cards read, with every page query in flight at once */
+    @Benchmark
+    public int getCardsPagedAsync() {
+        return workload.readPages(PAGE_SIZE, true);
+    }
+}
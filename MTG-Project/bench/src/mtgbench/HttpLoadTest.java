@@ -0,0 +1,224 @@
+package mtgbench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop load test for {@code CardApiServer} running on localhost.
+ * <p>
+ * Each worker thread sends requests one after another over its own
+ * keep-alive connection, cycling through the given paths. Workers remember
+ * the {@code ETag} of every path and send it back in {@code If-None-Match},
+ * as a caching client would, so the 304 share shows how often the server
+ * could skip the response body. Latencies recorded after the warm-up are
+ * reported as percentiles, along with throughput and a count per status code.
+ * </p>
+ *
+ * <pre>
+ * java -cp out/bench mtgbench.HttpLoadTest [baseUrl] [workers] [seconds] [path...]
+ * java -cp out/bench mtgbench.HttpLoadTest http://localhost:8080 64 30 "/api/cards?type=Creature" /api/decks/1
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class HttpLoadTest {
+
+    /** Paths requested when none are given. */
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/cards?type=Creature&limit=50",
+            "/api/cards?rarity=Rare&sort=value_desc&limit=20",
+            "/api/price?name=Sol%20Ring",
+            "/api/decks");
+
+    /** Seconds of traffic sent before latencies are recorded. */
+    private static final int WARMUP_SECONDS = 5;
+
+    private HttpLoadTest() {
+    }
+
+    /**
+     * Runs the load test and prints the results.
+     *
+     * @param args base URL (default {@code http://localhost:8080}), number of
+     *             workers (default 32), seconds to measure (default 20), then
+     *             the paths to request
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        List<String> paths = args.length > 3 ? List.of(args).subList(3, args.length) : DEFAULT_PATHS;
+
+        Result result = run(baseUrl, paths, workers, WARMUP_SECONDS, seconds);
+        System.out.println(result);
+    }
+
+    /**
+     * Sends requests from {@code workers} threads for the warm-up and
+     * measurement periods.
+     *
+     * @param baseUrl        the server address, e.g. {@code http://localhost:8080}
+     * @param paths          the paths to cycle through
+     * @param workers        the number of concurrent clients
+     * @param warmupSeconds  seconds to run before recording
+     * @param measureSeconds seconds to record
+     * @return the recorded latencies and status counts
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static Result run(String baseUrl, List<String> paths, int workers, int warmupSeconds, int measureSeconds)
+            throws InterruptedException {
+        List<URI> uris = new ArrayList<>();
+        for (String path : paths) uris.add(URI.create(baseUrl + path));
+
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Worker[] running = new Worker[workers];
+        Thread[] threads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            running[i] = new Worker(uris, i, recording, stopped);
+            threads[i] = new Thread(running[i], "http-load-" + i);
+            threads[i].start();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        recording.set(true);
+        long start = System.nanoTime();
+        Thread.sleep(measureSeconds * 1000L);
+        stopped.set(true);
+        long elapsed = System.nanoTime() - start;
+        for (Thread thread : threads) thread.join();
+
+        return new Result(running, workers, elapsed);
+    }
+
+    /** One client: a keep-alive connection and the ETags it has seen. */
+    private static final class Worker implements Runnable {
+        private final List<URI> uris;
+        private final AtomicBoolean recording;
+        private final AtomicBoolean stopped;
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final Map<URI, String> etags = new ConcurrentHashMap<>();
+        private int next;
+
+        long[] latencies = new long[1 << 14];
+        int count;
+        final Map<Integer, Long> statuses = new TreeMap<>();
+        long errors;
+
+        Worker(List<URI> uris, int offset, AtomicBoolean recording, AtomicBoolean stopped) {
+            this.uris = uris;
+            this.next = offset;
+            this.recording = recording;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public void run() {
+            while (!stopped.get()) {
+                URI uri = uris.get(next++ % uris.size());
+                HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+                String etag = etags.get(uri);
+                if (etag != null) request.header("If-None-Match", etag);
+
+                long start = System.nanoTime();
+                int status;
+                try {
+                    HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                    status = response.statusCode();
+                    response.headers().firstValue("ETag").ifPresent(tag -> etags.put(uri, tag));
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long nanos = System.nanoTime() - start;
+
+                if (!recording.get()) continue;
+                if (status < 0) {
+                    errors++;
+                    continue;
+                }
+                statuses.merge(status, 1L, Long::sum);
+                if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                latencies[count++] = nanos;
+            }
+        }
+    }
+
+    /**
+     * Merged results of every worker.
+     */
+    public static final class Result {
+        private final long[] latencies;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private final long errors;
+        private final int workers;
+        private final long elapsedNanos;
+
+        Result(Worker[] workerResults, int workers, long elapsedNanos) {
+            int total = 0;
+            long failed = 0;
+            for (Worker worker : workerResults) {
+                total += worker.count;
+                failed += worker.errors;
+                worker.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+            }
+            latencies = new long[total];
+            int offset = 0;
+            for (Worker worker : workerResults) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(latencies);
+            this.errors = failed;
+            this.workers = workers;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** @return the number of responses recorded */
+        public int getRequestCount() { return latencies.length; }
+
+        /** @return responses per second */
+        public double getThroughput() { return latencies.length / (elapsedNanos / 1e9); }
+
+        /**
+         * @param percentile a percentile from 0 to 100
+         * @return the latency at that percentile, in milliseconds
+         */
+        public double getLatencyMillis(double percentile) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1e6;
+        }
+
+        /** @return the number of responses per HTTP status */
+        public Map<Integer, Long> getStatusCounts() { return Collections.unmodifiableMap(statuses); }
+
+        /** @return the number of requests that failed without a response */
+        public long getErrorCount() { return errors; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d workers, %d requests, %.0f req/s, %d errors%n"
+                            + "latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n"
+                            + "status: %s",
+                    workers, getRequestCount(), getThroughput(), errors,
+                    getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99), getLatencyMillis(99.9),
+                    getLatencyMillis(100), statuses);
+        }
+    }
+}
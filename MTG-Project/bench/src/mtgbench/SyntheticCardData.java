@@ -0,0 +1,112 @@
+package mtgbench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates large, realistic card files for the benchmarks.
+ * <p>
+ * Rows are derived from a template file in the {@code cards.csv} layout.
+ * Each generated row copies the mana cost, type and rarity of a template row
+ * and varies the name, set, collector number, market value and foil flag, so
+ * the distribution of repeated values matches real collections. Output is
+ * deterministic for a given seed.
+ * </p>
+ *
+ * <p><b>Command line:</b></p>
+ * <pre>
+ * java mtgbench.SyntheticCardData &lt;template.csv&gt; &lt;output.csv&gt; &lt;rows&gt;
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class SyntheticCardData {
+
+    /** Number of distinct set names in generated data. */
+    private static final int SET_COUNT = 300;
+
+    private SyntheticCardData() { }
+
+    /**
+     * Writes {@code rows} synthetic cards to {@code output}.
+     *
+     * @param template a card file to take mana costs, types and rarities from
+     * @param output   the file to write
+     * @param rows     the number of data rows
+     * @param seed     the random seed
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void generate(Path template, Path output, int rows, long seed) throws IOException {
+        List<String[]> templates = readTemplate(template);
+        if (templates.isEmpty()) throw new IOException("Template has no data rows: " + template);
+
+        Random random = new Random(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            out.write("Name,ManaCost,Type,Rarity,SetName,CollectorNumber,MarketValue,IsFoil\n");
+            for (int i = 0; i < rows; i++) {
+                String[] t = templates.get(random.nextInt(templates.size()));
+                String name = t[0] + " " + (i / templates.size());
+                boolean quote = name.indexOf(',') >= 0;
+                out.write(quote ? "\"" + name + "\"" : name);
+                out.write(',');
+                out.write(t[1]);
+                out.write(',');
+                out.write(t[2]);
+                out.write(',');
+                out.write(t[3]);
+                out.write(",Set ");
+                out.write(Integer.toString(random.nextInt(SET_COUNT)));
+                out.write(',');
+                out.write(Integer.toString(1 + random.nextInt(400)));
+                out.write(',');
+                out.write(String.format(Locale.ROOT, "%.2f", random.nextDouble() * random.nextDouble() * 100));
+                out.write(',');
+                out.write(random.nextInt(10) == 0 ? "true" : "false");
+                out.write('\n');
+            }
+        }
+    }
+
+    /** Reads the template's data rows as field arrays, honoring quoted fields. */
+    private static List<String[]> readTemplate(Path template) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        List<String> lines = Files.readAllLines(template, StandardCharsets.UTF_8);
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean inQuotes = false;
+            for (char c : lines.get(i).toCharArray()) {
+                if (c == '"') inQuotes = !inQuotes;
+                else if (c == ',' && !inQuotes) {
+                    fields.add(current.toString().trim());
+                    current.setLength(0);
+                } else current.append(c);
+            }
+            fields.add(current.toString().trim());
+            if (fields.size() >= 8) rows.add(fields.toArray(new String[0]));
+        }
+        return rows;
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args template path, output path and row count
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.out.println("Usage: java mtgbench.SyntheticCardData <template.csv> <output.csv> <rows>");
+            return;
+        }
+        generate(Path.of(args[0]), Path.of(args[1]), Integer.parseInt(args[2]), 42L);
+    }
+}
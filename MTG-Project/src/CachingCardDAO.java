@@ -0,0 +1,162 @@
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CardDAO} that serves reads from a {@link ReadThroughCache}.
+ * <p>
+ * The full card list and individual keyset pages are cached after the first
+ * time they are read. Every write made through this DAO invalidates the cache,
+ * so reads that follow a write always see it. Writes made by other processes
+ * become visible once the cached entries expire. The cache sits beneath both
+ * the synchronous and the {@code ...Async} methods of {@link CardDAO}.
+ * </p>
+ *
+ * <p>
+ * Cached lists are copied before they are returned, but the {@link Card}
+ * objects inside them are shared between callers and should be treated as
+ * read-only.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CachingCardDAO extends CardDAO {
+
+    /** Cache key for the full card list. */
+    private static final String ALL_CARDS = "all";
+
+    /** Default maximum number of cached query results. */
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /** Default time-to-live for cached query results. */
+    private static final long DEFAULT_TTL_MILLIS = 5 * 60_000;
+
+    /** Cached query results, keyed by query. */
+    private final ReadThroughCache<String, List<Card>> cache;
+
+    /**
+     * Creates a caching DAO holding up to 64 query results for five minutes,
+     * with LRU eviction.
+     */
+    public CachingCardDAO() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, EvictionPolicy.lru());
+    }
+
+    /**
+     * Creates a caching DAO with custom bounds.
+     *
+     * @param maxEntries the maximum number of cached query results
+     * @param ttlMillis  how long a result stays cached, or 0 for no expiry
+     * @param policy     the eviction policy, e.g. {@link EvictionPolicy#tinyLfu(int)}
+     */
+    public CachingCardDAO(int maxEntries, long ttlMillis, EvictionPolicy<String> policy) {
+        this.cache = new ReadThroughCache<>(maxEntries, ttlMillis, policy);
+    }
+
+    // ------------------ READS ------------------
+
+    @Override
+    protected List<Card> selectAllCards() throws SQLException {
+        return new ArrayList<>(cached(ALL_CARDS, super::selectAllCards));
+    }
+
+    @Override
+    protected List<Card> selectCards(int afterId, int limit) throws SQLException {
+        return new ArrayList<>(cached("page:" + afterId + ":" + limit, () -> super.selectCards(afterId, limit)));
+    }
+
+    /**
+     * Visits every card, serving the full card list from the cache if it is
+     * already there. On a miss the cards are streamed from the database one at
+     * a time, as in {@link CardDAO#forEachCard(Consumer)}, and the cache is
+     * not filled, so visiting a large table never loads it all into memory.
+     *
+     * @param action Called once for each card
+     * @return The number of cards visited
+     */
+    @Override
+    public int forEachCard(Consumer<Card> action) {
+        List<Card> cards = cache.getIfPresent(ALL_CARDS);
+        if (cards == null) return super.forEachCard(action);
+        cards.forEach(action);
+        return cards.size();
+    }
+
+    /**
+     * Returns a cached result, running the query on a miss. A failed query
+     * is not cached, so the next call tries again.
+     */
+    private List<Card> cached(String key, DatabaseExecutor.SqlTask<List<Card>> query) throws SQLException {
+        try {
+            return cache.get(key, k -> {
+                try {
+                    return List.copyOf(query.call());
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            });
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ------------------ WRITES ------------------
+
+    @Override
+    protected void insertCard(Card card) throws SQLException {
+        try {
+            super.insertCard(card);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    protected BatchReport insertCards(Collection<Card> cards, int batchSize) throws SQLException {
+        try {
+            return super.insertCards(cards, batchSize);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    protected int updateValue(String name, double newValue) throws SQLException {
+        try {
+            return super.updateValue(name, newValue);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public PriceUpdateReport applyPriceUpdates(Iterator<PriceUpdate> updates, int chunkSize) {
+        try {
+            return super.applyPriceUpdates(updates, chunkSize);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    protected int deleteByName(String name) throws SQLException {
+        try {
+            return super.deleteByName(name);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    // ------------------ CACHE CONTROL ------------------
+
+    /** Drops every cached result so the next read goes to the database. */
+    public void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    /** @return the cache's hit, miss and eviction counters */
+    public ReadThroughCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+}
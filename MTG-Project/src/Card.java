@@ -46,6 +46,9 @@ public class Card {
     /** Whether this card is a foil version. */
     private boolean foil;
 
+    /** The parsed form of {@link #manaCost}, filled in on first use. */
+    private ManaCost parsedManaCost;
+
     /**
      * Creates a new card without an assigned ID.
      * This constructor is used when a user adds a new card manually.
@@ -111,7 +114,23 @@ public class Card {
     public String getManaCost() { return manaCost; }
 
     /** @param manaCost sets the mana cost */
-    public void setManaCost(String manaCost) { this.manaCost = manaCost; }
+    public void setManaCost(String manaCost) {
+        this.manaCost = manaCost;
+        this.parsedManaCost = null;
+    }
+
+    /**
+     * Returns the mana cost parsed into colors and amounts.
+     * The string is parsed on the first call and the result is reused.
+     *
+     * @return the parsed mana cost, or {@code null} if the mana cost string is not valid
+     */
+    public ManaCost getParsedManaCost() {
+        if (parsedManaCost == null) {
+            parsedManaCost = ManaCost.tryParse(manaCost);
+        }
+        return parsedManaCost;
+    }
 
     /** @return card type */
     public String getType() { return type; }
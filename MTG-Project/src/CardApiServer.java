@@ -0,0 +1,515 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Embedded HTTP server exposing the card collection and decks as JSON, so
+ * other tools can query them without the console menu or the GUI.
+ * <p>
+ * Built on the JDK's {@link HttpServer}. Each request runs on its own virtual
+ * thread when the JVM supports them (see {@link DatabaseExecutor}) and reads
+ * the database through the asynchronous DAO methods, which cap concurrent
+ * queries at the connection pool size.
+ * </p>
+ *
+ * <p><b>Endpoints</b> (GET or HEAD):</p>
+ * <ul>
+ *     <li>{@code /api/cards}: card search. Parameters {@code name} (name prefix),
+ *         {@code type}, {@code rarity}, {@code set}, {@code foil}, {@code colors}
+ *         (e.g. {@code WU}), {@code minValue}, {@code maxValue}, {@code sort}
+ *         ({@code name}, {@code value_asc}, {@code value_desc}, {@code collector_number})
+ *         and {@code limit} (default {@value #DEFAULT_LIMIT}, at most {@value #MAX_LIMIT})</li>
+ *     <li>{@code /api/price?name=...}: every printing of a card with its market value</li>
+ *     <li>{@code /api/decks}: the IDs of every deck</li>
+ *     <li>{@code /api/decks/{id}}: a deck with its commander and cards</li>
+ *     <li>{@code /api/decks/{id}/validation}: the deck's {@link DeckLegalityValidator} violations</li>
+ *     <li>{@code /api/health}: a liveness check that does not touch the database</li>
+ * </ul>
+ *
+ * <p>
+ * Responses are written with {@link JsonWriter} straight into the chunked
+ * response body, so large results are never built up as one string. Every
+ * response carries an {@code ETag} computed from the data it contains, and a
+ * request whose {@code If-None-Match} matches gets {@code 304 Not Modified}
+ * without a body. Connections are HTTP/1.1 keep-alive: a client can send any
+ * number of requests over one connection.
+ * </p>
+ *
+ * <p>
+ * The service has no authentication, so by default it listens on the
+ * loopback address only. Set {@code mtg.api.host} (e.g. {@code 0.0.0.0}) to
+ * serve other machines.
+ * </p>
+ *
+ * <p>
+ * Errors are JSON objects with an {@code error} member: 400 for bad
+ * parameters, 404 for unknown paths and missing cards or decks, 405 for
+ * methods other than GET and HEAD, and 500 when the database fails.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardApiServer {
+
+    /** Port used when {@code mtg.api.port} is not set. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Number of cards returned by {@code /api/cards} when no limit is given. */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /** Largest {@code limit} accepted by {@code /api/cards}. */
+    public static final int MAX_LIMIT = 5000;
+
+    /** Request threads used when virtual threads are not available. */
+    private static final int FALLBACK_THREADS = 64;
+
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+    static {
+        // Without TCP_NODELAY the last chunk of a response waits for the client's
+        // delayed ACK, adding about 40 ms to every small keep-alive response.
+        // Read once when the JDK server is first used, so it is set here.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CardDAO cardDAO;
+    private final DeckDAO deckDAO;
+    private final DeckLegalityValidator validator;
+
+    /**
+     * Creates a server on a loopback port. Call {@link #start()} to accept requests.
+     *
+     * @param port      the port to listen on, or 0 for any free port
+     * @param cardDAO   the DAO serving card queries
+     * @param deckDAO   the DAO serving deck queries
+     * @param validator the validator used by the validation endpoint
+     * @throws IOException if the port cannot be bound
+     */
+    public CardApiServer(int port, CardDAO cardDAO, DeckDAO deckDAO, DeckLegalityValidator validator)
+            throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, cardDAO, deckDAO, validator);
+    }
+
+    /**
+     * Creates a server on an address and port. Call {@link #start()} to accept requests.
+     *
+     * @param host      the local address to listen on
+     * @param port      the port to listen on, or 0 for any free port
+     * @param cardDAO   the DAO serving card queries
+     * @param deckDAO   the DAO serving deck queries
+     * @param validator the validator used by the validation endpoint
+     * @throws IOException if the port cannot be bound
+     */
+    public CardApiServer(InetAddress host, int port, CardDAO cardDAO, DeckDAO deckDAO, DeckLegalityValidator validator)
+            throws IOException {
+        this.cardDAO = cardDAO;
+        this.deckDAO = deckDAO;
+        this.validator = validator;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = DatabaseExecutor.newThreadPerTaskExecutor("mtg-http-", FALLBACK_THREADS);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    /** Starts accepting requests. */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, letting requests in progress finish for up to
+     * {@code delaySeconds}.
+     *
+     * @param delaySeconds the longest time to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /** @return the port the server listens on */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ------------------ REQUEST HANDLING ------------------
+
+    /**
+     * Routes a request, then sends the result: 304 if the client already has
+     * it, otherwise the status, headers and streamed JSON body.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            Response response;
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                response = Response.error(405, "Method " + method + " is not allowed");
+            } else {
+                response = route(exchange.getRequestURI());
+            }
+            send(exchange, response, method.equals("HEAD"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(URI uri) {
+        String path = uri.getPath();
+        Map<String, String> query = parseQuery(uri.getRawQuery());
+        try {
+            if (path.equals("/api/health")) return health();
+            if (path.equals("/api/cards")) return searchCards(query);
+            if (path.equals("/api/price")) return price(query);
+            if (path.equals("/api/decks")) return deckIds();
+            if (path.startsWith("/api/decks/")) {
+                String[] parts = path.substring("/api/decks/".length()).split("/");
+                int deckId = parseInt(parts[0], "deck ID");
+                if (parts.length == 1) return deck(deckId);
+                if (parts.length == 2 && parts[1].equals("validation")) return validation(deckId);
+            }
+            return Response.error(404, "No such resource: " + path);
+        } catch (IllegalArgumentException e) {
+            return Response.error(400, e.getMessage());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IllegalArgumentException) return Response.error(400, cause.getMessage());
+            System.out.println("Error serving " + path + ": " + cause.getMessage());
+            return Response.error(500, "Database error");
+        } catch (RuntimeException e) {
+            System.out.println("Error serving " + path + ": " + e);
+            return Response.error(500, "Internal error");
+        }
+    }
+
+    private void send(HttpExchange exchange, Response response, boolean head) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", JSON_TYPE);
+        if (response.etag != null) {
+            headers.set("ETag", response.etag);
+            // Cached copies may be reused only after revalidating with If-None-Match.
+            headers.set("Cache-Control", "no-cache");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), response.etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        if (head) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+        // A length of 0 selects chunked encoding, so the body is sent as it is written.
+        exchange.sendResponseHeaders(response.status, 0);
+        try (JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 14))) {
+            response.body.writeTo(json);
+        }
+    }
+
+    /** Checks an {@code If-None-Match} header, which may list several tags or be {@code *}. */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // ------------------ ENDPOINTS ------------------
+
+    private Response health() {
+        return new Response(200, null, json -> json.beginObject().name("status").value("ok").endObject());
+    }
+
+    private Response searchCards(Map<String, String> query) {
+        CardCriteria criteria = new CardCriteria();
+        String value;
+        if ((value = query.get("name")) != null) criteria.namePrefix(value);
+        if ((value = query.get("type")) != null) criteria.type(value);
+        if ((value = query.get("rarity")) != null) criteria.rarity(value);
+        if ((value = query.get("set")) != null) criteria.setName(value);
+        if ((value = query.get("foil")) != null) criteria.foil(parseBoolean(value, "foil"));
+        if ((value = query.get("colors")) != null) criteria.colors(ManaCost.colorMaskOf(value.toUpperCase(Locale.ROOT)));
+        if ((value = query.get("minValue")) != null) criteria.minValue(parseDouble(value, "minValue"));
+        if ((value = query.get("maxValue")) != null) criteria.maxValue(parseDouble(value, "maxValue"));
+        if ((value = query.get("sort")) != null) criteria.sortBy(parseSort(value));
+        int limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        criteria.limit(limit);
+
+        List<Card> cards = cardDAO.findCardsAsync(criteria).join();
+        ETag etag = new ETag();
+        for (Card card : cards) etag.add(card);
+        return new Response(200, etag.toString(), json -> {
+            json.beginObject().name("count").value(cards.size()).name("cards").beginArray();
+            for (Card card : cards) writeCard(json, card);
+            json.endArray().endObject();
+        });
+    }
+
+    private Response price(Map<String, String> query) {
+        String name = query.get("name");
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("name is required");
+
+        List<Card> printings = cardDAO.findCardsAsync(new CardCriteria().name(name.trim()).limit(MAX_LIMIT)).join();
+        if (printings.isEmpty()) return Response.error(404, "Card not found: " + name);
+
+        ETag etag = new ETag();
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (Card card : printings) {
+            etag.add(card);
+            min = Math.min(min, card.getMarketValue());
+            max = Math.max(max, card.getMarketValue());
+        }
+        double lowest = min;
+        double highest = max;
+        return new Response(200, etag.toString(), json -> {
+            json.beginObject()
+                    .name("name").value(printings.get(0).getName())
+                    .name("minValue").value(lowest)
+                    .name("maxValue").value(highest)
+                    .name("printings").beginArray();
+            for (Card card : printings) {
+                json.beginObject()
+                        .name("cardId").value(card.getCardId())
+                        .name("setName").value(card.getSetName())
+                        .name("collectorNumber").value(card.getCollectorNumber())
+                        .name("foil").value(card.isFoil())
+                        .name("marketValue").value(card.getMarketValue())
+                        .endObject();
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    private Response deckIds() {
+        List<Integer> ids = deckDAO.getDeckIdsAsync().join();
+        ETag etag = new ETag();
+        for (int id : ids) etag.add(id);
+        return new Response(200, etag.toString(), json -> {
+            json.beginObject().name("deckIds").beginArray();
+            for (int id : ids) json.value(id);
+            json.endArray().endObject();
+        });
+    }
+
+    private Response deck(int deckId) {
+        Deck deck = deckDAO.loadDeckAsync(deckId).join();
+        if (deck == null) return Response.error(404, "Deck not found: " + deckId);
+        return new Response(200, deckETag(deck), json -> {
+            json.beginObject()
+                    .name("deckId").value(deck.getDeckId())
+                    .name("deckName").value(deck.getDeckName())
+                    .name("format").value(deck.getFormat())
+                    .name("totalCards").value(deck.getTotalCards())
+                    .name("totalValue").value(deck.getTotalValue())
+                    .name("commander");
+            if (deck.getCommander() == null) json.nullValue();
+            else writeCard(json, deck.getCommander());
+            json.name("cards").beginArray();
+            IOException[] failure = new IOException[1];
+            deck.forEachEntry((card, quantity) -> {
+                if (failure[0] != null) return;
+                try {
+                    json.beginObject().name("quantity").value(quantity).name("card");
+                    writeCard(json, card);
+                    json.endObject();
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+            json.endArray().endObject();
+        });
+    }
+
+    private Response validation(int deckId) {
+        Deck deck = deckDAO.loadDeckAsync(deckId).join();
+        if (deck == null) return Response.error(404, "Deck not found: " + deckId);
+        List<DeckLegalityValidator.Violation> violations = validator.validate(deck);
+        return new Response(200, deckETag(deck), json -> {
+            json.beginObject()
+                    .name("deckId").value(deck.getDeckId())
+                    .name("format").value(deck.getFormat())
+                    .name("legal").value(violations.isEmpty())
+                    .name("violations").beginArray();
+            for (DeckLegalityValidator.Violation violation : violations) {
+                json.beginObject()
+                        .name("rule").value(violation.getRule().name())
+                        .name("message").value(violation.getRule().getMessage())
+                        .name("card").value(violation.getCard() == null ? null : violation.getCard().getName())
+                        .name("detail").value(violation.getDetail())
+                        .endObject();
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    private static String deckETag(Deck deck) {
+        ETag etag = new ETag();
+        etag.add(deck.getDeckId()).add(deck.getDeckName()).add(deck.getFormat());
+        if (deck.getCommander() != null) etag.add(deck.getCommander());
+        deck.forEachEntry((card, quantity) -> etag.add(card).add(quantity));
+        return etag.toString();
+    }
+
+    private static void writeCard(JsonWriter json, Card card) throws IOException {
+        json.beginObject()
+                .name("cardId").value(card.getCardId())
+                .name("name").value(card.getName())
+                .name("manaCost").value(card.getManaCost())
+                .name("type").value(card.getType())
+                .name("rarity").value(card.getRarity())
+                .name("setName").value(card.getSetName())
+                .name("collectorNumber").value(card.getCollectorNumber())
+                .name("marketValue").value(card.getMarketValue())
+                .name("foil").value(card.isFoil())
+                .endObject();
+    }
+
+    // ------------------ PARAMETERS ------------------
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.putIfAbsent(key, value);
+        }
+        return query;
+    }
+
+    private static int parseInt(String value, String what) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + value);
+        }
+    }
+
+    private static double parseDouble(String value, String what) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value, String what) {
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException("Invalid " + what + ": " + value);
+    }
+
+    private static CardCriteria.SortOrder parseSort(String value) {
+        try {
+            return CardCriteria.SortOrder.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + value);
+        }
+    }
+
+    // ------------------ RESPONSES ------------------
+
+    /** Writes a response body. */
+    private interface Body {
+        void writeTo(JsonWriter json) throws IOException;
+    }
+
+    /** A status, an optional ETag and the body to stream. */
+    private static final class Response {
+        final int status;
+        final String etag;
+        final Body body;
+
+        Response(int status, String etag, Body body) {
+            this.status = status;
+            this.etag = etag;
+            this.body = body;
+        }
+
+        static Response error(int status, String message) {
+            return new Response(status, null, json -> json.beginObject().name("error").value(message).endObject());
+        }
+    }
+
+    /**
+     * Builds a strong entity tag from the values a response is made of,
+     * without serializing it first.
+     */
+    private static final class ETag {
+        private long hash = 0xcbf29ce484222325L;
+
+        ETag add(long value) {
+            // FNV-1a over whole values, followed by a final mix in toString().
+            hash = (hash ^ value) * 0x100000001b3L;
+            return this;
+        }
+
+        ETag add(String value) {
+            if (value == null) return add(-1);
+            for (int i = 0; i < value.length(); i++) add(value.charAt(i));
+            return add(value.length());
+        }
+
+        ETag add(Card card) {
+            return add(card.getCardId()).add(card.getName()).add(card.getManaCost()).add(card.getType())
+                    .add(card.getRarity()).add(card.getSetName()).add(card.getCollectorNumber())
+                    .add(Double.doubleToLongBits(card.getMarketValue())).add(card.isFoil() ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            long mixed = hash ^ (hash >>> 33);
+            mixed *= 0xff51afd7ed558ccdL;
+            mixed ^= mixed >>> 33;
+            return "\"" + Long.toHexString(mixed) + "\"";
+        }
+    }
+
+    // ------------------ MAIN ------------------
+
+    /**
+     * Starts the server over the configured database.
+     * <pre>
+     * java -Dmtg.db.backend=h2 [-Dmtg.api.host=0.0.0.0] CardApiServer [port]
+     * </pre>
+     *
+     * @param args an optional port, overriding {@code mtg.api.port} (default {@value #DEFAULT_PORT})
+     * @throws IOException if {@code mtg.api.host} cannot be resolved or the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("mtg.api.port", DEFAULT_PORT);
+        String hostName = System.getProperty("mtg.api.host");
+        InetAddress host = hostName == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(hostName);
+        CardApiServer server = new CardApiServer(host, port, new CachingCardDAO(), new DeckDAO(), new DeckLegalityValidator());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            DatabaseConnection.closeConnection();
+        }));
+        server.start();
+        System.out.println("Serving the MTG collection on http://" + host.getHostAddress() + ":" + server.getPort() + "/api/");
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing hash map from an {@code int} card key to a copy count and
+ * the {@link Card} it counts.
+ * <p>
+ * Keys, counts and cards are kept in parallel arrays with linear probing, so
+ * lookups and updates never box an {@code Integer} or allocate an entry
+ * object. Removal uses backward-shift deletion, which keeps probe sequences
+ * short without tombstones. Iteration follows slot order, not insertion order.
+ * </p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardCountMap {
+
+    /** Marks an unused slot; card keys are never {@link Integer#MIN_VALUE}. */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    /** The table is grown once it is more than this full. */
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] counts;
+    private Card[] cards;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    /** Creates an empty map sized for a typical deck. */
+    public CardCountMap() {
+        this(64);
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize the number of distinct keys expected
+     */
+    public CardCountMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) * 2 - 1);
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new int[capacity];
+        cards = new Card[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Adds copies under a key.
+     *
+     * @param key   the card key
+     * @param card  the card stored with the key when it is new
+     * @param delta the number of copies to add (at least 1)
+     * @return the new count for the key
+     */
+    public int add(int key, Card card, int delta) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            counts[slot] += delta;
+            return counts[slot];
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        cards[slot] = card;
+        if (++size > resizeAt) grow();
+        return delta;
+    }
+
+    /**
+     * Removes up to {@code delta} copies under a key, removing the key when its count reaches zero.
+     *
+     * @param key   the card key
+     * @param delta the number of copies to remove
+     * @return the number of copies actually removed
+     */
+    public int remove(int key, int delta) {
+        int slot = find(key);
+        if (keys[slot] != key) return 0;
+        int removed = Math.min(delta, counts[slot]);
+        counts[slot] -= removed;
+        if (counts[slot] == 0) deleteSlot(slot);
+        return removed;
+    }
+
+    /**
+     * @param key the card key
+     * @return the count for the key, or 0 if it is absent
+     */
+    public int getCount(int key) {
+        int slot = find(key);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+
+    /**
+     * @param key the card key
+     * @return the card stored with the key, or {@code null} if it is absent
+     */
+    public Card getCard(int key) {
+        int slot = find(key);
+        return keys[slot] == key ? cards[slot] : null;
+    }
+
+    /** @return the number of distinct keys */
+    public int size() { return size; }
+
+    /** @return true if the map holds no keys */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Passes every card and its count to {@code action}.
+     *
+     * @param action called once per key
+     */
+    public void forEach(ObjIntConsumer<Card> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) action.accept(cards[slot], counts[slot]);
+        }
+    }
+
+    /** Removes every key. */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(cards, null);
+        size = 0;
+    }
+
+    // ------------------ INTERNAL HELPERS ------------------
+
+    /** Returns the slot holding {@code key}, or the empty slot where it would go. */
+    private int find(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Empties a slot and shifts later entries of the same probe run back into it. */
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry if the gap lies on its probe path from home to next.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                counts[gap] = counts[next];
+                cards[gap] = cards[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        counts[gap] = 0;
+        cards[gap] = null;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        Card[] oldCards = cards;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = find(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+            cards[slot] = oldCards[i];
+        }
+    }
+}
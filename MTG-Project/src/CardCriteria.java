@@ -0,0 +1,188 @@
+import java.util.Locale;
+
+/**
+ * A combination of conditions that selects cards, such as "foil mythic
+ * creatures in set X worth more than $20, most valuable first".
+ * <p>
+ * Every condition is optional; unset conditions match every card, and the set
+ * conditions must all hold. Type, rarity, set name, name and name prefix compare
+ * ignoring case. Setters return {@code this} so criteria can be chained:
+ * </p>
+ * <pre>
+ * new CardCriteria().type("Creature").rarity("Mythic").foil(true)
+ *         .minValue(20).sortBy(CardCriteria.SortOrder.VALUE_DESC).limit(50);
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardCriteria {
+
+    /** Orders in which matching cards can be returned. */
+    public enum SortOrder {
+        /** Collection (or database) order. */
+        NONE,
+        /** Name, A to Z. */
+        NAME,
+        /** Market value, cheapest first. */
+        VALUE_ASC,
+        /** Market value, most valuable first. */
+        VALUE_DESC,
+        /** Collector number, lowest first. */
+        COLLECTOR_NUMBER
+    }
+
+    private String type;
+    private String rarity;
+    private String setName;
+    private Boolean foil;
+    private int colorMask;
+    private Double minValue;
+    private Double maxValue;
+    private Integer minCollectorNumber;
+    private Integer maxCollectorNumber;
+    private String name;
+    private String namePrefix;
+    private SortOrder sortOrder = SortOrder.NONE;
+    private int limit;
+
+    /** @param type the card type to match, e.g. "Creature" */
+    public CardCriteria type(String type) { this.type = type; return this; }
+
+    /** @param rarity the rarity to match, e.g. "Mythic" */
+    public CardCriteria rarity(String rarity) { this.rarity = rarity; return this; }
+
+    /** @param setName the set name to match */
+    public CardCriteria setName(String setName) { this.setName = setName; return this; }
+
+    /** @param foil whether the card must be foil, or {@code null} for either */
+    public CardCriteria foil(Boolean foil) { this.foil = foil; return this; }
+
+    /**
+     * @param colorMask {@link ManaCost} color bits that must all appear in the
+     *                  card's mana cost, or 0 for any colors
+     */
+    public CardCriteria colors(int colorMask) { this.colorMask = colorMask & ManaCost.ALL_COLORS; return this; }
+
+    /** @param minValue the lowest market value to match, inclusive */
+    public CardCriteria minValue(double minValue) { this.minValue = minValue; return this; }
+
+    /** @param maxValue the highest market value to match, inclusive */
+    public CardCriteria maxValue(double maxValue) { this.maxValue = maxValue; return this; }
+
+    /** @param minCollectorNumber the lowest collector number to match, inclusive */
+    public CardCriteria minCollectorNumber(int minCollectorNumber) { this.minCollectorNumber = minCollectorNumber; return this; }
+
+    /** @param maxCollectorNumber the highest collector number to match, inclusive */
+    public CardCriteria maxCollectorNumber(int maxCollectorNumber) { this.maxCollectorNumber = maxCollectorNumber; return this; }
+
+    /** @param name the full card name to match */
+    public CardCriteria name(String name) { this.name = name; return this; }
+
+    /** @param namePrefix text the card name must start with */
+    public CardCriteria namePrefix(String namePrefix) { this.namePrefix = namePrefix; return this; }
+
+    /** @param sortOrder the order of the results */
+    public CardCriteria sortBy(SortOrder sortOrder) { this.sortOrder = sortOrder; return this; }
+
+    /** @param limit the maximum number of results, or 0 for no limit */
+    public CardCriteria limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must not be negative");
+        this.limit = limit;
+        return this;
+    }
+
+    /** @return the type to match, or null */
+    public String getType() { return type; }
+
+    /** @return the rarity to match, or null */
+    public String getRarity() { return rarity; }
+
+    /** @return the set name to match, or null */
+    public String getSetName() { return setName; }
+
+    /** @return the foil flag to match, or null */
+    public Boolean getFoil() { return foil; }
+
+    /** @return the required color bits, or 0 */
+    public int getColorMask() { return colorMask; }
+
+    /** @return the lowest market value, or null */
+    public Double getMinValue() { return minValue; }
+
+    /** @return the highest market value, or null */
+    public Double getMaxValue() { return maxValue; }
+
+    /** @return the lowest collector number, or null */
+    public Integer getMinCollectorNumber() { return minCollectorNumber; }
+
+    /** @return the highest collector number, or null */
+    public Integer getMaxCollectorNumber() { return maxCollectorNumber; }
+
+    /** @return the full name to match, or null */
+    public String getName() { return name; }
+
+    /** @return the name prefix, or null */
+    public String getNamePrefix() { return namePrefix; }
+
+    /** @return the sort order */
+    public SortOrder getSortOrder() { return sortOrder; }
+
+    /** @return the result limit, or 0 for no limit */
+    public int getLimit() { return limit; }
+
+    /**
+     * Tests a single card against every condition. Sorting and the limit are
+     * not applied.
+     *
+     * @param card the card to test
+     * @return true if the card matches
+     */
+    public boolean matches(Card card) {
+        if (type != null && !type.equalsIgnoreCase(card.getType())) return false;
+        if (rarity != null && !rarity.equalsIgnoreCase(card.getRarity())) return false;
+        if (setName != null && !setName.equalsIgnoreCase(card.getSetName())) return false;
+        if (foil != null && foil != card.isFoil()) return false;
+        if (colorMask != 0) {
+            ManaCost cost = card.getParsedManaCost();
+            if (cost == null || (cost.getColorMask() & colorMask) != colorMask) return false;
+        }
+        if (minValue != null && !(card.getMarketValue() >= minValue)) return false;
+        if (maxValue != null && !(card.getMarketValue() <= maxValue)) return false;
+        if (minCollectorNumber != null && card.getCollectorNumber() < minCollectorNumber) return false;
+        if (maxCollectorNumber != null && card.getCollectorNumber() > maxCollectorNumber) return false;
+        if (name != null && !name.equalsIgnoreCase(card.getName())) return false;
+        return namePrefix == null || startsWithIgnoreCase(card.getName(), namePrefix);
+    }
+
+    static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text != null && text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    static String fold(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CardCriteria[");
+        if (type != null) sb.append("type=").append(type).append(", ");
+        if (rarity != null) sb.append("rarity=").append(rarity).append(", ");
+        if (setName != null) sb.append("set=").append(setName).append(", ");
+        if (foil != null) sb.append("foil=").append(foil).append(", ");
+        if (colorMask != 0) sb.append("colors=").append(colorMask).append(", ");
+        if (minValue != null || maxValue != null) {
+            sb.append("value=").append(minValue == null ? "*" : minValue)
+                    .append("..").append(maxValue == null ? "*" : maxValue).append(", ");
+        }
+        if (minCollectorNumber != null || maxCollectorNumber != null) {
+            sb.append("number=").append(minCollectorNumber == null ? "*" : minCollectorNumber)
+                    .append("..").append(maxCollectorNumber == null ? "*" : maxCollectorNumber).append(", ");
+        }
+        if (name != null) sb.append("name=").append(name).append(", ");
+        if (namePrefix != null) sb.append("name^=").append(namePrefix).append(", ");
+        sb.append("sort=").append(sortOrder);
+        if (limit > 0) sb.append(", limit=").append(limit);
+        return sb.append(']').toString();
+    }
+}
@@ -1,11 +1,26 @@
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object (DAO) class for interacting with the Card table.
  * <p>
  * Provides CRUD (Create, Read, Update, Delete) operations for managing
- * Magic: The Gathering card data stored in the MySQL database.
+ * Magic: The Gathering card data stored in the database.
+ * </p>
+ *
+ * <p>
+ * Each operation is also available as an {@code ...Async} method that runs on
+ * {@link DatabaseExecutor} and returns a {@link CompletableFuture}. The
+ * synchronous methods print errors and return an empty result; the
+ * asynchronous ones complete exceptionally with the {@link SQLException}
+ * instead, so callers can start many queries at once and handle failures.
+ * The statements themselves live in protected methods that throw, which
+ * subclasses such as {@link CachingCardDAO} override once for both styles.
  * </p>
  *
  * @author Emily Gonzalez
@@ -13,66 +28,619 @@ import java.util.*;
  */
 public class CardDAO {
 
+    /** Insert statement shared by the single-card and batch insert paths. */
+    private static final String INSERT_SQL =
+            "INSERT INTO Card (name, manaCost, type, rarity, setName, collectorNumber, marketValue, isFoil) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Number of cards sent per batch when no batch size is given. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     /**
      * Adds a new card to the database.
      *
      * @param card The {@link Card} object to insert
      */
     public void addCard(Card card) {
-        String sql = "INSERT INTO Card (name, manaCost, type, rarity, setName, collectorNumber, marketValue, isFoil) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try {
+            insertCard(card);
+            System.out.println("Card added successfully!");
+        } catch (SQLException e) {
+            System.out.println("Error adding card: " + e.getMessage());
+        }
+    }
 
-            stmt.setString(1, card.getName());
-            stmt.setString(2, card.getManaCost());
-            stmt.setString(3, card.getType());
-            stmt.setString(4, card.getRarity());
-            stmt.setString(5, card.getSetName());
-            stmt.setInt(6, card.getCollectorNumber());
-            stmt.setDouble(7, card.getMarketValue());
-            stmt.setBoolean(8, card.isFoil());
+    /**
+     * Adds a new card to the database in the background.
+     *
+     * @param card The {@link Card} object to insert
+     * @return completes when the card is stored
+     */
+    public CompletableFuture<Void> addCardAsync(Card card) {
+        return DatabaseExecutor.submit(() -> {
+            insertCard(card);
+            return null;
+        });
+    }
+
+    /**
+     * Inserts one card.
+     *
+     * @param card The card to insert
+     * @throws SQLException if the insert fails
+     */
+    protected void insertCard(Card card) throws SQLException {
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindCard(stmt, card);
             stmt.executeUpdate();
-            System.out.println("Card added successfully!");
+        }
+    }
+
+    /**
+     * Adds many cards using JDBC batches of {@link #DEFAULT_BATCH_SIZE} cards.
+     *
+     * @param cards The cards to insert
+     * @return a report describing the outcome of every batch
+     * @see #addCards(Collection, int)
+     */
+    public BatchReport addCards(Collection<Card> cards) {
+        return addCards(cards, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many cards using JDBC batches, committing each batch in its own transaction.
+     * <p>
+     * Each batch is sent with {@code addBatch}/{@code executeBatch}, which the MySQL
+     * driver rewrites into a multi-row INSERT when {@code rewriteBatchedStatements}
+     * is enabled on the connection URL. Generated IDs are written back into the
+     * {@link Card} objects. A failed batch is rolled back and reported, and the
+     * remaining batches are still attempted.
+     * </p>
+     *
+     * @param cards     The cards to insert
+     * @param batchSize The number of cards per batch and transaction
+     * @return a report describing the outcome of every batch
+     */
+    public BatchReport addCards(Collection<Card> cards, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+
+        BatchReport report;
+        try {
+            report = insertCards(cards, batchSize);
         } catch (SQLException e) {
-            System.out.println("Error adding card: " + e.getMessage());
+            System.out.println("Error adding cards: " + e.getMessage());
+            report = new BatchReport(List.of(), 0);
         }
+        System.out.println(report);
+        return report;
     }
 
+    /**
+     * Adds many cards in the background, in batches of {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param cards The cards to insert
+     * @return completes with the report of every batch
+     * @see #addCardsAsync(Collection, int)
+     */
+    public CompletableFuture<BatchReport> addCardsAsync(Collection<Card> cards) {
+        return addCardsAsync(cards, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many cards in the background, as {@link #addCards(Collection, int)} does.
+     * A batch that fails is rolled back and reported in the result; the future
+     * completes exceptionally only if no connection or statement could be
+     * obtained at all.
+     *
+     * @param cards     The cards to insert
+     * @param batchSize The number of cards per batch and transaction
+     * @return completes with the report of every batch
+     */
+    public CompletableFuture<BatchReport> addCardsAsync(Collection<Card> cards, int batchSize) {
+        return DatabaseExecutor.submit(() -> insertCards(cards, batchSize));
+    }
+
+    /**
+     * Inserts cards in batches, one transaction per batch.
+     *
+     * @param cards     The cards to insert
+     * @param batchSize The number of cards per batch and transaction
+     * @return a report describing the outcome of every batch
+     * @throws SQLException if no connection or statement can be obtained
+     */
+    protected BatchReport insertCards(Collection<Card> cards, int batchSize) throws SQLException {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+
+        long start = System.nanoTime();
+        List<BatchResult> results = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            List<Card> batch = new ArrayList<>(Math.min(batchSize, cards.size()));
+            for (Card card : cards) {
+                batch.add(card);
+                if (batch.size() == batchSize) {
+                    results.add(insertBatch(conn, stmt, batch, results.size() + 1));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                results.add(insertBatch(conn, stmt, batch, results.size() + 1));
+            }
+        }
+        return new BatchReport(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Sends one batch of inserts and commits it, or rolls it back on failure.
+     */
+    private BatchResult insertBatch(Connection conn, PreparedStatement stmt, List<Card> batch, int batchNumber) {
+        try {
+            for (Card card : batch) {
+                bindCard(stmt, card);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                for (int i = 0; i < batch.size() && keys.next(); i++) {
+                    batch.get(i).setCardId(keys.getInt(1));
+                }
+            }
+            conn.commit();
+            return new BatchResult(batchNumber, batch.size(), null);
+        } catch (SQLException e) {
+            try {
+                stmt.clearBatch();
+                conn.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            for (Card card : batch) card.setCardId(0);
+            return new BatchResult(batchNumber, batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Binds a card's fields to the parameters of {@link #INSERT_SQL}.
+     */
+    private static void bindCard(PreparedStatement stmt, Card card) throws SQLException {
+        stmt.setString(1, card.getName());
+        stmt.setString(2, card.getManaCost());
+        stmt.setString(3, card.getType());
+        stmt.setString(4, card.getRarity());
+        stmt.setString(5, card.getSetName());
+        stmt.setInt(6, card.getCollectorNumber());
+        stmt.setDouble(7, card.getMarketValue());
+        stmt.setBoolean(8, card.isFoil());
+    }
+
+    /** Columns read by every query that builds {@link Card} objects, in {@link #mapCard} order. */
+    private static final String CARD_COLUMNS =
+            "cardId, name, manaCost, type, rarity, setName, collectorNumber, marketValue, isFoil";
+
     /**
      * Retrieves all cards stored in the database.
+     * <p>
+     * The whole table is loaded into memory. For large collections prefer
+     * {@link #getCards(int, int)}, {@link #forEachCard(Consumer)} or {@link #streamCards()}.
+     * </p>
      *
      * @return A {@link List} of {@link Card} objects
      */
     public List<Card> getAllCards() {
+        try {
+            return selectAllCards();
+        } catch (SQLException e) {
+            System.out.println("Error retrieving cards: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves all cards stored in the database in the background.
+     *
+     * @return completes with every card
+     */
+    public CompletableFuture<List<Card>> getAllCardsAsync() {
+        return DatabaseExecutor.submit(this::selectAllCards);
+    }
+
+    /**
+     * Reads the whole Card table.
+     *
+     * @return every card
+     * @throws SQLException if the query fails
+     */
+    protected List<Card> selectAllCards() throws SQLException {
         List<Card> cards = new ArrayList<>();
-        String sql = "SELECT * FROM Card";
+        String sql = "SELECT " + CARD_COLUMNS + " FROM Card";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.borrowConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Card card = new Card(
-                        rs.getInt("cardId"),
-                        rs.getString("name"),
-                        rs.getString("manaCost"),
-                        rs.getString("type"),
-                        rs.getString("rarity"),
-                        rs.getString("setName"),
-                        rs.getInt("collectorNumber"),
-                        rs.getDouble("marketValue"),
-                        rs.getBoolean("isFoil")
-                );
-                cards.add(card);
+                cards.add(mapCard(rs));
             }
+        }
+        return cards;
+    }
+
+    /**
+     * Retrieves one page of cards ordered by ID, using keyset pagination.
+     * <p>
+     * Pass {@code 0} to get the first page, then the ID of the last card
+     * returned to get the next one. Unlike OFFSET paging, each page costs the
+     * same no matter how deep into the table it is.
+     * </p>
+     *
+     * @param afterId Only cards with an ID greater than this are returned
+     * @param limit   The maximum number of cards to return; {@code 0} or less returns no cards
+     * @return A {@link List} of at most {@code limit} cards, empty when there are no more
+     */
+    public List<Card> getCards(int afterId, int limit) {
+        try {
+            return selectCards(afterId, limit);
         } catch (SQLException e) {
             System.out.println("Error retrieving cards: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves one page of cards ordered by ID in the background.
+     *
+     * @param afterId Only cards with an ID greater than this are returned
+     * @param limit   The maximum number of cards to return; {@code 0} or less returns no cards
+     * @return completes with at most {@code limit} cards
+     * @see #getCards(int, int)
+     */
+    public CompletableFuture<List<Card>> getCardsAsync(int afterId, int limit) {
+        return DatabaseExecutor.submit(() -> selectCards(afterId, limit));
+    }
+
+    /**
+     * Reads one keyset page of the Card table.
+     *
+     * @param afterId Only cards with an ID greater than this are returned
+     * @param limit   The maximum number of cards to return; {@code 0} or less returns no cards
+     * @return the page, in ID order
+     * @throws SQLException if the query fails
+     */
+    protected List<Card> selectCards(int afterId, int limit) throws SQLException {
+        if (limit <= 0) return new ArrayList<>();
+        List<Card> cards = new ArrayList<>(Math.min(limit, DEFAULT_BATCH_SIZE));
+        String sql = "SELECT " + CARD_COLUMNS + " FROM Card WHERE cardId > ? ORDER BY cardId LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    cards.add(mapCard(rs));
+                }
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Passes every card in the database to {@code action}, one at a time.
+     * <p>
+     * Rows are streamed from the server, so only the current card is held in
+     * memory regardless of the table size.
+     * </p>
+     *
+     * @param action Called once for each card, in ID order
+     * @return The number of cards visited
+     */
+    public int forEachCard(Consumer<Card> action) {
+        int count = 0;
+        try (Stream<Card> cards = streamCards()) {
+            Iterator<Card> it = cards.iterator();
+            while (it.hasNext()) {
+                action.accept(it.next());
+                count++;
+            }
+        } catch (UncheckedSQLException e) {
+            System.out.println("Error retrieving cards: " + e.getCause().getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Returns a lazily populated stream of every card in the database, in ID order.
+     * <p>
+     * The stream holds a database connection open until it is closed, so it
+     * must be used in a try-with-resources block:
+     * </p>
+     * <pre>
+     * try (Stream&lt;Card&gt; cards = cardDAO.streamCards()) {
+     *     cards.filter(Card::isFoil).forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * @return A stream of cards backed by a server-side streaming result set
+     * @throws UncheckedSQLException if the query fails, either when opening the
+     *                               stream or while reading from it
+     */
+    public Stream<Card> streamCards() {
+        String sql = "SELECT " + CARD_COLUMNS + " FROM Card ORDER BY cardId";
+        Connection conn;
+        try {
+            conn = DatabaseConnection.borrowConnection();
+        } catch (SQLException e) {
+            throw new UncheckedSQLException(e);
+        }
+        try {
+            PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(DatabaseConnection.getBackend().streamingFetchSize());
+            ResultSet rs = stmt.executeQuery();
+
+            Spliterator<Card> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Card> action) {
+                    try {
+                        if (!rs.next()) return false;
+                        action.accept(mapCard(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                // Closes rs, then stmt, then conn, even if an earlier close fails;
+                // later failures are added to the first as suppressed exceptions.
+                try (conn; stmt; rs) {
+                    // nothing to do; the resources are closed on exit
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            });
+        } catch (SQLException e) {
+            try {
+                conn.close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    /**
+     * Builds a {@link Card} from the current row of a result set whose columns
+     * are {@link #CARD_COLUMNS}.
+     */
+    private static Card mapCard(ResultSet rs) throws SQLException {
+        return mapCard(rs, 1);
+    }
+
+    /**
+     * Builds a {@link Card} from the current row of a result set that contains
+     * the {@link #CARD_COLUMNS} starting at {@code firstColumn}, e.g. in a join.
+     *
+     * @param rs          the result set, positioned on a row
+     * @param firstColumn the 1-based index of the cardId column
+     * @return the card
+     * @throws SQLException if a column cannot be read
+     */
+    static Card mapCard(ResultSet rs, int firstColumn) throws SQLException {
+        int c = firstColumn;
+        return new Card(
+                rs.getInt(c),
+                rs.getString(c + 1),
+                rs.getString(c + 2),
+                rs.getString(c + 3),
+                rs.getString(c + 4),
+                rs.getString(c + 5),
+                rs.getInt(c + 6),
+                rs.getDouble(c + 7),
+                rs.getBoolean(c + 8)
+        );
+    }
+
+    /**
+     * Returns the {@link #CARD_COLUMNS} qualified with a table alias, for joins
+     * that are read with {@link #mapCard(ResultSet, int)}.
+     *
+     * @param alias the alias of the Card table in the query
+     * @return the column list, e.g. {@code "c.cardId, c.name, ..."}
+     */
+    static String cardColumns(String alias) {
+        return alias + "." + CARD_COLUMNS.replace(", ", ", " + alias + ".");
+    }
+
+    // ------------------ CRITERIA QUERIES ------------------
+
+    /** SQL text per criteria shape, so equal shapes reuse the driver's cached prepared statement. */
+    private static final Map<Integer, String> CRITERIA_SQL = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the cards matching a {@link CardCriteria}, filtered, sorted and
+     * limited by the database.
+     * <p>
+     * Every condition becomes a bound parameter in a WHERE clause the indexes
+     * created by {@link SchemaMigration} can serve: equality on type, rarity,
+     * set and foil, ranges on market value and collector number, and a
+     * {@code LIKE 'prefix%'} on the name. Only matching rows are sent back.
+     * Comparisons ignore case through the table's default case-insensitive
+     * collation. A color condition is checked with {@code LIKE} on the mana
+     * cost, after the indexed conditions have narrowed the rows.
+     * </p>
+     *
+     * @param criteria The conditions, sort order and limit
+     * @return A {@link List} of matching cards, empty if there are none or the query fails
+     */
+    public List<Card> findCards(CardCriteria criteria) {
+        try {
+            return selectCards(criteria);
+        } catch (SQLException e) {
+            System.out.println("Error finding cards: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds the cards matching a {@link CardCriteria} in the background.
+     *
+     * @param criteria The conditions, sort order and limit
+     * @return completes with the matching cards
+     * @see #findCards(CardCriteria)
+     */
+    public CompletableFuture<List<Card>> findCardsAsync(CardCriteria criteria) {
+        return DatabaseExecutor.submit(() -> selectCards(criteria));
+    }
+
+    /**
+     * Runs a {@link CardCriteria} query.
+     *
+     * @param criteria The conditions, sort order and limit
+     * @return the matching cards
+     * @throws SQLException if the query fails
+     */
+    protected List<Card> selectCards(CardCriteria criteria) throws SQLException {
+        List<Card> cards = new ArrayList<>();
+        String sql = criteriaSql(criteria, false);
+
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            bindCriteria(stmt, criteria, false);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    cards.add(mapCard(rs));
+                }
+            }
         }
         return cards;
     }
 
+    /**
+     * Counts the cards matching a {@link CardCriteria}, ignoring its sort order and limit.
+     *
+     * @param criteria The conditions
+     * @return The number of matching cards, or -1 if the query fails
+     */
+    public int countCards(CardCriteria criteria) {
+        try {
+            return countMatching(criteria);
+        } catch (SQLException e) {
+            System.out.println("Error counting cards: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the cards matching a {@link CardCriteria} in the background.
+     *
+     * @param criteria The conditions
+     * @return completes with the number of matching cards
+     */
+    public CompletableFuture<Integer> countCardsAsync(CardCriteria criteria) {
+        return DatabaseExecutor.submit(() -> countMatching(criteria));
+    }
+
+    /**
+     * Runs a {@link CardCriteria} count query.
+     *
+     * @param criteria The conditions
+     * @return the number of matching cards
+     * @throws SQLException if the query fails
+     */
+    protected int countMatching(CardCriteria criteria) throws SQLException {
+        String sql = criteriaSql(criteria, true);
+
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            bindCriteria(stmt, criteria, true);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the SQL for a criteria shape: which conditions are set, the sort
+     * order and whether there is a limit. Values are left as parameters and
+     * bound by {@link #bindCriteria} in the same order.
+     */
+    private static String criteriaSql(CardCriteria c, boolean count) {
+        int shape = (c.getType() != null ? 1 : 0)
+                | (c.getRarity() != null ? 1 << 1 : 0)
+                | (c.getSetName() != null ? 1 << 2 : 0)
+                | (c.getFoil() != null ? 1 << 3 : 0)
+                | (c.getNamePrefix() != null ? 1 << 4 : 0)
+                | (c.getMinValue() != null ? 1 << 5 : 0)
+                | (c.getMaxValue() != null ? 1 << 6 : 0)
+                | (c.getMinCollectorNumber() != null ? 1 << 7 : 0)
+                | (c.getMaxCollectorNumber() != null ? 1 << 8 : 0)
+                | (c.getColorMask() << 9)
+                | (count ? 1 << 14 : (c.getSortOrder().ordinal() << 15) | (c.getLimit() > 0 ? 1 << 18 : 0))
+                | (c.getName() != null ? 1 << 19 : 0);
+        return CRITERIA_SQL.computeIfAbsent(shape, key -> {
+            List<String> where = new ArrayList<>();
+            if (c.getType() != null) where.add("type = ?");
+            if (c.getRarity() != null) where.add("rarity = ?");
+            if (c.getSetName() != null) where.add("setName = ?");
+            if (c.getFoil() != null) where.add("isFoil = ?");
+            if (c.getName() != null) where.add("name = ?");
+            if (c.getNamePrefix() != null) where.add("name LIKE ? ESCAPE '!'");
+            if (c.getMinValue() != null) where.add("marketValue >= ?");
+            if (c.getMaxValue() != null) where.add("marketValue <= ?");
+            if (c.getMinCollectorNumber() != null) where.add("collectorNumber >= ?");
+            if (c.getMaxCollectorNumber() != null) where.add("collectorNumber <= ?");
+            for (int i = 0; i < Integer.bitCount(c.getColorMask()); i++) where.add("manaCost LIKE ?");
+
+            StringBuilder sql = new StringBuilder(count ? "SELECT COUNT(*) FROM Card" : "SELECT " + CARD_COLUMNS + " FROM Card");
+            if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+            if (count) return sql.toString();
+
+            switch (c.getSortOrder()) {
+                case NAME -> sql.append(" ORDER BY name, cardId");
+                case VALUE_ASC -> sql.append(" ORDER BY marketValue, cardId");
+                case VALUE_DESC -> sql.append(" ORDER BY marketValue DESC, cardId DESC");
+                case COLLECTOR_NUMBER -> sql.append(" ORDER BY collectorNumber, cardId");
+                default -> { }
+            }
+            if (c.getLimit() > 0) sql.append(" LIMIT ?");
+            return sql.toString();
+        });
+    }
+
+    /**
+     * Binds the values of a criteria to the parameters of {@link #criteriaSql}.
+     */
+    private static void bindCriteria(PreparedStatement stmt, CardCriteria c, boolean count) throws SQLException {
+        int i = 1;
+        if (c.getType() != null) stmt.setString(i++, c.getType());
+        if (c.getRarity() != null) stmt.setString(i++, c.getRarity());
+        if (c.getSetName() != null) stmt.setString(i++, c.getSetName());
+        if (c.getFoil() != null) stmt.setBoolean(i++, c.getFoil());
+        if (c.getName() != null) stmt.setString(i++, c.getName());
+        if (c.getNamePrefix() != null) stmt.setString(i++, escapeLike(c.getNamePrefix()) + "%");
+        if (c.getMinValue() != null) stmt.setDouble(i++, c.getMinValue());
+        if (c.getMaxValue() != null) stmt.setDouble(i++, c.getMaxValue());
+        if (c.getMinCollectorNumber() != null) stmt.setInt(i++, c.getMinCollectorNumber());
+        if (c.getMaxCollectorNumber() != null) stmt.setInt(i++, c.getMaxCollectorNumber());
+        for (int bit = 0; bit < 5; bit++) {
+            if ((c.getColorMask() & (1 << bit)) != 0) stmt.setString(i++, "%" + "WUBRG".charAt(bit) + "%");
+        }
+        if (!count && c.getLimit() > 0) stmt.setInt(i, c.getLimit());
+    }
+
+    /** Escapes LIKE wildcards so a name prefix is matched literally. */
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     /**
      * Updates the market value of a card in the database.
      *
@@ -80,16 +648,141 @@ public class CardDAO {
      * @param newValue  The new market value
      */
     public void updateMarketValue(String name, double newValue) {
+        try {
+            int rows = updateValue(name, newValue);
+            System.out.println(rows > 0 ? "Card updated successfully!" : "Card not found.");
+        } catch (SQLException e) {
+            System.out.println("Error updating card: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the market value of a card in the background.
+     *
+     * @param name      The name of the card to update
+     * @param newValue  The new market value
+     * @return completes with the number of rows updated, 0 if no card has that name
+     */
+    public CompletableFuture<Integer> updateMarketValueAsync(String name, double newValue) {
+        return DatabaseExecutor.submit(() -> updateValue(name, newValue));
+    }
+
+    /**
+     * Sets the market value of every card with a name.
+     *
+     * @param name     The card name
+     * @param newValue The new market value
+     * @return the number of rows updated
+     * @throws SQLException if the update fails
+     */
+    protected int updateValue(String name, double newValue) throws SQLException {
         String sql = "UPDATE Card SET marketValue = ? WHERE name = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.borrowConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setDouble(1, newValue);
             stmt.setString(2, name);
-            int rows = stmt.executeUpdate();
-            System.out.println(rows > 0 ? "Card updated successfully!" : "Card not found.");
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Applies a stream of price updates using {@link #DEFAULT_BATCH_SIZE} updates per transaction.
+     *
+     * @param updates The price updates to apply
+     * @return a report of how many updates were applied and how many rows they matched
+     * @see #applyPriceUpdates(Iterator, int)
+     */
+    public PriceUpdateReport applyPriceUpdates(Stream<PriceUpdate> updates) {
+        return applyPriceUpdates(updates.iterator(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Applies price updates in chunked transactions.
+     * <p>
+     * Updates are consumed lazily from the iterator, so a feed of any size can be
+     * applied with bounded memory. Each chunk is sent as JDBC batches, one for
+     * ID-keyed updates and one for printing-keyed updates, and committed as one
+     * transaction. A chunk that fails is rolled back and reported; later chunks
+     * are still applied.
+     * </p>
+     *
+     * @param updates   The price updates to apply
+     * @param chunkSize The number of updates per transaction
+     * @return a report of how many updates were applied and how many rows they matched
+     */
+    public PriceUpdateReport applyPriceUpdates(Iterator<PriceUpdate> updates, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be at least 1");
+
+        String byIdSql = "UPDATE Card SET marketValue = ? WHERE cardId = ?";
+        String byPrintingSql = "UPDATE Card SET marketValue = ? WHERE setName = ? AND collectorNumber = ? AND isFoil = ?";
+        PriceUpdateReport report = new PriceUpdateReport();
+        long start = System.nanoTime();
+
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement byId = conn.prepareStatement(byIdSql);
+             PreparedStatement byPrinting = conn.prepareStatement(byPrintingSql)) {
+
+            conn.setAutoCommit(false);
+            List<PriceUpdate> chunk = new ArrayList<>(chunkSize);
+            while (updates.hasNext()) {
+                chunk.add(updates.next());
+                if (chunk.size() == chunkSize || !updates.hasNext()) {
+                    applyPriceChunk(conn, byId, byPrinting, chunk, report);
+                    chunk.clear();
+                }
+            }
         } catch (SQLException e) {
-            System.out.println("Error updating card: " + e.getMessage());
+            System.out.println("Error updating prices: " + e.getMessage());
+        }
+
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(report);
+        return report;
+    }
+
+    /**
+     * Sends and commits one chunk of price updates, or rolls it back on failure.
+     */
+    private void applyPriceChunk(Connection conn, PreparedStatement byId, PreparedStatement byPrinting,
+                                 List<PriceUpdate> chunk, PriceUpdateReport report) {
+        try {
+            for (PriceUpdate update : chunk) {
+                if (update.isById()) {
+                    byId.setDouble(1, update.getMarketValue());
+                    byId.setInt(2, update.getCardId());
+                    byId.addBatch();
+                } else {
+                    byPrinting.setDouble(1, update.getMarketValue());
+                    byPrinting.setString(2, update.getSetName());
+                    byPrinting.setInt(3, update.getCollectorNumber());
+                    byPrinting.setBoolean(4, update.isFoil());
+                    byPrinting.addBatch();
+                }
+            }
+            int[] idCounts = byId.executeBatch();
+            int[] printingCounts = byPrinting.executeBatch();
+            conn.commit();
+
+            report.applied += chunk.size();
+            for (int[] counts : new int[][]{idCounts, printingCounts}) {
+                for (int count : counts) {
+                    if (count == Statement.SUCCESS_NO_INFO) report.unknownCounts++;
+                    else if (count == 0) report.unmatched++;
+                    else report.rowsMatched += count;
+                }
+            }
+        } catch (SQLException e) {
+            try {
+                byId.clearBatch();
+                byPrinting.clearBatch();
+                conn.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            report.failed += chunk.size();
+            report.failedChunks++;
+            System.out.println("Price update chunk rolled back: " + e.getMessage());
         }
     }
 
@@ -99,15 +792,161 @@ public class CardDAO {
      * @param name The name of the card to delete
      */
     public void deleteCard(String name) {
+        try {
+            int rows = deleteByName(name);
+            System.out.println(rows > 0 ? "Card deleted successfully!" : "Card not found.");
+        } catch (SQLException e) {
+            System.out.println("Error deleting card: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a card from the database in the background.
+     *
+     * @param name The name of the card to delete
+     * @return completes with the number of rows deleted, 0 if no card has that name
+     */
+    public CompletableFuture<Integer> deleteCardAsync(String name) {
+        return DatabaseExecutor.submit(() -> deleteByName(name));
+    }
+
+    /**
+     * Deletes every card with a name.
+     *
+     * @param name The card name
+     * @return the number of rows deleted
+     * @throws SQLException if the delete fails
+     */
+    protected int deleteByName(String name) throws SQLException {
         String sql = "DELETE FROM Card WHERE name = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.borrowConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, name);
-            int rows = stmt.executeUpdate();
-            System.out.println(rows > 0 ? "Card deleted successfully!" : "Card not found.");
-        } catch (SQLException e) {
-            System.out.println("Error deleting card: " + e.getMessage());
+            return stmt.executeUpdate();
+        }
+    }
+
+    // ------------------ BATCH REPORTS ------------------
+
+    /**
+     * The outcome of one batch sent by {@link #addCards(Collection, int)}.
+     */
+    public static final class BatchResult {
+        private final int batchNumber;
+        private final int size;
+        private final String error;
+
+        /**
+         * @param batchNumber the 1-based position of the batch
+         * @param size        the number of cards in the batch
+         * @param error       the failure message, or {@code null} if the batch was committed
+         */
+        public BatchResult(int batchNumber, int size, String error) {
+            this.batchNumber = batchNumber;
+            this.size = size;
+            this.error = error;
+        }
+
+        /** @return the 1-based position of the batch */
+        public int getBatchNumber() { return batchNumber; }
+
+        /** @return the number of cards in the batch */
+        public int getSize() { return size; }
+
+        /** @return true if the batch was committed */
+        public boolean isSuccess() { return error == null; }
+
+        /** @return the failure message, or {@code null} on success */
+        public String getError() { return error; }
+
+        @Override
+        public String toString() {
+            return isSuccess()
+                    ? String.format("Batch %d: %d cards committed", batchNumber, size)
+                    : String.format("Batch %d: %d cards rolled back (%s)", batchNumber, size, error);
+        }
+    }
+
+    /**
+     * Summary of a bulk insert: one {@link BatchResult} per batch.
+     */
+    public static final class BatchReport {
+        private final List<BatchResult> batches;
+        private final long elapsedMillis;
+
+        /**
+         * @param batches       the outcome of each batch, in order
+         * @param elapsedMillis the total time taken
+         */
+        public BatchReport(List<BatchResult> batches, long elapsedMillis) {
+            this.batches = List.copyOf(batches);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** @return the outcome of each batch, in order */
+        public List<BatchResult> getBatches() { return batches; }
+
+        /** @return number of cards in committed batches */
+        public int getInsertedCount() {
+            return batches.stream().filter(BatchResult::isSuccess).mapToInt(BatchResult::getSize).sum();
+        }
+
+        /** @return number of cards in rolled-back batches */
+        public int getFailedCount() {
+            return batches.stream().filter(b -> !b.isSuccess()).mapToInt(BatchResult::getSize).sum();
+        }
+
+        /** @return true if every batch was committed */
+        public boolean isSuccess() { return batches.stream().allMatch(BatchResult::isSuccess); }
+
+        /** @return the total time taken in milliseconds */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Inserted %d cards in %d batches (%d failed) in %d ms",
+                    getInsertedCount(), batches.size(), getFailedCount(), elapsedMillis);
+        }
+    }
+
+    /**
+     * Summary of a bulk price update made with {@link #applyPriceUpdates(Iterator, int)}.
+     */
+    public static final class PriceUpdateReport {
+        private long applied;
+        private long failed;
+        private int failedChunks;
+        private long rowsMatched;
+        private long unmatched;
+        private long unknownCounts;
+        private long elapsedMillis;
+
+        /** @return number of updates in committed chunks */
+        public long getApplied() { return applied; }
+
+        /** @return number of updates in chunks that were rolled back */
+        public long getFailed() { return failed; }
+
+        /** @return number of chunks that were rolled back */
+        public int getFailedChunks() { return failedChunks; }
+
+        /** @return number of card rows matched by committed updates */
+        public long getRowsMatched() { return rowsMatched; }
+
+        /** @return number of committed updates that matched no card */
+        public long getUnmatched() { return unmatched; }
+
+        /** @return number of committed updates whose row count the driver did not report */
+        public long getUnknownCounts() { return unknownCounts; }
+
+        /** @return the total time taken in milliseconds */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Applied %d price updates (%d rows matched, %d unmatched, %d failed) in %d ms",
+                    applied, rowsMatched, unmatched, failed, elapsedMillis);
         }
     }
 }
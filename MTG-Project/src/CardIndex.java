@@ -0,0 +1,295 @@
+import java.util.*;
+
+/**
+ * In-memory index over a collection of {@link Card} objects.
+ * <p>
+ * Keeps case-insensitive hash maps from card name, from printing
+ * (set name, collector number and foil) and from card ID to the matching cards,
+ * plus secondary indexes by type and rarity. Every lookup is a constant-time
+ * hash probe, so deck building and card edits stay fast even with hundreds
+ * of thousands of printings loaded.
+ * </p>
+ *
+ * <p>
+ * The index is updated incrementally. Call {@link #add(Card)} and
+ * {@link #remove(Card)} as cards enter and leave the collection, and
+ * {@link #update(Card)} after changing an indexed field (name, type, rarity,
+ * set name, collector number, foil or ID) on a card that is already indexed.
+ * </p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardIndex {
+
+    /** Cards by case-folded name; several printings can share a name. */
+    private final Map<String, List<Card>> byName = new HashMap<>();
+
+    /** Cards by case-folded set name, collector number and foil; a collection can hold several copies. */
+    private final Map<PrintingKey, List<Card>> byPrinting = new HashMap<>();
+
+    /** Cards by database ID (only cards with an ID above zero). */
+    private final Map<Integer, Card> byId = new HashMap<>();
+
+    /** Cards by case-folded type. */
+    private final Map<String, Set<Card>> byType = new HashMap<>();
+
+    /** Cards by case-folded rarity. */
+    private final Map<String, Set<Card>> byRarity = new HashMap<>();
+
+    /**
+     * The keys each card was indexed under, so a card can be removed or
+     * re-indexed correctly after its fields have been changed.
+     */
+    private final Map<Card, IndexedKeys> indexed = new IdentityHashMap<>();
+
+    /** Creates an empty index. */
+    public CardIndex() { }
+
+    /**
+     * Creates an index containing the given cards.
+     *
+     * @param cards the cards to index
+     */
+    public CardIndex(Collection<Card> cards) {
+        addAll(cards);
+    }
+
+    // ------------------ UPDATES ------------------
+
+    /**
+     * Adds a card to the index. Adding a card that is already indexed re-indexes it.
+     *
+     * @param card the card to add
+     */
+    public void add(Card card) {
+        if (indexed.containsKey(card)) {
+            remove(card);
+        }
+        IndexedKeys keys = new IndexedKeys(card);
+        indexed.put(card, keys);
+
+        byName.computeIfAbsent(keys.name, k -> new ArrayList<>(1)).add(card);
+        byPrinting.computeIfAbsent(keys.printing, k -> new ArrayList<>(1)).add(card);
+        if (keys.cardId > 0) byId.put(keys.cardId, card);
+        byType.computeIfAbsent(keys.type, k -> new LinkedHashSet<>()).add(card);
+        byRarity.computeIfAbsent(keys.rarity, k -> new LinkedHashSet<>()).add(card);
+    }
+
+    /**
+     * Adds every card in a collection to the index.
+     *
+     * @param cards the cards to add
+     */
+    public void addAll(Collection<Card> cards) {
+        for (Card card : cards) add(card);
+    }
+
+    /**
+     * Removes a card from the index, using the keys it was indexed under.
+     *
+     * @param card the card to remove
+     * @return true if the card was indexed
+     */
+    public boolean remove(Card card) {
+        IndexedKeys keys = indexed.remove(card);
+        if (keys == null) return false;
+
+        removeFromList(byName, keys.name, card);
+        removeFromList(byPrinting, keys.printing, card);
+        if (keys.cardId > 0) byId.remove(keys.cardId, card);
+        removeFrom(byType, keys.type, card);
+        removeFrom(byRarity, keys.rarity, card);
+        return true;
+    }
+
+    /**
+     * Removes every card with the given name (ignoring case).
+     *
+     * @param name the card name
+     * @return the cards that were removed
+     */
+    public List<Card> removeByName(String name) {
+        List<Card> matches = new ArrayList<>(findByName(name));
+        for (Card card : matches) remove(card);
+        return matches;
+    }
+
+    /**
+     * Re-indexes a card after one of its indexed fields was changed.
+     *
+     * @param card the changed card
+     */
+    public void update(Card card) {
+        remove(card);
+        add(card);
+    }
+
+    /** Removes every card from the index. */
+    public void clear() {
+        byName.clear();
+        byPrinting.clear();
+        byId.clear();
+        byType.clear();
+        byRarity.clear();
+        indexed.clear();
+    }
+
+    // ------------------ LOOKUPS ------------------
+
+    /**
+     * Finds every printing with the given name, ignoring case.
+     *
+     * @param name the card name
+     * @return the matching cards in insertion order, or an empty list
+     */
+    public List<Card> findByName(String name) {
+        List<Card> matches = byName.get(fold(name));
+        return matches == null ? List.of() : Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * Finds the first printing added with the given name, ignoring case.
+     *
+     * @param name the card name
+     * @return the card, or empty if none matches
+     */
+    public Optional<Card> findFirstByName(String name) {
+        List<Card> matches = byName.get(fold(name));
+        return matches == null ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * Finds the first copy added of a printing, by set name (ignoring case),
+     * collector number and foil.
+     *
+     * @param setName         the set name
+     * @param collectorNumber the collector number within the set
+     * @param foil            true for the foil copy
+     * @return the card, or empty if none matches
+     */
+    public Optional<Card> findByPrinting(String setName, int collectorNumber, boolean foil) {
+        List<Card> copies = byPrinting.get(new PrintingKey(fold(setName), collectorNumber, foil));
+        return copies == null ? Optional.empty() : Optional.of(copies.get(0));
+    }
+
+    /**
+     * Finds every copy of a printing, by set name (ignoring case), collector
+     * number and foil.
+     *
+     * @param setName         the set name
+     * @param collectorNumber the collector number within the set
+     * @param foil            true for foil copies
+     * @return the matching cards in insertion order, or an empty list
+     */
+    public List<Card> findAllByPrinting(String setName, int collectorNumber, boolean foil) {
+        List<Card> copies = byPrinting.get(new PrintingKey(fold(setName), collectorNumber, foil));
+        return copies == null ? List.of() : Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Finds a card by its database ID.
+     *
+     * @param cardId the card ID
+     * @return the card, or empty if none matches
+     */
+    public Optional<Card> findById(int cardId) {
+        return Optional.ofNullable(byId.get(cardId));
+    }
+
+    /**
+     * Finds every card of a type, ignoring case.
+     *
+     * @param type the card type (e.g., "Creature")
+     * @return the matching cards, or an empty set
+     */
+    public Set<Card> findByType(String type) {
+        Set<Card> matches = byType.get(fold(type));
+        return matches == null ? Set.of() : Collections.unmodifiableSet(matches);
+    }
+
+    /**
+     * Finds every card of a rarity, ignoring case.
+     *
+     * @param rarity the rarity (e.g., "Mythic Rare")
+     * @return the matching cards, or an empty set
+     */
+    public Set<Card> findByRarity(String rarity) {
+        Set<Card> matches = byRarity.get(fold(rarity));
+        return matches == null ? Set.of() : Collections.unmodifiableSet(matches);
+    }
+
+    /**
+     * @param card a card
+     * @return true if this exact card object is indexed
+     */
+    public boolean contains(Card card) { return indexed.containsKey(card); }
+
+    /** @return the number of indexed cards */
+    public int size() { return indexed.size(); }
+
+    // ------------------ INTERNAL HELPERS ------------------
+
+    /** Case-folds a key the same way for indexing and lookups. */
+    private static String fold(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static void removeFrom(Map<String, Set<Card>> index, String key, Card card) {
+        Set<Card> cards = index.get(key);
+        if (cards != null && cards.remove(card) && cards.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /** Removes this exact card object from a list-valued index, dropping the key when it empties. */
+    private static <K> void removeFromList(Map<K, List<Card>> index, K key, Card card) {
+        List<Card> cards = index.get(key);
+        if (cards != null && cards.removeIf(c -> c == card) && cards.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /** Set name, collector number and foil identifying one printing, as in {@link PriceUpdate}. */
+    private static final class PrintingKey {
+        final String setName;
+        final int collectorNumber;
+        final boolean foil;
+
+        PrintingKey(String setName, int collectorNumber, boolean foil) {
+            this.setName = setName;
+            this.collectorNumber = collectorNumber;
+            this.foil = foil;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PrintingKey other)) return false;
+            return collectorNumber == other.collectorNumber && foil == other.foil && setName.equals(other.setName);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * setName.hashCode() + collectorNumber) * 2 + (foil ? 1 : 0);
+        }
+    }
+
+    /** Snapshot of the keys a card was indexed under. */
+    private static final class IndexedKeys {
+        final String name;
+        final PrintingKey printing;
+        final int cardId;
+        final String type;
+        final String rarity;
+
+        IndexedKeys(Card card) {
+            this.name = fold(card.getName());
+            this.printing = new PrintingKey(fold(card.getSetName()), card.getCollectorNumber(), card.isFoil());
+            this.cardId = card.getCardId();
+            this.type = fold(card.getType());
+            this.rarity = fold(card.getRarity());
+        }
+    }
+}
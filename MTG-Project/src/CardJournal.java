@@ -0,0 +1,460 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, write-ahead log of edits made to a card collection.
+ * <p>
+ * Each edit (a card added, a market value changed, cards removed by name)
+ * is appended to the journal file as one entry with an increasing sequence
+ * number. Appending is cheap: entries are queued, and a single background
+ * thread writes every queued entry with one sequential write and one
+ * {@code fsync}. Edits that arrive while a sync is in progress therefore
+ * share the next one (group commit), so a burst of edits costs a few syncs
+ * rather than one each. The future returned for an entry completes once the
+ * entry is on disk.
+ * </p>
+ *
+ * <p>
+ * On startup the journal is {@linkplain #replay replayed} over the collection
+ * loaded from its {@link CardSnapshot}. The snapshot header records the last
+ * sequence number already folded into it, so replay skips those entries.
+ * {@link #compact(long)} drops entries once a newer snapshot holds them,
+ * which keeps the journal short without rewriting the collection on every edit.
+ * </p>
+ *
+ * <p><b>Entry layout</b>: payload length and CRC-32C of the payload (two
+ * {@code int}s), then the payload: sequence number, operation and its fields
+ * in {@link DataOutputStream} format. An entry cut short by a crash fails its
+ * length or checksum and is discarded with everything after it when the
+ * journal is next opened.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class CardJournal implements Closeable {
+
+    /** File extension used for journals written next to a CSV file. */
+    public static final String EXTENSION = ".mtgjournal";
+
+    /** Journal size, in bytes, above which callers should compact it into a new snapshot. */
+    public static final long COMPACT_THRESHOLD_BYTES = 1 << 20;
+
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+    // Operations
+    private static final byte ADD = 1;
+    private static final byte SET_MARKET_VALUE = 2;
+    private static final byte REMOVE_BY_NAME = 3;
+
+    private final Path file;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+
+    /** Guards the channel, which {@link #compact(long)} replaces. */
+    private final Object fileLock = new Object();
+    private FileChannel channel;
+
+    private long lastSequence;
+    private CompletableFuture<Long> lastWrite = CompletableFuture.completedFuture(0L);
+    private boolean closed;
+    private volatile long size;
+
+    private CardJournal(Path file, FileChannel channel, long lastSequence, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.lastSequence = lastSequence;
+        this.size = size;
+        this.flusher = new Thread(this::flushLoop, "card-journal-" + file.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Opens a journal, creating it if needed. A damaged or incomplete tail
+     * left by a crash is cut off.
+     *
+     * @param file the journal file
+     * @return the open journal
+     * @throws IOException if the file cannot be read or written
+     */
+    public static CardJournal open(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        long[] last = new long[1];
+        long validLength = readEntries(absolute, (sequence, payload) -> last[0] = sequence);
+        FileChannel channel = FileChannel.open(absolute, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() > validLength) {
+                System.out.println("Discarding " + (channel.size() - validLength)
+                        + " damaged bytes at the end of " + absolute);
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+            channel.position(validLength);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new CardJournal(absolute, channel, last[0], validLength);
+    }
+
+    /**
+     * Returns the journal path used for a CSV file: the same name with the
+     * extension replaced by {@value #EXTENSION}.
+     *
+     * @param csvFile a CSV file
+     * @return the matching journal path
+     */
+    public static Path journalPathFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return csvFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    // ------------------ LOGGING ------------------
+
+    /**
+     * Logs a card added to the collection.
+     *
+     * @param card the new card
+     * @return completes with the entry's sequence number once it is on disk
+     */
+    public CompletableFuture<Long> logAdd(Card card) {
+        return append(ADD, out -> {
+            out.writeInt(card.getCardId());
+            out.writeUTF(text(card.getName()));
+            out.writeUTF(text(card.getManaCost()));
+            out.writeUTF(text(card.getType()));
+            out.writeUTF(text(card.getRarity()));
+            out.writeUTF(text(card.getSetName()));
+            out.writeInt(card.getCollectorNumber());
+            out.writeDouble(card.getMarketValue());
+            out.writeBoolean(card.isFoil());
+        });
+    }
+
+    /**
+     * Logs a change to a card's market value. The card is identified by its
+     * name, set, collector number, foil flag and previous value; replay
+     * updates the first card that matches all of them.
+     *
+     * @param card     the card, already holding its new value
+     * @param oldValue the value before the change
+     * @return completes with the entry's sequence number once it is on disk
+     */
+    public CompletableFuture<Long> logMarketValue(Card card, double oldValue) {
+        return append(SET_MARKET_VALUE, out -> {
+            out.writeUTF(text(card.getName()));
+            out.writeUTF(text(card.getSetName()));
+            out.writeInt(card.getCollectorNumber());
+            out.writeBoolean(card.isFoil());
+            out.writeDouble(oldValue);
+            out.writeDouble(card.getMarketValue());
+        });
+    }
+
+    /**
+     * Logs the removal of every card with a name, ignoring case.
+     *
+     * @param name the card name
+     * @return completes with the entry's sequence number once it is on disk
+     */
+    public CompletableFuture<Long> logRemove(String name) {
+        return append(REMOVE_BY_NAME, out -> out.writeUTF(text(name)));
+    }
+
+    private synchronized CompletableFuture<Long> append(byte operation, Fields fields) {
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("Journal is closed"));
+        long sequence = lastSequence + 1;
+        byte[] entry;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(sequence);
+            out.writeByte(operation);
+            fields.write(out);
+            entry = frame(bytes.toByteArray());
+        } catch (IOException e) {
+            // Only writeUTF can fail here, for a string over 64 KB.
+            return CompletableFuture.failedFuture(e);
+        }
+        lastSequence = sequence;
+        Pending pending = new Pending(sequence, entry);
+        queue.add(pending);
+        lastWrite = pending.done;
+        return pending.done;
+    }
+
+    /** @return the sequence number of the last entry logged, or of the last snapshot replayed over */
+    public synchronized long getLastSequence() { return lastSequence; }
+
+    /** @return the number of bytes written to the journal file */
+    public long size() { return size; }
+
+    /** @return the journal file */
+    public Path getFile() { return file; }
+
+    // ------------------ REPLAY & COMPACTION ------------------
+
+    /**
+     * Applies the journal to a collection loaded from a snapshot, in the order
+     * the edits were made. Entries logged by this instance are written out first.
+     * <p>
+     * Later entries are numbered after {@code afterSequence}, so a snapshot
+     * taken from the result can be replayed over safely.
+     * </p>
+     *
+     * @param cards         the collection to update
+     * @param afterSequence the snapshot's {@link CardSnapshot#getJournalSequence()}; older entries are skipped
+     * @return the number of entries applied
+     * @throws IOException if the journal cannot be read
+     */
+    public int replay(List<Card> cards, long afterSequence) throws IOException {
+        CompletableFuture<Long> pending;
+        synchronized (this) {
+            lastSequence = Math.max(lastSequence, afterSequence);
+            pending = lastWrite;
+        }
+        pending.exceptionally(e -> null).join();
+
+        Replay replay = new Replay(cards);
+        synchronized (fileLock) {
+            readEntries(file, (sequence, payload) -> {
+                if (sequence > afterSequence) replay.apply(payload);
+            });
+        }
+        replay.finish();
+        return replay.applied;
+    }
+
+    /**
+     * Drops the entries up to {@code throughSequence}. Call it only after a
+     * snapshot including those entries has been committed; should the process
+     * stop in between, replay skips them by the snapshot's sequence number.
+     *
+     * @param throughSequence the journal sequence saved in the new snapshot
+     * @throws IOException if the journal cannot be rewritten
+     */
+    public void compact(long throughSequence) throws IOException {
+        synchronized (fileLock) {
+            if (!channel.isOpen()) throw new IOException("Journal is closed");
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                readEntries(file, (sequence, payload) -> {
+                    if (sequence > throughSequence) out.write(frame(payload));
+                });
+            }
+            try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                tempChannel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            channel.close();
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            size = channel.size();
+        }
+    }
+
+    /**
+     * Waits for queued entries to reach the disk, then closes the file.
+     * Entries logged afterwards fail.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            queue.add(Pending.STOP);
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (fileLock) {
+            channel.close();
+        }
+    }
+
+    // ------------------ INTERNALS ------------------
+
+    /** Writes queued entries in batches, one {@code fsync} per batch. */
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            stop = batch.remove(Pending.STOP);
+
+            int length = 0;
+            for (Pending pending : batch) length += pending.entry.length;
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            for (Pending pending : batch) buffer.put(pending.entry);
+            buffer.flip();
+            try {
+                synchronized (fileLock) {
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                    channel.force(false);
+                    size = channel.position();
+                }
+                for (Pending pending : batch) pending.done.complete(pending.sequence);
+            } catch (IOException e) {
+                for (Pending pending : batch) pending.done.completeExceptionally(e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Reads entries until the end of the file or the first damaged entry.
+     *
+     * @return the length of the valid part of the file
+     */
+    private static long readEntries(Path file, EntryVisitor visitor) throws IOException {
+        if (!Files.exists(file)) return 0;
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            CRC32C crc = new CRC32C();
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 9 || length > MAX_PAYLOAD_SIZE) break;
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break;
+                visitor.visit(ByteBuffer.wrap(payload).getLong(), payload);
+                position += ENTRY_HEADER_SIZE + length;
+            }
+        }
+        return position;
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(ENTRY_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .array();
+    }
+
+    private static String text(String value) {
+        return value == null ? "" : value;
+    }
+
+    private interface Fields {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface EntryVisitor {
+        void visit(long sequence, byte[] payload) throws IOException;
+    }
+
+    /** An entry waiting to be written. */
+    private static final class Pending {
+        static final Pending STOP = new Pending(0, new byte[0]);
+
+        final long sequence;
+        final byte[] entry;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        Pending(long sequence, byte[] entry) {
+            this.sequence = sequence;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Applies entries to a collection. Cards are looked up through a name
+     * index built on the first update or removal, and removed cards are
+     * dropped in one pass at the end, so a long journal replays in time
+     * proportional to its length rather than to its length times the collection size.
+     */
+    private static final class Replay {
+        private final List<Card> cards;
+        private Map<String, List<Card>> byName;
+        private final Set<Card> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        int applied;
+
+        Replay(List<Card> cards) {
+            this.cards = cards;
+        }
+
+        void apply(byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            in.readLong();
+            byte operation = in.readByte();
+            switch (operation) {
+                case ADD -> {
+                    Card card = new Card(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                            in.readUTF(), in.readInt(), in.readDouble(), in.readBoolean());
+                    cards.add(card);
+                    if (byName != null) byName.computeIfAbsent(key(card.getName()), k -> new ArrayList<>()).add(card);
+                }
+                case SET_MARKET_VALUE -> {
+                    String name = in.readUTF();
+                    String setName = in.readUTF();
+                    int collectorNumber = in.readInt();
+                    boolean foil = in.readBoolean();
+                    double oldValue = in.readDouble();
+                    double newValue = in.readDouble();
+                    for (Card card : named(name)) {
+                        if (setName.equals(text(card.getSetName())) && card.getCollectorNumber() == collectorNumber
+                                && card.isFoil() == foil && Double.compare(card.getMarketValue(), oldValue) == 0) {
+                            card.setMarketValue(newValue);
+                            break;
+                        }
+                    }
+                }
+                case REMOVE_BY_NAME -> {
+                    List<Card> matches = named(in.readUTF());
+                    removed.addAll(matches);
+                    matches.clear();
+                }
+                default -> throw new IOException("Unknown journal operation " + operation);
+            }
+            applied++;
+        }
+
+        void finish() {
+            if (!removed.isEmpty()) cards.removeIf(removed::contains);
+        }
+
+        private List<Card> named(String name) {
+            if (byName == null) {
+                byName = new HashMap<>();
+                for (Card card : cards) {
+                    byName.computeIfAbsent(key(card.getName()), k -> new ArrayList<>()).add(card);
+                }
+            }
+            return byName.getOrDefault(key(name), new ArrayList<>());
+        }
+
+        private static String key(String name) {
+            return text(name).toLowerCase(Locale.ROOT);
+        }
+    }
+}
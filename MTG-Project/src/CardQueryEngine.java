@@ -0,0 +1,318 @@
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Answers {@link CardCriteria} queries over an in-memory card collection
+ * without scanning it.
+ * <p>
+ * Each card is identified by its position in a snapshot array. At build time
+ * the engine records, for every type, rarity, set name, foil flag and mana
+ * color, a {@link RoaringBitmap} of the positions having it. It also keeps
+ * the positions sorted by market value, collector number and name. A query
+ * intersects the bitmaps of its equality conditions, smallest first. Each
+ * range condition then takes the cheaper of two paths:
+ * </p>
+ * <ul>
+ *   <li>if the candidates are already fewer than the cards in the range, each
+ *       candidate is checked directly;</li>
+ *   <li>otherwise the range is turned into a bitmap, either from its slice of
+ *       the sorted order or, for wide ranges, by testing every position in
+ *       65536-position chunks in parallel, and then intersected.</li>
+ * </ul>
+ * <p>
+ * Sorted results with a limit walk the sorted order and stop at the limit,
+ * so "the 20 most valuable foil mythics" touches only a handful of positions.
+ * </p>
+ *
+ * <p>
+ * The engine is a snapshot: the field values are read when it is built. Build
+ * a new engine after cards are added, removed or edited. A built engine is
+ * safe to query from several threads.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardQueryEngine {
+
+    /** Collections at least this large test wide ranges in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Card[] cards;
+
+    private final Map<String, RoaringBitmap> byType = new HashMap<>();
+    private final Map<String, RoaringBitmap> byRarity = new HashMap<>();
+    private final Map<String, RoaringBitmap> bySet = new HashMap<>();
+    private final RoaringBitmap foil = new RoaringBitmap();
+    private final RoaringBitmap nonFoil = new RoaringBitmap();
+
+    /** Positions whose mana cost contains each color, indexed by color bit number. */
+    private final RoaringBitmap[] byColor = new RoaringBitmap[5];
+
+    /** Market value, collector number and case-folded name per position, as read at build time. */
+    private final double[] values;
+    private final int[] numbers;
+    private final String[] names;
+
+    /** Dense rank of each position's market value, collector number and name. */
+    private final int[] valueRanks;
+    private final int[] numberRanks;
+    private final int[] nameRanks;
+
+    /** Positions in ascending order of market value, collector number and name. */
+    private final int[] byValue;
+    private final int[] byNumber;
+    private final int[] byName;
+
+    /**
+     * Indexes a snapshot of the given cards.
+     *
+     * @param cards the cards to index
+     */
+    public CardQueryEngine(Collection<Card> cards) {
+        this.cards = cards.toArray(new Card[0]);
+        int n = this.cards.length;
+        for (int c = 0; c < byColor.length; c++) byColor[c] = new RoaringBitmap();
+        values = new double[n];
+        numbers = new int[n];
+        names = new String[n];
+        Map<String, String> canonicalNames = new HashMap<>();
+
+        for (int pos = 0; pos < n; pos++) {
+            Card card = this.cards[pos];
+            byType.computeIfAbsent(CardCriteria.fold(card.getType()), k -> new RoaringBitmap()).add(pos);
+            byRarity.computeIfAbsent(CardCriteria.fold(card.getRarity()), k -> new RoaringBitmap()).add(pos);
+            bySet.computeIfAbsent(CardCriteria.fold(card.getSetName()), k -> new RoaringBitmap()).add(pos);
+            (card.isFoil() ? foil : nonFoil).add(pos);
+
+            ManaCost cost = card.getParsedManaCost();
+            int mask = cost == null ? 0 : cost.getColorMask();
+            for (int c = 0; c < byColor.length; c++) {
+                if ((mask & (1 << c)) != 0) byColor[c].add(pos);
+            }
+            values[pos] = card.getMarketValue();
+            numbers[pos] = card.getCollectorNumber();
+            // Share one folded string per distinct name, so reprints cost no extra memory.
+            String folded = CardCriteria.fold(card.getName());
+            names[pos] = canonicalNames.computeIfAbsent(folded, k -> k);
+        }
+
+        double[] distinctValues = values.clone();
+        Arrays.sort(distinctValues);
+        int valueCount = dedupe(distinctValues);
+        valueRanks = new int[n];
+        for (int pos = 0; pos < n; pos++) {
+            valueRanks[pos] = Arrays.binarySearch(distinctValues, 0, valueCount, values[pos]);
+        }
+        byValue = sortByRank(valueRanks);
+
+        int[] distinctNumbers = numbers.clone();
+        Arrays.sort(distinctNumbers);
+        int numberCount = dedupe(distinctNumbers);
+        numberRanks = new int[n];
+        for (int pos = 0; pos < n; pos++) {
+            numberRanks[pos] = Arrays.binarySearch(distinctNumbers, 0, numberCount, numbers[pos]);
+        }
+        byNumber = sortByRank(numberRanks);
+
+        String[] distinctNames = canonicalNames.keySet().toArray(new String[0]);
+        Arrays.sort(distinctNames);
+        Map<String, Integer> nameRankOf = new HashMap<>();
+        for (int i = 0; i < distinctNames.length; i++) nameRankOf.put(distinctNames[i], i);
+        nameRanks = new int[n];
+        for (int pos = 0; pos < n; pos++) nameRanks[pos] = nameRankOf.get(names[pos]);
+        byName = sortByRank(nameRanks);
+    }
+
+    /** @return the number of cards in the snapshot */
+    public int size() { return cards.length; }
+
+    /**
+     * Finds the cards matching the criteria, in the requested order and up to
+     * the requested limit.
+     *
+     * @param criteria the conditions, sort order and limit
+     * @return the matching cards
+     */
+    public List<Card> find(CardCriteria criteria) {
+        RoaringBitmap matches = match(criteria);
+        int limit = criteria.getLimit() > 0 ? criteria.getLimit() : Integer.MAX_VALUE;
+        int total = matches == null ? cards.length : matches.getCardinality();
+
+        List<Card> results = new ArrayList<>(Math.min(limit, total));
+        switch (criteria.getSortOrder()) {
+            case VALUE_ASC -> collectSorted(matches, total, byValue, true, valueRanks, limit, results);
+            case VALUE_DESC -> collectSorted(matches, total, byValue, false, valueRanks, limit, results);
+            case COLLECTOR_NUMBER -> collectSorted(matches, total, byNumber, true, numberRanks, limit, results);
+            case NAME -> collectSorted(matches, total, byName, true, nameRanks, limit, results);
+            default -> {
+                int[] positions = matches == null ? null : matches.toArray();
+                for (int i = 0; i < total && results.size() < limit; i++) {
+                    results.add(cards[positions == null ? i : positions[i]]);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Counts the cards matching the criteria, ignoring the limit.
+     *
+     * @param criteria the conditions
+     * @return the number of matching cards
+     */
+    public int count(CardCriteria criteria) {
+        RoaringBitmap matches = match(criteria);
+        return matches == null ? cards.length : matches.getCardinality();
+    }
+
+    /**
+     * Computes the matching positions, or {@code null} when the criteria
+     * have no conditions and every position matches.
+     */
+    RoaringBitmap match(CardCriteria criteria) {
+        List<RoaringBitmap> required = new ArrayList<>();
+        if (criteria.getType() != null) required.add(lookup(byType, criteria.getType()));
+        if (criteria.getRarity() != null) required.add(lookup(byRarity, criteria.getRarity()));
+        if (criteria.getSetName() != null) required.add(lookup(bySet, criteria.getSetName()));
+        if (criteria.getFoil() != null) required.add(criteria.getFoil() ? foil : nonFoil);
+        for (int c = 0; c < byColor.length; c++) {
+            if ((criteria.getColorMask() & (1 << c)) != 0) required.add(byColor[c]);
+        }
+
+        RoaringBitmap matches = null;
+        if (!required.isEmpty()) {
+            required.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            matches = required.get(0);
+            for (int i = 1; i < required.size() && !matches.isEmpty(); i++) {
+                matches = RoaringBitmap.and(matches, required.get(i));
+            }
+        }
+
+        if (criteria.getMinValue() != null || criteria.getMaxValue() != null) {
+            double min = criteria.getMinValue() != null ? criteria.getMinValue() : Double.NEGATIVE_INFINITY;
+            double max = criteria.getMaxValue() != null ? criteria.getMaxValue() : Double.POSITIVE_INFINITY;
+            int from = lowerBound(byValue, pos -> values[pos] >= min);
+            int to = lowerBound(byValue, pos -> values[pos] > max);
+            matches = applyRange(matches, byValue, from, to, pos -> values[pos] >= min && values[pos] <= max);
+        }
+        if (criteria.getMinCollectorNumber() != null || criteria.getMaxCollectorNumber() != null) {
+            int min = criteria.getMinCollectorNumber() != null ? criteria.getMinCollectorNumber() : Integer.MIN_VALUE;
+            int max = criteria.getMaxCollectorNumber() != null ? criteria.getMaxCollectorNumber() : Integer.MAX_VALUE;
+            int from = lowerBound(byNumber, pos -> numbers[pos] >= min);
+            int to = lowerBound(byNumber, pos -> numbers[pos] > max);
+            matches = applyRange(matches, byNumber, from, to, pos -> numbers[pos] >= min && numbers[pos] <= max);
+        }
+        if (criteria.getName() != null) {
+            String name = CardCriteria.fold(criteria.getName());
+            int from = lowerBound(byName, pos -> names[pos].compareTo(name) >= 0);
+            int to = lowerBound(byName, pos -> names[pos].compareTo(name) > 0);
+            matches = applyRange(matches, byName, from, to, pos -> names[pos].equals(name));
+        }
+        if (criteria.getNamePrefix() != null) {
+            // Names starting with the prefix are contiguous in name order.
+            String prefix = CardCriteria.fold(criteria.getNamePrefix());
+            int from = lowerBound(byName, pos -> names[pos].compareTo(prefix) >= 0);
+            int to = lowerBound(byName, pos -> names[pos].compareTo(prefix) > 0 && !names[pos].startsWith(prefix));
+            matches = applyRange(matches, byName, from, to, pos -> names[pos].startsWith(prefix));
+        }
+        return matches;
+    }
+
+    /**
+     * Narrows the candidates to positions {@code order[from..to)}, choosing
+     * between checking each candidate and building a bitmap of the range.
+     */
+    private RoaringBitmap applyRange(RoaringBitmap candidates, int[] order, int from, int to, IntPredicate test) {
+        int inRange = to - from;
+        if (inRange == cards.length) return candidates;
+        if (inRange <= 0) return EMPTY;
+        if (candidates != null && candidates.getCardinality() <= inRange) return candidates.filter(test);
+
+        RoaringBitmap range;
+        if (inRange <= cards.length / 16) {
+            int[] positions = Arrays.copyOfRange(order, from, to);
+            if (positions.length >= PARALLEL_THRESHOLD) Arrays.parallelSort(positions);
+            else Arrays.sort(positions);
+            range = RoaringBitmap.ofSorted(positions, 0, positions.length);
+        } else {
+            range = RoaringBitmap.build(cards.length, test, cards.length >= PARALLEL_THRESHOLD);
+        }
+        return candidates == null ? range : RoaringBitmap.and(candidates, range);
+    }
+
+    /**
+     * Adds up to {@code limit} matching cards in rank order. When the limit is
+     * small next to the number of matches, walks the presorted order and stops
+     * early; otherwise sorts the matches by rank.
+     */
+    private void collectSorted(RoaringBitmap matches, int total, int[] order, boolean ascending,
+                               int[] ranks, int limit, List<Card> results) {
+        if (total == 0) return;
+        // Walking the order visits about limit * n / total positions.
+        if (order != null && limit < total && (long) limit * cards.length / total < total) {
+            for (int i = 0; i < order.length && results.size() < limit; i++) {
+                int pos = order[ascending ? i : order.length - 1 - i];
+                if (matches == null || matches.contains(pos)) results.add(cards[pos]);
+            }
+            return;
+        }
+
+        long[] packed = new long[total];
+        if (matches == null) {
+            for (int pos = 0; pos < total; pos++) packed[pos] = ((long) ranks[pos] << 32) | pos;
+        } else {
+            int[] n = new int[1];
+            matches.forEach(pos -> packed[n[0]++] = ((long) ranks[pos] << 32) | pos);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < total && results.size() < limit; i++) {
+            results.add(cards[(int) packed[ascending ? i : total - 1 - i]]);
+        }
+    }
+
+    private static RoaringBitmap lookup(Map<String, RoaringBitmap> index, String key) {
+        return index.getOrDefault(CardCriteria.fold(key), EMPTY);
+    }
+
+    /** Returns the first index in {@code order} whose position passes a test that is monotone along the order. */
+    private static int lowerBound(int[] order, IntPredicate test) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (test.test(order[mid])) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    /** Moves the distinct values of a sorted array to its front and returns how many there are. */
+    private static int dedupe(double[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || Double.compare(sorted[count - 1], sorted[i]) != 0) sorted[count++] = sorted[i];
+        }
+        return count;
+    }
+
+    private static int dedupe(int[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) sorted[count++] = sorted[i];
+        }
+        return count;
+    }
+
+    /** Sorts positions by rank, keeping position order for ties. */
+    private static int[] sortByRank(int[] ranks) {
+        long[] packed = new long[ranks.length];
+        for (int pos = 0; pos < ranks.length; pos++) packed[pos] = ((long) ranks[pos] << 32) | pos;
+        Arrays.sort(packed);
+        int[] order = new int[ranks.length];
+        for (int i = 0; i < packed.length; i++) order[i] = (int) packed[i];
+        return order;
+    }
+}
@@ -0,0 +1,551 @@
+import java.util.*;
+
+/**
+ * Search-as-you-type index over card names, set names and types.
+ * <p>
+ * Every card gets an internal document number. Each field is case-folded and
+ * broken into trigrams (three-character substrings), and every trigram keeps
+ * an ascending posting list of the documents that contain it. The first one
+ * and two characters of each name are posted the same way for short queries.
+ * Posting lists live in a primitive open-addressing table, so neither
+ * indexing nor lookups box their keys.
+ * </p>
+ *
+ * <p>
+ * A query is answered by intersecting the posting lists of its trigrams,
+ * smallest first, and then confirming the few remaining candidates with a
+ * substring check. When nothing contains the query, {@link #search(String, int)}
+ * falls back to fuzzy matching: names sharing enough trigrams with the query
+ * are compared by edit distance, so small typos such as "Lightnig Bolt" still
+ * find the card.
+ * </p>
+ *
+ * <p>
+ * The index is updated incrementally with {@link #add(Card)} and
+ * {@link #remove(Card)}. Removed documents are skipped until more than a
+ * quarter of the index is dead, then the postings are rebuilt. Call
+ * {@link #update(Card)} after changing a card's name, set name or type.
+ * </p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardSearchIndex {
+
+    /** Default maximum edit distance for fuzzy matching. */
+    public static final int DEFAULT_MAX_EDITS = 2;
+
+    /** Maximum number of matches collected before ranking. */
+    private static final int MAX_CANDIDATES = 5000;
+
+    /** Tag bit that separates name-prefix keys from trigram keys. */
+    private static final long PREFIX_TAG = 1L << 60;
+
+    /** Cards by document number; {@code null} once removed. */
+    private Card[] docs = new Card[1024];
+
+    /** Case-folded name of each document. */
+    private String[] foldedNames = new String[1024];
+
+    /** Number of document numbers handed out, including removed ones. */
+    private int docCount;
+
+    /** Number of removed documents still referenced by the postings. */
+    private int deadCount;
+
+    /** Document number of each indexed card. */
+    private final Map<Card, Integer> docOf = new IdentityHashMap<>();
+
+    /** Ascending document numbers per trigram or name-prefix key. */
+    private final PostingTable postings = new PostingTable();
+
+    /** Document numbers per case-folded name, for exact lookups. */
+    private final Map<String, IntList> byName = new HashMap<>();
+
+    /** Shared-trigram counts per document, reused by fuzzy searches; all zero between searches. */
+    private int[] sharedCounts = new int[0];
+
+    /** Creates an empty index. */
+    public CardSearchIndex() { }
+
+    /**
+     * Creates an index containing the given cards.
+     *
+     * @param cards the cards to index
+     */
+    public CardSearchIndex(Collection<Card> cards) {
+        addAll(cards);
+    }
+
+    // ------------------ UPDATES ------------------
+
+    /**
+     * Adds a card. Adding a card that is already indexed re-indexes it.
+     *
+     * @param card the card to add
+     */
+    public void add(Card card) {
+        if (docOf.containsKey(card)) remove(card);
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docCount * 2);
+            foldedNames = Arrays.copyOf(foldedNames, docCount * 2);
+        }
+        int doc = docCount++;
+        docs[doc] = card;
+        foldedNames[doc] = fold(card.getName());
+        docOf.put(card, doc);
+        indexDocument(doc);
+    }
+
+    /**
+     * Adds every card in a collection.
+     *
+     * @param cards the cards to add
+     */
+    public void addAll(Collection<Card> cards) {
+        for (Card card : cards) add(card);
+    }
+
+    /**
+     * Removes a card.
+     *
+     * @param card the card to remove
+     * @return true if the card was indexed
+     */
+    public boolean remove(Card card) {
+        Integer doc = docOf.remove(card);
+        if (doc == null) return false;
+
+        IntList named = byName.get(foldedNames[doc]);
+        named.removeValue(doc);
+        if (named.size == 0) byName.remove(foldedNames[doc]);
+
+        docs[doc] = null;
+        foldedNames[doc] = null;
+        deadCount++;
+        if (deadCount > 1024 && deadCount * 4 > docCount) compact();
+        return true;
+    }
+
+    /**
+     * Removes every card with the given name (ignoring case).
+     *
+     * @param name the card name
+     */
+    public void removeByName(String name) {
+        IntList named = byName.get(fold(name));
+        if (named == null) return;
+        // Collect the cards first: a removal can trigger compaction, which renumbers documents.
+        List<Card> cards = new ArrayList<>(named.size);
+        for (int i = 0; i < named.size; i++) cards.add(docs[named.values[i]]);
+        for (Card card : cards) remove(card);
+    }
+
+    /**
+     * Re-indexes a card after its name, set name or type changed.
+     *
+     * @param card the changed card
+     */
+    public void update(Card card) {
+        remove(card);
+        add(card);
+    }
+
+    /** Removes every card. */
+    public void clear() {
+        Arrays.fill(docs, 0, docCount, null);
+        Arrays.fill(foldedNames, 0, docCount, null);
+        docCount = 0;
+        deadCount = 0;
+        docOf.clear();
+        postings.clear();
+        byName.clear();
+    }
+
+    /** @return the number of indexed cards */
+    public int size() { return docOf.size(); }
+
+    private void indexDocument(int doc) {
+        Card card = docs[doc];
+        String name = foldedNames[doc];
+        byName.computeIfAbsent(name, k -> new IntList()).add(doc);
+
+        if (name.length() >= 1) postings.post(prefixKey(name, 1), doc);
+        if (name.length() >= 2) postings.post(prefixKey(name, 2), doc);
+        // A trigram shared by several fields is posted once, because postings end with the newest document.
+        postTrigrams(name, doc);
+        postTrigrams(fold(card.getSetName()), doc);
+        postTrigrams(fold(card.getType()), doc);
+    }
+
+    private void postTrigrams(String field, int doc) {
+        for (int i = 0; i + 3 <= field.length(); i++) {
+            postings.post(trigram(field, i), doc);
+        }
+    }
+
+    /** Renumbers the live documents and rebuilds every posting list. */
+    private void compact() {
+        Card[] live = new Card[docOf.size()];
+        int n = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null) live[n++] = docs[doc];
+        }
+        clear();
+        for (Card card : live) add(card);
+    }
+
+    // ------------------ QUERIES ------------------
+
+    /**
+     * Finds cards matching a query, best matches first.
+     * <p>
+     * Every whitespace-separated term must occur in the card's name, set name
+     * or type. Exact name matches rank first, then names starting with the
+     * query, then names containing it, then matches on other fields. If nothing
+     * matches, fuzzy name matching with {@link #DEFAULT_MAX_EDITS} edits is used.
+     * </p>
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of cards to return
+     * @return the matching cards, best first
+     */
+    public List<Card> search(String query, int limit) {
+        List<Card> results = searchContaining(query, limit);
+        return results.isEmpty() ? searchFuzzy(query, limit, DEFAULT_MAX_EDITS) : results;
+    }
+
+    /**
+     * Finds cards whose fields contain every term of the query, without fuzzy fallback.
+     * A query made of one term shorter than three characters matches name prefixes only.
+     *
+     * @param query the query
+     * @param limit the maximum number of cards to return
+     * @return the matching cards, best first
+     */
+    public List<Card> searchContaining(String query, int limit) {
+        String folded = fold(query).trim();
+        if (folded.isEmpty() || limit <= 0) return List.of();
+        String[] terms = folded.split("\\s+");
+
+        List<int[]> matches = new ArrayList<>();
+        if (terms.length == 1 && folded.length() < 3) {
+            IntList list = postings.get(prefixKey(folded, folded.length()));
+            for (int i = 0; list != null && i < list.size && matches.size() < MAX_CANDIDATES; i++) {
+                int doc = list.values[i];
+                if (docs[doc] != null) matches.add(new int[]{rank(foldedNames[doc], folded), doc});
+            }
+            return topResults(matches, limit);
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                IntList list = postings.get(trigram(term, i));
+                if (list == null) return List.of();
+                lists.add(list);
+            }
+        }
+        IntList candidates = lists.isEmpty() ? allLiveDocs() : intersect(lists);
+
+        for (int i = 0; i < candidates.size && matches.size() < MAX_CANDIDATES; i++) {
+            int doc = candidates.values[i];
+            if (docs[doc] != null && containsAllTerms(doc, terms)) {
+                matches.add(new int[]{rank(foldedNames[doc], folded), doc});
+            }
+        }
+        return topResults(matches, limit);
+    }
+
+    /**
+     * Finds cards whose name is within {@code maxEdits} insertions, deletions,
+     * substitutions or transpositions of the query.
+     *
+     * @param query    the query
+     * @param limit    the maximum number of cards to return
+     * @param maxEdits the maximum edit distance
+     * @return the matching cards, closest first
+     */
+    public List<Card> searchFuzzy(String query, int limit, int maxEdits) {
+        String folded = fold(query).trim();
+        if (folded.length() < 3 || limit <= 0) return List.of();
+
+        // Each edit destroys at most three trigrams, so a match shares at least this many.
+        int needed = Math.max(1, folded.length() - 2 - 3 * maxEdits);
+
+        if (sharedCounts.length < docCount) sharedCounts = new int[docs.length];
+        IntList touched = new IntList();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            if (!seen.add(folded.substring(i, i + 3))) continue;
+            IntList list = postings.get(trigram(folded, i));
+            if (list == null) continue;
+            for (int j = 0; j < list.size; j++) {
+                int doc = list.values[j];
+                if (sharedCounts[doc]++ == 0) touched.add(doc);
+            }
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < touched.size; i++) {
+            int doc = touched.values[i];
+            int count = sharedCounts[doc];
+            sharedCounts[doc] = 0;
+            if (count < needed || docs[doc] == null) continue;
+            int distance = editDistance(folded, foldedNames[doc], maxEdits);
+            if (distance <= maxEdits) matches.add(new int[]{distance, doc});
+        }
+        return topResults(matches, limit);
+    }
+
+    /**
+     * Suggests distinct card names starting with a prefix, shortest first.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of names to return
+     * @return matching card names
+     */
+    public List<String> suggestNames(String prefix, int limit) {
+        String folded = fold(prefix);
+        if (folded.isEmpty() || limit <= 0) return List.of();
+
+        List<IntList> lists = new ArrayList<>();
+        lists.add(postings.get(prefixKey(folded, Math.min(2, folded.length()))));
+        for (int i = 0; i + 3 <= folded.length(); i++) lists.add(postings.get(trigram(folded, i)));
+        if (lists.contains(null)) return List.of();
+
+        IntList candidates = intersect(lists);
+        Set<String> distinct = new HashSet<>();
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < candidates.size && matches.size() < MAX_CANDIDATES; i++) {
+            int doc = candidates.values[i];
+            if (docs[doc] != null && foldedNames[doc].startsWith(folded) && distinct.add(foldedNames[doc])) {
+                matches.add(new int[]{0, doc});
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (Card card : topResults(matches, limit)) names.add(card.getName());
+        return names;
+    }
+
+    /** Intersects ascending posting lists, smallest first. */
+    private static IntList intersect(List<IntList> lists) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        IntList result = lists.get(0).copy();
+        for (int i = 1; i < lists.size() && result.size > 0; i++) {
+            if (lists.get(i) != lists.get(i - 1)) result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private boolean containsAllTerms(int doc, String[] terms) {
+        Card card = docs[doc];
+        for (String term : terms) {
+            if (!foldedNames[doc].contains(term)
+                    && !containsIgnoreCase(card.getSetName(), term)
+                    && !containsIgnoreCase(card.getType(), term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IntList allLiveDocs() {
+        IntList all = new IntList();
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null) all.add(doc);
+        }
+        return all;
+    }
+
+    /** Lower ranks are better: exact name, name prefix, name substring, other field. */
+    private static int rank(String name, String query) {
+        if (name.equals(query)) return 0;
+        if (name.startsWith(query)) return 1;
+        if (name.contains(query)) return 2;
+        return 3;
+    }
+
+    /** Sorts {@code (rank, doc)} pairs by rank, then name length, then document order. */
+    private List<Card> topResults(List<int[]> matches, int limit) {
+        matches.sort(Comparator.<int[]>comparingInt(m -> m[0])
+                .thenComparingInt(m -> foldedNames[m[1]].length())
+                .thenComparingInt(m -> m[1]));
+        List<Card> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && results.size() < limit; i++) {
+            results.add(docs[matches.get(i)[1]]);
+        }
+        return results;
+    }
+
+    // ------------------ INTERNAL HELPERS ------------------
+
+    private static String fold(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsIgnoreCase(String text, String term) {
+        if (text == null) return false;
+        for (int i = 0, last = text.length() - term.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) return true;
+        }
+        return false;
+    }
+
+    /** Packs three characters of a folded string into one key. */
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /** Packs the first one or two characters of a folded name into a prefix key. */
+    private static long prefixKey(String name, int length) {
+        long key = PREFIX_TAG | ((long) length << 48) | name.charAt(0);
+        return length == 1 ? key : key | ((long) name.charAt(1) << 16);
+    }
+
+    /**
+     * Optimal string alignment distance between two strings, giving up early
+     * and returning {@code maxEdits + 1} once the distance must exceed {@code maxEdits}.
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) return maxEdits + 1;
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /** Growable list of primitive ints. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        IntList copy() {
+            IntList copy = new IntList();
+            copy.values = Arrays.copyOf(values, Math.max(1, size));
+            copy.size = size;
+            return copy;
+        }
+
+        /**
+         * Keeps only values also in {@code other}; both lists must be ascending.
+         * Gallops through {@code other} when it is much longer than this list.
+         */
+        void retainAll(IntList other) {
+            int kept = 0;
+            int j = 0;
+            boolean gallop = other.size > size * 16;
+            for (int i = 0; i < size && j < other.size; i++) {
+                int value = values[i];
+                if (gallop) {
+                    int step = 1;
+                    while (j + step < other.size && other.values[j + step] < value) step <<= 1;
+                    int found = Arrays.binarySearch(other.values, j, Math.min(other.size, j + step + 1), value);
+                    j = found >= 0 ? found : -found - 1;
+                } else {
+                    while (j < other.size && other.values[j] < value) j++;
+                }
+                if (j < other.size && other.values[j] == value) values[kept++] = value;
+            }
+            size = kept;
+        }
+
+        void removeValue(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    System.arraycopy(values, i + 1, values, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Open-addressing map from a {@code long} key to its posting list. */
+    private static final class PostingTable {
+        private static final long EMPTY = -1L;
+
+        private long[] keys;
+        private IntList[] lists;
+        private int size;
+
+        PostingTable() {
+            allocate(1 << 12);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            lists = new IntList[capacity];
+        }
+
+        /** Appends a document to a key's list unless it is already the last entry. */
+        void post(long key, int doc) {
+            int slot = slot(key);
+            IntList list = lists[slot];
+            if (list == null) {
+                keys[slot] = key;
+                list = new IntList();
+                lists[slot] = list;
+                if (++size * 2 > keys.length) grow();
+            }
+            if (list.size == 0 || list.values[list.size - 1] != doc) list.add(doc);
+        }
+
+        IntList get(long key) {
+            return lists[slot(key)];
+        }
+
+        void clear() {
+            allocate(1 << 12);
+            size = 0;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            long h = key * 0x9E3779B97F4A7C15L;
+            int slot = (int) (h ^ (h >>> 32)) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            IntList[] oldLists = lists;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldLists[i] == null) continue;
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                lists[slot] = oldLists[i];
+            }
+        }
+    }
+}
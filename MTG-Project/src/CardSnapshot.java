@@ -0,0 +1,599 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * A card collection stored in a compact binary file that is opened by memory-mapping.
+ * <p>
+ * Opening a snapshot maps the file with {@link FileChannel#map} instead of
+ * parsing text. Numeric fields are read straight from the mapped pages, and
+ * each distinct string is decoded once, the first time it is asked for. A
+ * collection of a million cards opens in milliseconds, and the operating
+ * system pages in only the parts that are read.
+ * </p>
+ *
+ * <p><b>File layout</b> (little-endian):</p>
+ * <ul>
+ *     <li>Header, {@value #HEADER_SIZE} bytes: magic {@code "MTGS"}, format
+ *         version, record count, record size, string count, the offsets of the
+ *         record and dictionary sections, the file length, the last
+ *         {@link CardJournal} sequence folded into the snapshot, and a CRC-32C
+ *         checksum of both sections and the header fields before it</li>
+ *     <li>Records, {@value #RECORD_SIZE} bytes per card: card ID, dictionary IDs
+ *         of the name, mana cost, type, rarity and set name, collector number,
+ *         flags (bit 0 = foil) and market value</li>
+ *     <li>String dictionary: an {@code int} end offset per string, then the
+ *         UTF-8 bytes of every distinct string, each stored once</li>
+ * </ul>
+ *
+ * <p>
+ * Snapshots are written with {@link Writer}, which streams records to disk so
+ * a whole collection never has to be held in memory, and are replaced
+ * atomically. {@link #convertCsv(Path, Path)} and {@link #convertDatabase(CardDAO, Path)}
+ * build one from a CSV file or from the Card table.
+ * </p>
+ *
+ * <p>
+ * A mapping is released only when the garbage collector frees it, and
+ * Windows refuses to replace or delete a file that is still mapped. Code that
+ * copies the cards out and then rewrites the file, like the GUI, should load
+ * the snapshot with {@link #read(Path)} instead, which reads it into memory.
+ * </p>
+ *
+ * <p>An open snapshot is read-only and safe to read from several threads.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class CardSnapshot implements Closeable {
+
+    /** File extension used for snapshots written next to a CSV file. */
+    public static final String EXTENSION = ".mtgsnap";
+
+    private static final int MAGIC = 0x5347544D; // "MTGS" in little-endian order
+    private static final short VERSION = 2;
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 40;
+
+    // Header field offsets
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_COUNT = 8;
+    private static final int H_RECORD_SIZE = 12;
+    private static final int H_STRING_COUNT = 16;
+    private static final int H_RECORDS_OFFSET = 20;
+    private static final int H_DICTIONARY_OFFSET = 28;
+    private static final int H_FILE_LENGTH = 36;
+    private static final int H_JOURNAL_SEQUENCE = 44;
+    private static final int H_CHECKSUM = 56;
+
+    // Record field offsets
+    private static final int R_CARD_ID = 0;
+    private static final int R_NAME = 4;
+    private static final int R_MANA_COST = 8;
+    private static final int R_TYPE = 12;
+    private static final int R_RARITY = 16;
+    private static final int R_SET = 20;
+    private static final int R_COLLECTOR_NUMBER = 24;
+    private static final int R_FLAGS = 28;
+    private static final int R_MARKET_VALUE = 32;
+
+    private static final int FLAG_FOIL = 1;
+
+    private final Path file;
+    private final ByteBuffer records;
+    private final ByteBuffer stringOffsets;
+    private final ByteBuffer stringBytes;
+    private final int size;
+    private final long journalSequence;
+
+    /** Decoded strings by dictionary ID, filled in on first use. */
+    private final String[] strings;
+
+    private CardSnapshot(Path file, ByteBuffer buffer, boolean verify) throws IOException {
+        this.file = file;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException(file + " is not a card snapshot");
+        }
+        if (buffer.getShort(H_VERSION) != VERSION) {
+            throw new IOException(file + " has unsupported snapshot version " + buffer.getShort(H_VERSION));
+        }
+        size = buffer.getInt(H_RECORD_COUNT);
+        journalSequence = buffer.getLong(H_JOURNAL_SEQUENCE);
+        int stringCount = buffer.getInt(H_STRING_COUNT);
+        long recordsOffset = buffer.getLong(H_RECORDS_OFFSET);
+        long dictionaryOffset = buffer.getLong(H_DICTIONARY_OFFSET);
+        if (buffer.getInt(H_RECORD_SIZE) != RECORD_SIZE
+                || buffer.getLong(H_FILE_LENGTH) != buffer.capacity()
+                || recordsOffset + (long) size * RECORD_SIZE != dictionaryOffset
+                || dictionaryOffset + 4L * stringCount > buffer.capacity()) {
+            throw new IOException(file + " is truncated or has an inconsistent header");
+        }
+        if (verify && buffer.getLong(H_CHECKSUM) != checksum(buffer)) {
+            throw new IOException(file + " is corrupt: checksum mismatch");
+        }
+
+        records = slice(buffer, (int) recordsOffset, size * RECORD_SIZE);
+        stringOffsets = slice(buffer, (int) dictionaryOffset, 4 * stringCount);
+        int bytesStart = (int) dictionaryOffset + 4 * stringCount;
+        stringBytes = slice(buffer, bytesStart, buffer.capacity() - bytesStart);
+        strings = new String[stringCount];
+    }
+
+    /**
+     * Opens a snapshot and verifies its checksum.
+     *
+     * @param file the snapshot file
+     * @return the open snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static CardSnapshot open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    /**
+     * Opens a snapshot.
+     * <p>
+     * Verifying the checksum reads the whole file once. Skip it only for a
+     * file this process has just written or otherwise trusts.
+     * </p>
+     *
+     * @param file   the snapshot file
+     * @param verify true to check the checksum before returning
+     * @return the open snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static CardSnapshot open(Path file, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) throw new IOException(file + " is larger than 2 GB");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            // The mapping stays valid after the channel is closed.
+            return new CardSnapshot(file, mapped.order(ByteOrder.LITTLE_ENDIAN), verify);
+        }
+    }
+
+    /**
+     * Reads a whole snapshot into memory and verifies its checksum.
+     * <p>
+     * Nothing stays mapped, so the file can be replaced as soon as this
+     * returns. Prefer it to {@link #open(Path)} when every card is read
+     * anyway, e.g. with {@link #toCards()}.
+     * </p>
+     *
+     * @param file the snapshot file
+     * @return the snapshot, backed by a heap buffer
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static CardSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        return new CardSnapshot(file, buffer, true);
+    }
+
+    // ------------------ READING ------------------
+
+    /** @return the number of cards in the snapshot */
+    public int size() { return size; }
+
+    /**
+     * @param row a row number
+     * @return the database card ID
+     */
+    public int getCardId(int row) { return records.getInt(offset(row) + R_CARD_ID); }
+
+    /**
+     * @param row a row number
+     * @return the card name
+     */
+    public String getName(int row) { return string(records.getInt(offset(row) + R_NAME)); }
+
+    /**
+     * @param row a row number
+     * @return the mana cost string
+     */
+    public String getManaCost(int row) { return string(records.getInt(offset(row) + R_MANA_COST)); }
+
+    /**
+     * @param row a row number
+     * @return the card type name
+     */
+    public String getType(int row) { return string(records.getInt(offset(row) + R_TYPE)); }
+
+    /**
+     * @param row a row number
+     * @return the rarity name
+     */
+    public String getRarity(int row) { return string(records.getInt(offset(row) + R_RARITY)); }
+
+    /**
+     * @param row a row number
+     * @return the set name
+     */
+    public String getSetName(int row) { return string(records.getInt(offset(row) + R_SET)); }
+
+    /**
+     * @param row a row number
+     * @return the collector number
+     */
+    public int getCollectorNumber(int row) { return records.getInt(offset(row) + R_COLLECTOR_NUMBER); }
+
+    /**
+     * @param row a row number
+     * @return the market value
+     */
+    public double getMarketValue(int row) { return records.getDouble(offset(row) + R_MARKET_VALUE); }
+
+    /**
+     * @param row a row number
+     * @return true if the card is foil
+     */
+    public boolean isFoil(int row) { return (records.getInt(offset(row) + R_FLAGS) & FLAG_FOIL) != 0; }
+
+    /**
+     * Builds a regular {@link Card} from a row.
+     *
+     * @param row the row number
+     * @return a new card with the row's values
+     */
+    public Card toCard(int row) {
+        return new Card(getCardId(row), getName(row), getManaCost(row), getType(row), getRarity(row),
+                getSetName(row), getCollectorNumber(row), getMarketValue(row), isFoil(row));
+    }
+
+    /**
+     * Builds a {@link Card} for every row. Cards share one {@link String}
+     * object per distinct name, set, type, rarity and mana cost.
+     *
+     * @return the cards in file order
+     */
+    public List<Card> toCards() {
+        List<Card> cards = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) cards.add(toCard(row));
+        return cards;
+    }
+
+    /**
+     * Returns the sequence number of the last {@link CardJournal} entry
+     * already applied to this snapshot. Replaying the journal must skip
+     * entries up to and including it.
+     *
+     * @return the sequence number, or 0 if no journal entries were folded in
+     */
+    public long getJournalSequence() { return journalSequence; }
+
+    /** @return the snapshot file */
+    public Path getFile() { return file; }
+
+    /**
+     * Releases the snapshot. A mapping is freed by the garbage collector once
+     * no snapshot refers to it; until then the file cannot be replaced on
+     * Windows (see {@link #read(Path)}).
+     */
+    @Override
+    public void close() { }
+
+    private int offset(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        return row * RECORD_SIZE;
+    }
+
+    private String string(int id) {
+        String value = strings[id];
+        if (value == null) {
+            int start = id == 0 ? 0 : stringOffsets.getInt(4 * (id - 1));
+            int end = stringOffsets.getInt(4 * id);
+            byte[] bytes = new byte[end - start];
+            stringBytes.get(start, bytes);
+            // Racing threads decode equal strings; either result may be kept.
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** CRC-32C of everything after the header, followed by the header fields before the checksum. */
+    private static long checksum(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        crc.update(buffer.slice(0, H_CHECKSUM));
+        return crc.getValue();
+    }
+
+    // ------------------ WRITING ------------------
+
+    /**
+     * Writes a collection to a snapshot file, replacing any existing file.
+     *
+     * @param file  the snapshot file
+     * @param cards the cards to write
+     * @return the number of cards written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(Path file, Iterable<Card> cards) throws IOException {
+        return write(file, cards, 0);
+    }
+
+    /**
+     * Writes a collection that already includes journal entries up to
+     * {@code journalSequence}, replacing any existing file.
+     *
+     * @param file            the snapshot file
+     * @param cards           the cards to write
+     * @param journalSequence the last journal entry applied to {@code cards}
+     * @return the number of cards written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(Path file, Iterable<Card> cards, long journalSequence) throws IOException {
+        try (Writer writer = new Writer(file)) {
+            writer.setJournalSequence(journalSequence);
+            for (Card card : cards) writer.add(card);
+            return writer.commit();
+        }
+    }
+
+    /**
+     * Converts a CSV card file to a snapshot. Rows that fail to parse are
+     * skipped, as in {@link CsvCardImporter}.
+     *
+     * @param csvFile  the CSV file to read
+     * @param snapshot the snapshot file to write
+     * @return the import result, whose card count is the number of cards written
+     * @throws IOException if either file cannot be accessed
+     */
+    public static CsvCardImporter.Result convertCsv(Path csvFile, Path snapshot) throws IOException {
+        try (Writer writer = new Writer(snapshot)) {
+            CsvCardImporter.Result result;
+            try {
+                result = new CsvCardImporter().importFile(csvFile, batch -> {
+                    try {
+                        for (Card card : batch) writer.add(card);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Converts the Card table to a snapshot, streaming rows from the database.
+     *
+     * @param cardDAO  the DAO to read from
+     * @param snapshot the snapshot file to write
+     * @return the number of cards written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static int convertDatabase(CardDAO cardDAO, Path snapshot) throws IOException {
+        try (Writer writer = new Writer(snapshot)) {
+            try {
+                cardDAO.forEachCard(card -> {
+                    try {
+                        writer.add(card);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return writer.commit();
+        }
+    }
+
+    /**
+     * Returns the snapshot path used for a CSV file: the same name with the
+     * extension replaced by {@value #EXTENSION}.
+     *
+     * @param csvFile a CSV file
+     * @return the matching snapshot path
+     */
+    public static Path snapshotPathFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return csvFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    /**
+     * Converts a CSV file or the Card table to a snapshot.
+     * <pre>
+     * java CardSnapshot csv src/cards.csv [src/cards.mtgsnap]
+     * java CardSnapshot db cards.mtgsnap
+     * </pre>
+     *
+     * @param args the source ({@code csv} and a file, or {@code db}) and the output file
+     */
+    public static void main(String[] args) {
+        try {
+            if (args.length >= 2 && args[0].equals("csv")) {
+                Path csv = Path.of(args[1]);
+                Path out = args.length > 2 ? Path.of(args[2]) : snapshotPathFor(csv);
+                System.out.println(convertCsv(csv, out) + ", written to " + out);
+            } else if (args.length == 2 && args[0].equals("db")) {
+                int count = convertDatabase(new CardDAO(), Path.of(args[1]));
+                System.out.println(count + " cards written to " + args[1]);
+                DatabaseConnection.closeConnection();
+            } else {
+                System.out.println("Usage: CardSnapshot csv <cards.csv> [<out" + EXTENSION + ">] | db <out" + EXTENSION + ">");
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot incrementally. Records are streamed to a temporary
+     * file; {@link #commit()} appends the string dictionary and header, then
+     * moves the file into place. Closing without committing discards it.
+     */
+    public static final class Writer implements Closeable {
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final StringTable dictionary = new StringTable();
+        private final CRC32C crc = new CRC32C();
+        private int count;
+        private long journalSequence;
+        private boolean finished;
+
+        /**
+         * Starts a snapshot.
+         *
+         * @param target the snapshot file to create or replace on commit
+         * @throws IOException if the temporary file cannot be created
+         */
+        public Writer(Path target) throws IOException {
+            this.target = target.toAbsolutePath();
+            this.temp = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+        }
+
+        /**
+         * Appends a card.
+         *
+         * @param card the card to write
+         * @throws IOException if the file cannot be written
+         */
+        public void add(Card card) throws IOException {
+            add(card, card.getMarketValue());
+        }
+
+        /**
+         * Appends a card with a market value captured earlier, for cards whose
+         * value may have been edited since.
+         *
+         * @param card        the card to write
+         * @param marketValue the market value to store instead of the card's current one
+         * @throws IOException if the file cannot be written
+         */
+        public void add(Card card, double marketValue) throws IOException {
+            if (finished) throw new IllegalStateException("Snapshot already committed");
+            if (count == (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+                throw new IOException("Too many cards for one snapshot");
+            }
+            if (buffer.remaining() < RECORD_SIZE) flush();
+            buffer.putInt(card.getCardId())
+                    .putInt(intern(card.getName()))
+                    .putInt(intern(card.getManaCost()))
+                    .putInt(intern(card.getType()))
+                    .putInt(intern(card.getRarity()))
+                    .putInt(intern(card.getSetName()))
+                    .putInt(card.getCollectorNumber())
+                    .putInt(card.isFoil() ? FLAG_FOIL : 0)
+                    .putDouble(marketValue);
+            count++;
+        }
+
+        /**
+         * Records the last {@link CardJournal} entry included in the cards written.
+         *
+         * @param journalSequence a journal sequence number, or 0 for none
+         */
+        public void setJournalSequence(long journalSequence) {
+            this.journalSequence = journalSequence;
+        }
+
+        /**
+         * Writes the dictionary and header, forces the file to disk and moves
+         * it over the target.
+         *
+         * @return the number of cards written
+         * @throws IOException if the file cannot be written or moved
+         */
+        public int commit() throws IOException {
+            if (finished) throw new IllegalStateException("Snapshot already committed");
+            flush();
+            long dictionaryOffset = HEADER_SIZE + (long) count * RECORD_SIZE;
+
+            byte[][] encoded = new byte[dictionary.size()][];
+            int end = 0;
+            for (int id = 0; id < encoded.length; id++) {
+                encoded[id] = dictionary.get(id).getBytes(StandardCharsets.UTF_8);
+                end += encoded[id].length;
+                putInt(end);
+            }
+            for (byte[] bytes : encoded) put(bytes);
+            flush();
+            long fileLength = channel.position();
+            if (fileLength > Integer.MAX_VALUE) throw new IOException("Snapshot would be larger than 2 GB");
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(H_MAGIC, MAGIC)
+                    .putShort(H_VERSION, VERSION)
+                    .putInt(H_RECORD_COUNT, count)
+                    .putInt(H_RECORD_SIZE, RECORD_SIZE)
+                    .putInt(H_STRING_COUNT, encoded.length)
+                    .putLong(H_RECORDS_OFFSET, HEADER_SIZE)
+                    .putLong(H_DICTIONARY_OFFSET, dictionaryOffset)
+                    .putLong(H_FILE_LENGTH, fileLength)
+                    .putLong(H_JOURNAL_SEQUENCE, journalSequence);
+            // The body was checksummed as it was written; finish with the header fields.
+            crc.update(header.slice(0, H_CHECKSUM));
+            header.putLong(H_CHECKSUM, crc.getValue());
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            finished = true;
+
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        }
+
+        /** Deletes the temporary file unless the snapshot was committed. */
+        @Override
+        public void close() throws IOException {
+            if (finished) return;
+            finished = true;
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+
+        private int intern(String value) {
+            return dictionary.intern(value == null ? "" : value);
+        }
+
+        private void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            int written = 0;
+            while (written < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int n = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, n);
+                written += n;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
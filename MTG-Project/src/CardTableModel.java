@@ -0,0 +1,285 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+
+/**
+ * Table model that shows a card collection in a {@link javax.swing.JTable}
+ * without copying it into table rows.
+ * <p>
+ * The model keeps a snapshot array of the cards and an {@code int[]} view that
+ * maps table rows to snapshot positions. Cell values are read from the
+ * {@link Card} only when the table asks for them, so rendering cost depends on
+ * the rows on screen, not the size of the collection.
+ * </p>
+ *
+ * <p>
+ * Sorting and filtering produce a new view. The sort order of each column is
+ * computed once per snapshot by ranking the column's values and sorting
+ * packed {@code (rank, position)} longs, then cached, so switching between
+ * columns or directions, or changing the filter, reuses the cached order.
+ * {@link #buildView(Snapshot, int, boolean, String)} does not touch Swing
+ * state and can run on a background thread; {@link #setView(Snapshot, int[], int, boolean, String)}
+ * installs the result on the Event Dispatch Thread.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CardTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Column headers, in display order. */
+    private static final String[] COLUMNS = {
+            "Name", "Mana Cost", "Type", "Rarity", "Set", "#", "Value ($)", "Foil"
+    };
+
+    /** Column classes, so the table picks suitable renderers. */
+    private static final Class<?>[] COLUMN_CLASSES = {
+            String.class, String.class, String.class, String.class, String.class,
+            Integer.class, Double.class, Boolean.class
+    };
+
+    private Snapshot snapshot = new Snapshot(new Card[0]);
+    private int[] view = new int[0];
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private String filter = "";
+
+    /**
+     * Replaces the displayed cards, keeping the current sort and filter settings.
+     * The view is reset to unsorted and unfiltered until a new one is installed.
+     *
+     * @param cards the cards to show
+     * @return the new snapshot, to pass to {@link #buildView(Snapshot, int, boolean, String)}
+     */
+    public Snapshot setCards(Collection<Card> cards) {
+        snapshot = new Snapshot(cards.toArray(new Card[0]));
+        view = identity(snapshot.rows.length);
+        fireTableDataChanged();
+        return snapshot;
+    }
+
+    /** @return the snapshot currently shown */
+    public Snapshot getSnapshot() { return snapshot; }
+
+    /** @return the column being sorted, or -1 */
+    public int getSortColumn() { return sortColumn; }
+
+    /** @return true if the sort is ascending */
+    public boolean isAscending() { return ascending; }
+
+    /** @return the current filter text */
+    public String getFilter() { return filter; }
+
+    /**
+     * Installs a view computed by {@link #buildView}. Ignored if the snapshot
+     * has been replaced since the view was computed.
+     *
+     * @param forSnapshot the snapshot the view was built from
+     * @param newView     the table row to snapshot position mapping
+     * @param sortColumn  the sorted column, or -1
+     * @param ascending   the sort direction
+     * @param filter      the filter text
+     * @return true if the view was installed
+     */
+    public boolean setView(Snapshot forSnapshot, int[] newView, int sortColumn, boolean ascending, String filter) {
+        if (forSnapshot != snapshot) return false;
+        this.view = newView;
+        this.sortColumn = sortColumn;
+        this.ascending = ascending;
+        this.filter = filter;
+        fireTableDataChanged();
+        return true;
+    }
+
+    /**
+     * Returns the card shown in a table row.
+     *
+     * @param row a table row
+     * @return the card in that row
+     */
+    public Card getCardAt(int row) {
+        return snapshot.rows[view[row]];
+    }
+
+    // ------------------ TABLE MODEL ------------------
+
+    @Override
+    public int getRowCount() { return view.length; }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public Class<?> getColumnClass(int column) { return COLUMN_CLASSES[column]; }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return valueOf(getCardAt(row), column);
+    }
+
+    private static Object valueOf(Card card, int column) {
+        return switch (column) {
+            case 0 -> card.getName();
+            case 1 -> card.getManaCost();
+            case 2 -> card.getType();
+            case 3 -> card.getRarity();
+            case 4 -> card.getSetName();
+            case 5 -> card.getCollectorNumber();
+            case 6 -> card.getMarketValue();
+            case 7 -> card.isFoil();
+            default -> throw new IllegalArgumentException("No column " + column);
+        };
+    }
+
+    // ------------------ VIEW BUILDING ------------------
+
+    /**
+     * Computes the rows to show for a sort column, direction and filter. Safe to
+     * call off the Event Dispatch Thread.
+     *
+     * @param snapshot   the snapshot to build from
+     * @param sortColumn the column to sort by, or -1 for collection order
+     * @param ascending  the sort direction
+     * @param filter     text that the name, type or set name must contain (ignoring case), or empty
+     * @return the table row to snapshot position mapping
+     */
+    public static int[] buildView(Snapshot snapshot, int sortColumn, boolean ascending, String filter) {
+        Card[] rows = snapshot.rows;
+        int[] order = sortColumn < 0 ? null : snapshot.orderBy(sortColumn);
+        String needle = filter == null ? "" : filter.trim();
+
+        char lower = needle.isEmpty() ? 0 : Character.toLowerCase(needle.charAt(0));
+        char upper = Character.toUpperCase(lower);
+
+        int[] result = new int[rows.length];
+        int size = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (Thread.currentThread().isInterrupted()) break;
+            int k = order == null ? i : order[ascending ? i : rows.length - 1 - i];
+            if (needle.isEmpty() || matches(rows[k], needle, lower, upper)) result[size++] = k;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static boolean matches(Card card, String needle, char lower, char upper) {
+        return containsIgnoreCase(card.getName(), needle, lower, upper)
+                || containsIgnoreCase(card.getType(), needle, lower, upper)
+                || containsIgnoreCase(card.getSetName(), needle, lower, upper);
+    }
+
+    /**
+     * Case-insensitive substring test that does not allocate. Only positions
+     * whose character matches the needle's first character are compared in full.
+     */
+    private static boolean containsIgnoreCase(String text, String needle, char lower, char upper) {
+        if (text == null) return false;
+        for (int i = 0, last = text.length() - needle.length(); i <= last; i++) {
+            char c = text.charAt(i);
+            if ((c == lower || c == upper) && text.regionMatches(true, i + 1, needle, 1, needle.length() - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] identity(int size) {
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) positions[i] = i;
+        return positions;
+    }
+
+    /**
+     * An immutable array of cards plus the sort orders computed for it.
+     */
+    public static final class Snapshot {
+        private final Card[] rows;
+
+        /** Ascending order of snapshot positions per column, computed on demand. */
+        private final int[][] orders = new int[COLUMNS.length][];
+
+        Snapshot(Card[] rows) {
+            this.rows = rows;
+        }
+
+        /** @return the number of cards in the snapshot */
+        public int size() { return rows.length; }
+
+        /**
+         * Returns the snapshot positions in ascending order of a column,
+         * computing and caching the order on first use.
+         */
+        synchronized int[] orderBy(int column) {
+            int[] order = orders[column];
+            if (order == null) {
+                order = sortByRank(ranks(column));
+                orders[column] = order;
+            }
+            return order;
+        }
+
+        /**
+         * Ranks every row's value in a column: equal values share a rank and
+         * ranks increase with the value.
+         */
+        private int[] ranks(int column) {
+            int[] ranks = new int[rows.length];
+            switch (column) {
+                case 5 -> {
+                    for (int i = 0; i < rows.length; i++) ranks[i] = rows[i].getCollectorNumber();
+                    return denseRanks(ranks);
+                }
+                case 6 -> {
+                    double[] values = new double[rows.length];
+                    for (int i = 0; i < rows.length; i++) values[i] = rows[i].getMarketValue();
+                    double[] distinct = Arrays.stream(values).distinct().sorted().toArray();
+                    for (int i = 0; i < rows.length; i++) ranks[i] = Arrays.binarySearch(distinct, values[i]);
+                    return ranks;
+                }
+                case 7 -> {
+                    for (int i = 0; i < rows.length; i++) ranks[i] = rows[i].isFoil() ? 1 : 0;
+                    return ranks;
+                }
+                default -> {
+                    // Rank the distinct strings once, then look each row up.
+                    Map<String, Integer> rankOf = new HashMap<>();
+                    for (Card card : rows) rankOf.putIfAbsent(stringOf(card, column), 0);
+                    String[] distinct = rankOf.keySet().toArray(new String[0]);
+                    Arrays.sort(distinct, String.CASE_INSENSITIVE_ORDER);
+                    int rank = -1;
+                    for (int i = 0; i < distinct.length; i++) {
+                        if (i == 0 || String.CASE_INSENSITIVE_ORDER.compare(distinct[i - 1], distinct[i]) != 0) rank++;
+                        rankOf.put(distinct[i], rank);
+                    }
+                    for (int i = 0; i < rows.length; i++) ranks[i] = rankOf.get(stringOf(rows[i], column));
+                    return ranks;
+                }
+            }
+        }
+
+        private static String stringOf(Card card, int column) {
+            Object value = valueOf(card, column);
+            return value == null ? "" : value.toString();
+        }
+
+        /** Replaces arbitrary int keys with their rank among the distinct keys. */
+        private static int[] denseRanks(int[] keys) {
+            int[] distinct = Arrays.stream(keys).distinct().sorted().toArray();
+            for (int i = 0; i < keys.length; i++) keys[i] = Arrays.binarySearch(distinct, keys[i]);
+            return keys;
+        }
+
+        /** Sorts positions by rank, keeping collection order for ties. */
+        private static int[] sortByRank(int[] ranks) {
+            long[] packed = new long[ranks.length];
+            for (int i = 0; i < ranks.length; i++) packed[i] = ((long) ranks[i] << 32) | i;
+            Arrays.sort(packed);
+            int[] order = new int[ranks.length];
+            for (int i = 0; i < packed.length; i++) order[i] = (int) packed[i];
+            return order;
+        }
+    }
+}
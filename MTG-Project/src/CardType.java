@@ -0,0 +1,66 @@
+import java.util.Arrays;
+
+/**
+ * The Magic: The Gathering card types accepted by the system.
+ * <p>
+ * Mirrors the type list validated by {@link DMSUtils}. {@link Deck} keeps its
+ * per-type card counts in an array indexed by the constant's ordinal.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public enum CardType {
+    LAND("Land"),
+    CREATURE("Creature"),
+    ARTIFACT("Artifact"),
+    ENCHANTMENT("Enchantment"),
+    PLANESWALKER("Planeswalker"),
+    BATTLE("Battle"),
+    INSTANT("Instant"),
+    SORCERY("Sorcery");
+
+    /** Constants grouped by display-name length, so a lookup only compares same-length names. */
+    private static final CardType[][] BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (CardType value : values()) maxLength = Math.max(maxLength, value.displayName.length());
+        BY_LENGTH = new CardType[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            final int len = length;
+            BY_LENGTH[length] = Arrays.stream(values())
+                    .filter(v -> v.displayName.length() == len)
+                    .toArray(CardType[]::new);
+        }
+    }
+
+    /** The name shown to users and stored in the database. */
+    private final String displayName;
+
+    CardType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /** @return the display name (e.g., "Creature") */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Looks up a type by name, ignoring case, without allocating.
+     *
+     * @param name the type name (e.g., "creature")
+     * @return the matching type, or {@code null} if the name is unknown
+     */
+    public static CardType fromName(String name) {
+        if (name == null || name.length() >= BY_LENGTH.length) return null;
+        for (CardType type : BY_LENGTH[name.length()]) {
+            if (type.displayName.regionMatches(true, 0, name, 0, name.length())) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() { return displayName; }
+}
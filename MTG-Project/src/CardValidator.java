@@ -0,0 +1,260 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Validation engine for {@link Card} data, used for single cards and for
+ * bulk imports.
+ * <p>
+ * Checking a card does not allocate or print: type and rarity are matched
+ * through the precomputed case-insensitive tables in {@link CardType} and
+ * {@link Rarity}, and each failure is reported as a {@link Rule} constant.
+ * {@link #validateAll(List)} validates a batch in parallel and returns
+ * structured {@link ValidationError} records with per-rule totals, so
+ * failures can be reported in aggregate.
+ * </p>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * CardValidator.Report report = CardValidator.validateAll(cards);
+ * System.out.println(report);             // totals per rule
+ * report.getErrors().forEach(System.out::println);
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class CardValidator {
+
+    /** Batches smaller than this are validated on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /** Number of cards handled by one parallel task. */
+    private static final int SLICE_SIZE = 4096;
+
+    /** Default maximum number of error records kept in a report. */
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    private static final Rule[] RULES = Rule.values();
+
+    private CardValidator() { }
+
+    /**
+     * A validation rule, with the field it applies to and the message shown
+     * when it fails.
+     */
+    public enum Rule {
+        BLANK_NAME("name", "Card name cannot be blank."),
+        UNKNOWN_TYPE("type", "Invalid card type."),
+        UNKNOWN_RARITY("rarity", "Invalid card rarity."),
+        BLANK_SET_NAME("setName", "Set name cannot be blank."),
+        NON_POSITIVE_COLLECTOR_NUMBER("collectorNumber", "Collector number must be greater than 0."),
+        NEGATIVE_MARKET_VALUE("marketValue", "Market value cannot be negative.");
+
+        private final String field;
+        private final String message;
+
+        Rule(String field, String message) {
+            this.field = field;
+            this.message = message;
+        }
+
+        /** @return the name of the {@link Card} field this rule checks */
+        public String getField() { return field; }
+
+        /** @return the message describing a failure of this rule */
+        public String getMessage() { return message; }
+
+        /**
+         * @param card the card to check
+         * @return true if the card breaks this rule
+         */
+        boolean isBrokenBy(Card card) {
+            return switch (this) {
+                case BLANK_NAME -> isEmpty(card.getName());
+                case UNKNOWN_TYPE -> !isEmpty(card.getType()) && CardType.fromName(card.getType()) == null;
+                case UNKNOWN_RARITY -> !isEmpty(card.getRarity()) && Rarity.fromName(card.getRarity()) == null;
+                case BLANK_SET_NAME -> isEmpty(card.getSetName());
+                case NON_POSITIVE_COLLECTOR_NUMBER -> card.getCollectorNumber() <= 0;
+                case NEGATIVE_MARKET_VALUE -> card.getMarketValue() < 0;
+            };
+        }
+    }
+
+    /**
+     * Returns the first rule a card breaks, checking rules in declaration order.
+     *
+     * @param card the card to check
+     * @return the first broken rule, or {@code null} if the card is valid
+     */
+    public static Rule firstError(Card card) {
+        for (Rule rule : RULES) {
+            if (rule.isBrokenBy(card)) return rule;
+        }
+        return null;
+    }
+
+    /**
+     * @param card the card to check
+     * @return true if the card breaks no rule
+     */
+    public static boolean isValid(Card card) {
+        return firstError(card) == null;
+    }
+
+    /**
+     * Validates a batch of cards, keeping up to {@link #DEFAULT_MAX_ERRORS} error records.
+     *
+     * @param cards the cards to check
+     * @return the validation report
+     */
+    public static Report validateAll(List<Card> cards) {
+        return validateAll(cards, DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * Validates a batch of cards, splitting large batches across the common
+     * fork-join pool. Every broken rule of every card is counted; at most
+     * {@code maxErrors} individual records are kept, lowest rows first.
+     *
+     * @param cards     the cards to check; should support fast random access
+     * @param maxErrors the maximum number of {@link ValidationError} records to keep
+     * @return the validation report
+     */
+    public static Report validateAll(List<Card> cards, int maxErrors) {
+        int size = cards.size();
+        int slices = (size + SLICE_SIZE - 1) / SLICE_SIZE;
+
+        IntStream sliceIndexes = IntStream.range(0, slices);
+        if (size >= PARALLEL_THRESHOLD) sliceIndexes = sliceIndexes.parallel();
+
+        Report[] partials = new Report[slices];
+        sliceIndexes.forEach(slice -> {
+            int from = slice * SLICE_SIZE;
+            partials[slice] = validateRange(cards, from, Math.min(size, from + SLICE_SIZE), maxErrors);
+        });
+
+        Report total = new Report(size, maxErrors);
+        for (Report partial : partials) total.merge(partial);
+        return total;
+    }
+
+    /** Validates one slice of a batch on the current thread. */
+    private static Report validateRange(List<Card> cards, int from, int to, int maxErrors) {
+        Report report = new Report(cards.size(), maxErrors);
+        for (int row = from; row < to; row++) {
+            Card card = cards.get(row);
+            for (Rule rule : RULES) {
+                if (rule.isBrokenBy(card)) report.record(row, rule);
+            }
+        }
+        return report;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    // ------------------ RESULTS ------------------
+
+    /**
+     * One broken rule on one card.
+     */
+    public static final class ValidationError {
+        private final int row;
+        private final Rule rule;
+
+        /**
+         * @param row  the card's position in the validated list
+         * @param rule the broken rule
+         */
+        public ValidationError(int row, Rule rule) {
+            this.row = row;
+            this.rule = rule;
+        }
+
+        /** @return the card's position in the validated list */
+        public int getRow() { return row; }
+
+        /** @return the broken rule */
+        public Rule getRule() { return rule; }
+
+        /** @return the field the rule checks */
+        public String getField() { return rule.getField(); }
+
+        @Override
+        public String toString() {
+            return String.format("Row %d, %s: %s", row, rule.getField(), rule.getMessage());
+        }
+    }
+
+    /**
+     * Result of validating a batch: which rows are invalid, totals per rule,
+     * and a bounded list of individual errors.
+     */
+    public static final class Report {
+        private final int cardCount;
+        private final int maxErrors;
+        private final BitSet invalidRows = new BitSet();
+        private final long[] ruleCounts = new long[RULES.length];
+        private final List<ValidationError> errors = new ArrayList<>();
+
+        Report(int cardCount, int maxErrors) {
+            this.cardCount = cardCount;
+            this.maxErrors = maxErrors;
+        }
+
+        void record(int row, Rule rule) {
+            invalidRows.set(row);
+            ruleCounts[rule.ordinal()]++;
+            if (errors.size() < maxErrors) errors.add(new ValidationError(row, rule));
+        }
+
+        void merge(Report other) {
+            invalidRows.or(other.invalidRows);
+            for (int i = 0; i < ruleCounts.length; i++) ruleCounts[i] += other.ruleCounts[i];
+            for (ValidationError error : other.errors) {
+                if (errors.size() >= maxErrors) break;
+                errors.add(error);
+            }
+        }
+
+        /** @return the number of cards validated */
+        public int getCardCount() { return cardCount; }
+
+        /** @return the number of cards that broke at least one rule */
+        public int getInvalidCount() { return invalidRows.cardinality(); }
+
+        /** @return the number of cards that broke no rule */
+        public int getValidCount() { return cardCount - getInvalidCount(); }
+
+        /**
+         * @param row a position in the validated list
+         * @return true if the card at that position broke no rule
+         */
+        public boolean isValid(int row) { return !invalidRows.get(row); }
+
+        /**
+         * @param rule a rule
+         * @return how many cards broke it
+         */
+        public long getCount(Rule rule) { return ruleCounts[rule.ordinal()]; }
+
+        /** @return the kept error records, ordered by row */
+        public List<ValidationError> getErrors() { return Collections.unmodifiableList(errors); }
+
+        /**
+         * Returns a summary with the number of failures per rule.
+         *
+         * @return a readable report summary
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%d of %d cards valid", getValidCount(), cardCount));
+            for (Rule rule : RULES) {
+                long count = ruleCounts[rule.ordinal()];
+                if (count > 0) sb.append(String.format("%n  %-42s %d", rule.getMessage(), count));
+            }
+            return sb.toString();
+        }
+    }
+}
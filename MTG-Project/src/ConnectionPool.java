@@ -0,0 +1,557 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe pool of JDBC connections used by {@link DatabaseConnection}.
+ * <p>
+ * Connections handed out by {@link #borrow()} are lightweight wrappers around a
+ * physical connection. Calling {@code close()} on the wrapper returns the physical
+ * connection to the pool instead of closing it, so the DAO classes can keep using
+ * try-with-resources without reconnecting on every call.
+ * </p>
+ *
+ * <p><b>Features:</b></p>
+ * <ul>
+ *     <li>Configurable minimum and maximum pool size</li>
+ *     <li>Validation of idle connections when they are borrowed</li>
+ *     <li>Eviction of connections that stay idle longer than the idle timeout</li>
+ *     <li>Optional leak detection for connections held longer than the leak threshold</li>
+ *     <li>Wait-time and utilization counters for monitoring</li>
+ * </ul>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class ConnectionPool {
+
+    /** How often the background housekeeping task runs, in milliseconds. */
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+
+    /** Idle connections younger than this are handed out without a validation round-trip. */
+    private static final long VALIDATION_SKIP_MILLIS = 500;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+
+    private volatile long borrowTimeoutMillis = 30_000;
+    private volatile long idleTimeoutMillis = 10 * 60_000;
+    private volatile long leakThresholdMillis;
+    private volatile int validationTimeoutSeconds = 2;
+
+    /** Idle connections, most recently returned first. Guarded by {@link #lock}. */
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+    /** Connections currently handed out to callers. */
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    /** Number of open physical connections, including ones being created. Guarded by {@link #lock}. */
+    private int totalConnections;
+
+    /** Number of threads currently waiting in {@link #borrow()}. Guarded by {@link #lock}. */
+    private int waitingThreads;
+
+    private boolean shutdown;
+
+    private final ScheduledExecutorService housekeeper;
+
+    // ------------------ STATISTICS ------------------
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+
+    /**
+     * Creates a new pool and opens the minimum number of connections.
+     *
+     * @param url      the JDBC URL
+     * @param user     the database username
+     * @param password the database password
+     * @param minSize  the number of connections kept open even when idle
+     * @param maxSize  the maximum number of open connections
+     * @throws IllegalArgumentException if the sizes are out of range
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mtg-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    // ------------------ CONFIGURATION ------------------
+
+    /** @param millis how long {@link #borrow()} waits for a free connection before failing */
+    public void setBorrowTimeoutMillis(long millis) { this.borrowTimeoutMillis = millis; }
+
+    /** @param millis how long a connection may stay idle before it is evicted (above the minimum size) */
+    public void setIdleTimeoutMillis(long millis) { this.idleTimeoutMillis = millis; }
+
+    /**
+     * Sets the leak threshold. While leak detection is on, every borrow
+     * records a stack trace for the report, so it is off by default.
+     *
+     * @param millis how long a connection may be held before it is reported as a leak (0 disables)
+     */
+    public void setLeakThresholdMillis(long millis) { this.leakThresholdMillis = millis; }
+
+    /** @param seconds the timeout passed to {@link Connection#isValid(int)} on borrow */
+    public void setValidationTimeoutSeconds(int seconds) { this.validationTimeoutSeconds = seconds; }
+
+    /** @return the minimum pool size */
+    public int getMinSize() { return minSize; }
+
+    /** @return the maximum pool size */
+    public int getMaxSize() { return maxSize; }
+
+    // ------------------ BORROW & RELEASE ------------------
+
+    /**
+     * Borrows a connection from the pool, opening a new one if the pool is below
+     * its maximum size, or waiting for one to be returned otherwise.
+     * <p>
+     * The returned connection must be closed by the caller; closing it returns
+     * it to the pool.
+     * </p>
+     *
+     * @return a validated connection
+     * @throws SQLException if the pool is shut down, the wait times out,
+     *                      or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) {
+                        throw new SQLException("Connection pool has been shut down");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) break;
+                    if (totalConnections < maxSize) {
+                        totalConnections++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLException("Timed out after " + borrowTimeoutMillis
+                                + " ms waiting for a database connection (pool size " + maxSize + ")");
+                    }
+                    waitingThreads++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waitingThreads--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                candidate = openConnection();
+            } else if (!isUsable(candidate)) {
+                validationFailureCount.increment();
+                discard(candidate);
+                continue;
+            }
+
+            recordWait(System.nanoTime() - start);
+            candidate.borrowedAt = System.currentTimeMillis();
+            candidate.leakReported = false;
+            candidate.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            borrowed.add(candidate);
+            return candidate.newHandle();
+        }
+    }
+
+    /**
+     * Returns a physical connection to the pool once its handle is closed.
+     * Broken connections are discarded; open transactions are rolled back.
+     */
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(pooled);
+            return;
+        }
+
+        pooled.lastUsed = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (shutdown) {
+                totalConnections--;
+                closeQuietly(pooled);
+                return;
+            }
+            idle.addFirst(pooled);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a new physical connection. The caller must already have reserved
+     * a slot in {@link #totalConnections}.
+     */
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            createdCount.increment();
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                totalConnections--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /** Checks an idle connection before handing it out. */
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < VALIDATION_SKIP_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** Closes a physical connection and frees its slot. */
+    private void discard(PooledConnection pooled) {
+        closeQuietly(pooled);
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeQuietly(PooledConnection pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // The connection is being thrown away anyway.
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ------------------ HOUSEKEEPING ------------------
+
+    /**
+     * Evicts idle connections above the minimum size, tops the pool back up
+     * to its minimum, and reports connections held past the leak threshold.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections - evicted.size() > minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsed >= idleTimeoutMillis) {
+                    it.remove();
+                    evicted.add(pooled);
+                }
+            }
+            totalConnections -= evicted.size();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pooled : evicted) {
+            closeQuietly(pooled);
+            evictedCount.increment();
+        }
+
+        fillToMinimum();
+        detectLeaks(now);
+    }
+
+    /** Opens connections until the pool holds at least {@link #minSize} of them. */
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (shutdown || totalConnections >= minSize) return;
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                PooledConnection pooled = openConnection();
+                pooled.lastUsed = System.currentTimeMillis();
+                lock.lock();
+                try {
+                    idle.addLast(pooled);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                System.out.println("Connection pool could not open a connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks(long now) {
+        long threshold = leakThresholdMillis;
+        if (threshold <= 0) return;
+        for (PooledConnection pooled : borrowed) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > threshold) {
+                pooled.leakReported = true;
+                leakCount.increment();
+                System.out.println("Possible connection leak: connection held for "
+                        + (now - pooled.borrowedAt) + " ms");
+                if (pooled.borrowSite != null) {
+                    pooled.borrowSite.printStackTrace(System.out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops handing out new ones.
+     * Borrowed connections are closed when their handles are returned.
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (shutdown) return;
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            totalConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(this::closeQuietly);
+    }
+
+    // ------------------ STATISTICS GETTERS ------------------
+
+    /** @return number of connections currently handed out */
+    public int getActiveCount() { return borrowed.size(); }
+
+    /** @return number of open connections waiting in the pool */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return number of open physical connections */
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return number of threads currently blocked waiting for a connection */
+    public int getWaitingThreadCount() {
+        lock.lock();
+        try {
+            return waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return fraction of the maximum pool size currently in use (0.0 to 1.0) */
+    public double getUtilization() { return (double) getActiveCount() / maxSize; }
+
+    /** @return total number of successful borrows */
+    public long getBorrowCount() { return borrowCount.sum(); }
+
+    /** @return average time spent waiting in {@link #borrow()}, in milliseconds */
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.sum();
+        return borrows == 0 ? 0.0 : totalWaitNanos.sum() / (borrows * 1_000_000.0);
+    }
+
+    /** @return longest time spent waiting in {@link #borrow()}, in milliseconds */
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+    /** @return number of borrows that timed out */
+    public long getTimeoutCount() { return timeoutCount.sum(); }
+
+    /** @return number of physical connections opened */
+    public long getCreatedCount() { return createdCount.sum(); }
+
+    /** @return number of idle connections closed by eviction */
+    public long getEvictedCount() { return evictedCount.sum(); }
+
+    /** @return number of idle connections that failed validation on borrow */
+    public long getValidationFailureCount() { return validationFailureCount.sum(); }
+
+    /** @return number of connections reported as possible leaks */
+    public long getLeakCount() { return leakCount.sum(); }
+
+    /**
+     * Returns a one-line summary of the pool's counters.
+     *
+     * @return a readable pool status
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "ConnectionPool [active=%d, idle=%d, max=%d, utilization=%.0f%%, borrows=%d, avgWait=%.2fms, maxWait=%.2fms, timeouts=%d, leaks=%d]",
+                getActiveCount(), getIdleCount(), maxSize, getUtilization() * 100, getBorrowCount(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount(), getLeakCount()
+        );
+    }
+
+    // ------------------ POOLED CONNECTION ------------------
+
+    /**
+     * A physical connection owned by the pool, plus the bookkeeping needed for
+     * eviction and leak detection.
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long lastUsed;
+        volatile long borrowedAt;
+        volatile boolean leakReported;
+        volatile Throwable borrowSite;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /** Creates a fresh handle whose {@code close()} returns this connection to the pool. */
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Invocation handler behind each borrowed connection. A handle is single-use:
+     * once closed, every further call except {@code close} and {@code isClosed} fails.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    synchronized (this) {
+                        if (closed) return null;
+                        closed = true;
+                    }
+                    release(pooled);
+                    return null;
+                }
+                case "isClosed" -> {
+                    synchronized (this) {
+                        if (closed) return true;
+                    }
+                    return pooled.physical.isClosed();
+                }
+                case "equals" -> { return proxy == args[0]; }
+                case "hashCode" -> { return System.identityHashCode(proxy); }
+                case "toString" -> { return "PooledConnection[" + pooled.physical + "]"; }
+                default -> {
+                    synchronized (this) {
+                        if (closed) throw new SQLException("Connection has already been returned to the pool");
+                    }
+                }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,453 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Streaming, parallel importer for card files in the {@code cards.csv} layout.
+ * <p>
+ * The file is read sequentially in fixed-size chunks that always end on a record
+ * boundary, found with the same rules the parser uses, so a stray quote cannot
+ * swallow the rest of the file into one record. Each chunk is parsed by a worker
+ * thread with its own {@link CsvRecordParser}, and the resulting {@link Card} objects are handed to
+ * the caller in batches, in file order. Only a bounded number of chunks are in
+ * flight at once, so memory use does not grow with the size of the file.
+ * </p>
+ *
+ * <p>
+ * Rows that cannot be parsed, including rows whose mana cost is not a valid
+ * {@link ManaCost}, are recorded as {@link RowError}s and skipped; the import
+ * always continues to the end of the file.
+ * </p>
+ *
+ * <p><b>Expected columns:</b></p>
+ * <pre>
+ * Name,ManaCost,Type,Rarity,SetName,CollectorNumber,MarketValue,IsFoil
+ * </pre>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * List&lt;Card&gt; cards = new ArrayList&lt;&gt;();
+ * CsvCardImporter.Result result = new CsvCardImporter().importFile(Path.of("src/cards.csv"), cards::addAll);
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CsvCardImporter {
+
+    /** Column names in file order, used in error messages. */
+    private static final String[] COLUMNS = {
+            "Name", "ManaCost", "Type", "Rarity", "SetName", "CollectorNumber", "MarketValue", "IsFoil"
+    };
+
+    /** Number of worker threads parsing chunks. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /** Size of each chunk read from the file, in bytes. */
+    private int chunkSize = 1 << 20;
+
+    /** Maximum number of cards in one batch handed to the consumer. */
+    private int batchSize = 1000;
+
+    /** Maximum number of row errors kept in the result (all errors are still counted). */
+    private int maxRecordedErrors = 1000;
+
+    /** Whether the first record is a header row. */
+    private boolean skipHeader = true;
+
+    /** Notified after each chunk is read, or {@code null}. */
+    private ProgressListener progressListener;
+
+    /** @param threads number of worker threads (at least 1) */
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+
+    /** @param chunkSize bytes read per chunk (at least 4 KB) */
+    public void setChunkSize(int chunkSize) { this.chunkSize = Math.max(4096, chunkSize); }
+
+    /** @param batchSize maximum number of cards per batch (at least 1) */
+    public void setBatchSize(int batchSize) { this.batchSize = Math.max(1, batchSize); }
+
+    /** @param maxRecordedErrors maximum number of row errors kept in the result */
+    public void setMaxRecordedErrors(int maxRecordedErrors) { this.maxRecordedErrors = maxRecordedErrors; }
+
+    /** @param skipHeader whether the first record should be skipped as a header */
+    public void setSkipHeader(boolean skipHeader) { this.skipHeader = skipHeader; }
+
+    /** @param progressListener notified with the bytes read so far after each chunk, or {@code null} */
+    public void setProgressListener(ProgressListener progressListener) { this.progressListener = progressListener; }
+
+    /**
+     * Receives read progress from {@link #importFile(Path, Consumer)} on the reading thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param bytesRead  bytes of the file read so far
+         * @param totalBytes the size of the file
+         */
+        void onProgress(long bytesRead, long totalBytes);
+    }
+
+    /**
+     * Imports a card file, passing parsed cards to {@code consumer} in batches.
+     * <p>
+     * Batches are delivered in file order and never concurrently, so the consumer
+     * does not need to be thread-safe. Each batch list belongs to the consumer.
+     * Interrupting the calling thread stops the import with an {@link IOException}.
+     * </p>
+     *
+     * @param file     the CSV file to read
+     * @param consumer receives each batch of parsed cards
+     * @return counts and errors for the import
+     * @throws IOException if the file cannot be read
+     */
+    public Result importFile(Path file, Consumer<List<Card>> consumer) throws IOException {
+        long startNanos = System.nanoTime();
+        Run run = new Run(consumer);
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "mtg-csv-import");
+            t.setDaemon(true);
+            return t;
+        });
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            readChunks(channel, run, workers);
+            run.awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return new Result(run.rowCount.get(), run.cardCount.get(), run.errorCount.get(),
+                List.copyOf(run.errors), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Reads the file chunk by chunk on the calling thread and submits each
+     * chunk to the workers. Blocks when too many chunks are in flight.
+     */
+    private void readChunks(FileChannel channel, Run run, ExecutorService workers)
+            throws IOException, InterruptedException {
+        byte[] carry = new byte[0];
+        int carryLength = 0;
+        long nextLine = 1;
+        long sequence = 0;
+        boolean firstChunk = true;
+        boolean eof = false;
+        long totalBytes = channel.size();
+
+        while (!eof) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+            run.checkFailure();
+            byte[] buffer = run.takeBuffer(Math.max(chunkSize, carryLength * 2));
+            System.arraycopy(carry, 0, buffer, 0, carryLength);
+            int filled = carryLength;
+
+            // Fill the buffer; grow it if a single record does not fit.
+            int boundary;
+            while (true) {
+                ByteBuffer target = ByteBuffer.wrap(buffer, filled, buffer.length - filled);
+                while (target.hasRemaining()) {
+                    if (channel.read(target) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                filled = target.position();
+                boundary = eof ? filled : lastRecordBoundary(buffer, filled);
+                if (boundary > 0 || eof) break;
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int from = 0;
+            if (firstChunk) {
+                firstChunk = false;
+                if (filled >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF) {
+                    from = 3;
+                }
+                if (skipHeader) {
+                    int headerEnd = firstRecordBoundary(buffer, from, boundary);
+                    nextLine += countLines(buffer, from, headerEnd);
+                    from = headerEnd;
+                }
+            }
+
+            carryLength = filled - boundary;
+            if (carry.length < carryLength) carry = new byte[Math.max(carryLength, carry.length * 2)];
+            System.arraycopy(buffer, boundary, carry, 0, carryLength);
+
+            Chunk chunk = new Chunk(sequence++, buffer, from, boundary, nextLine);
+            nextLine += countLines(buffer, from, boundary);
+            run.submit(workers, chunk);
+            if (progressListener != null) progressListener.onProgress(channel.position(), totalBytes);
+        }
+        run.finishSubmitting(sequence);
+    }
+
+    /** Returns the offset just past the last complete record in the buffer, or 0. */
+    private static int lastRecordBoundary(byte[] buffer, int limit) {
+        int boundary = 0;
+        int end;
+        while ((end = CsvRecordParser.recordEnd(buffer, boundary, limit, false)) > 0) {
+            boundary = end;
+        }
+        return boundary;
+    }
+
+    /** Returns the offset just past the first record, or {@code limit}. */
+    private static int firstRecordBoundary(byte[] buffer, int from, int limit) {
+        return CsvRecordParser.recordEnd(buffer, from, limit, true);
+    }
+
+    private static int countLines(byte[] buffer, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Parses every record in a chunk. Rows with errors are reported to the run
+     * and skipped.
+     */
+    private List<Card> parseChunk(Chunk chunk, CsvRecordParser parser, Run run) {
+        List<Card> cards = new ArrayList<>();
+        byte[] data = chunk.data;
+        int pos = chunk.from;
+        long line = chunk.firstLine;
+
+        while (pos < chunk.to) {
+            long recordLine = line;
+            pos = parser.parseRecord(data, pos, chunk.to);
+            line += parser.linesConsumed();
+            if (parser.isUnterminated()) {
+                run.rowCount.incrementAndGet();
+                run.reportError(new RowError(recordLine, null,
+                        "Unterminated quoted field; skipped to the next line"));
+                continue;
+            }
+            if (parser.isBlank()) continue;
+
+            run.rowCount.incrementAndGet();
+            if (parser.fieldCount() < COLUMNS.length) {
+                run.reportError(new RowError(recordLine, null,
+                        "Expected " + COLUMNS.length + " fields but found " + parser.fieldCount()));
+                continue;
+            }
+
+            int column = 0;
+            try {
+                String name = parser.getString(column = 0);
+                ManaCost manaCost = ManaCost.parse(parser.getString(column = 1));
+                String type = parser.getString(column = 2);
+                String rarity = parser.getString(column = 3);
+                String setName = parser.getString(column = 4);
+                int collectorNumber = parser.getInt(column = 5);
+                double marketValue = parser.getDouble(column = 6);
+                boolean foil = parser.getBoolean(column = 7);
+                cards.add(new Card(name, manaCost.toString(), type, rarity, setName, collectorNumber, marketValue, foil));
+            } catch (IllegalArgumentException e) {
+                // Also covers NumberFormatException from the numeric columns.
+                run.reportError(new RowError(recordLine, COLUMNS[column], e.getMessage()));
+            }
+        }
+        return cards;
+    }
+
+    // ------------------ IMPORT STATE ------------------
+
+    /** A region of the file holding whole records. */
+    private static final class Chunk {
+        final long sequence;
+        final byte[] data;
+        final int from;
+        final int to;
+        final long firstLine;
+
+        Chunk(long sequence, byte[] data, int from, int to, long firstLine) {
+            this.sequence = sequence;
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.firstLine = firstLine;
+        }
+    }
+
+    /**
+     * Shared state for one call to {@link #importFile(Path, Consumer)}: the
+     * buffer pool, in-flight limit, ordered delivery and counters.
+     */
+    private final class Run {
+        final Consumer<List<Card>> consumer;
+        final Semaphore inFlight = new Semaphore(threads * 2);
+        final BlockingQueue<byte[]> freeBuffers = new LinkedBlockingQueue<>();
+        final ThreadLocal<CsvRecordParser> parsers = ThreadLocal.withInitial(CsvRecordParser::new);
+
+        /** Parsed chunks waiting for earlier chunks to be delivered. Guarded by {@code this}. */
+        final Map<Long, List<Card>> pending = new HashMap<>();
+        long nextToDeliver;
+        long totalChunks = -1;
+
+        final AtomicLong rowCount = new AtomicLong();
+        final AtomicLong cardCount = new AtomicLong();
+        final AtomicLong errorCount = new AtomicLong();
+        final Queue<RowError> errors = new ConcurrentLinkedQueue<>();
+        volatile Throwable failure;
+
+        Run(Consumer<List<Card>> consumer) {
+            this.consumer = consumer;
+        }
+
+        byte[] takeBuffer(int minSize) throws InterruptedException {
+            inFlight.acquire();
+            byte[] buffer = freeBuffers.poll();
+            return buffer != null && buffer.length >= minSize ? buffer : new byte[minSize];
+        }
+
+        void submit(ExecutorService workers, Chunk chunk) {
+            workers.execute(() -> {
+                try {
+                    List<Card> cards = parseChunk(chunk, parsers.get(), this);
+                    freeBuffers.offer(chunk.data);
+                    deliver(chunk.sequence, cards);
+                } catch (Throwable t) {
+                    fail(t);
+                }
+            });
+        }
+
+        /** Delivers chunks to the consumer strictly in sequence order. */
+        synchronized void deliver(long sequence, List<Card> cards) {
+            pending.put(sequence, cards);
+            while (failure == null && pending.containsKey(nextToDeliver)) {
+                List<Card> ready = pending.remove(nextToDeliver);
+                for (int i = 0; i < ready.size(); i += batchSize) {
+                    List<Card> batch = new ArrayList<>(ready.subList(i, Math.min(ready.size(), i + batchSize)));
+                    consumer.accept(batch);
+                    cardCount.addAndGet(batch.size());
+                }
+                nextToDeliver++;
+                inFlight.release();
+            }
+            notifyAll();
+        }
+
+        void reportError(RowError error) {
+            if (errorCount.incrementAndGet() <= maxRecordedErrors) {
+                errors.add(error);
+            }
+        }
+
+        synchronized void fail(Throwable t) {
+            if (failure == null) failure = t;
+            inFlight.release(threads * 2);
+            notifyAll();
+        }
+
+        void checkFailure() throws IOException {
+            Throwable t = failure;
+            if (t == null) return;
+            if (t instanceof RuntimeException re) throw re;
+            if (t instanceof Error err) throw err;
+            throw new IOException("Import failed", t);
+        }
+
+        synchronized void finishSubmitting(long chunks) {
+            totalChunks = chunks;
+        }
+
+        synchronized void awaitCompletion() throws InterruptedException, IOException {
+            while (failure == null && nextToDeliver < totalChunks) {
+                wait();
+            }
+            checkFailure();
+        }
+    }
+
+    // ------------------ RESULTS ------------------
+
+    /**
+     * A row that could not be imported.
+     */
+    public static final class RowError {
+        private final long line;
+        private final String column;
+        private final String message;
+
+        /**
+         * @param line    the line number where the row starts (1-based)
+         * @param column  the column that failed, or {@code null} for row-level errors
+         * @param message a description of the problem
+         */
+        public RowError(long line, String column, String message) {
+            this.line = line;
+            this.column = column;
+            this.message = message;
+        }
+
+        /** @return the line number where the row starts */
+        public long getLine() { return line; }
+
+        /** @return the failing column name, or {@code null} for row-level errors */
+        public String getColumn() { return column; }
+
+        /** @return the error description */
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return column == null
+                    ? String.format("Line %d: %s", line, message)
+                    : String.format("Line %d, %s: %s", line, column, message);
+        }
+    }
+
+    /**
+     * Summary of a completed import.
+     */
+    public static final class Result {
+        private final long rowCount;
+        private final long cardCount;
+        private final long errorCount;
+        private final List<RowError> errors;
+        private final long elapsedMillis;
+
+        Result(long rowCount, long cardCount, long errorCount, List<RowError> errors, long elapsedMillis) {
+            this.rowCount = rowCount;
+            this.cardCount = cardCount;
+            this.errorCount = errorCount;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** @return number of non-blank data rows read */
+        public long getRowCount() { return rowCount; }
+
+        /** @return number of cards delivered to the consumer */
+        public long getCardCount() { return cardCount; }
+
+        /** @return total number of rows that failed */
+        public long getErrorCount() { return errorCount; }
+
+        /** @return the recorded row errors (at most the configured maximum) */
+        public List<RowError> getErrors() { return errors; }
+
+        /** @return wall-clock time of the import in milliseconds */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %d of %d rows (%d errors) in %d ms",
+                    cardCount, rowCount, errorCount, elapsedMillis);
+        }
+    }
+}
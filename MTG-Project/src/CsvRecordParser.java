@@ -0,0 +1,370 @@
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable byte-level parser for comma-separated records (RFC 4180).
+ * <p>
+ * The parser works directly on UTF-8 bytes. Each call to
+ * {@link #parseRecord(byte[], int, int)} reads one record into internal buffers
+ * that are reused for the next record, so parsing itself does not allocate.
+ * Strings are only created when a text field is requested, and repeated values
+ * (types, rarities, set names, mana costs) are served from a small cache so
+ * millions of rows share the same {@link String} instances.
+ * </p>
+ *
+ * <p><b>Quoting rules:</b></p>
+ * <ul>
+ *     <li>Double quotes toggle quoted mode; commas and line breaks inside quotes are data</li>
+ *     <li>Two double quotes inside a quoted section produce one literal quote</li>
+ *     <li>Records end at LF or CRLF outside quotes</li>
+ *     <li>A quoted section still open at a line break more than
+ *         {@value #MAX_RECORD_BYTES} bytes into the record is taken to be a stray
+ *         quote: the record is cut at the end of its first line, reported as
+ *         unterminated, and the next record starts on the following line</li>
+ *     <li>Field getters trim surrounding whitespace, like the original GUI loader</li>
+ * </ul>
+ *
+ * <p>A parser instance is not thread-safe; use one per worker thread.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class CsvRecordParser {
+
+    /** Longest record, in bytes, that may continue a quoted field past a line break. */
+    public static final int MAX_RECORD_BYTES = 1 << 16;
+
+    /** Number of slots in the string cache (must be a power of two). */
+    private static final int CACHE_SIZE = 1024;
+
+    /** Unescaped bytes of every field in the current record, stored back to back. */
+    private byte[] data = new byte[256];
+
+    /** Start offset of each field within {@link #data}. */
+    private int[] starts = new int[16];
+
+    /** End offset (exclusive) of each field within {@link #data}. */
+    private int[] ends = new int[16];
+
+    /** Number of fields in the current record. */
+    private int fieldCount;
+
+    /** Line breaks consumed by the last record, including ones inside quotes. */
+    private int linesConsumed;
+
+    /** True if the last record was cut short because of an unterminated quote. */
+    private boolean unterminated;
+
+    /** Cached strings, indexed by a hash of their bytes. */
+    private final String[] cachedStrings = new String[CACHE_SIZE];
+
+    /** The UTF-8 bytes of each cached string. */
+    private final byte[][] cachedBytes = new byte[CACHE_SIZE][];
+
+    /**
+     * Parses one record starting at {@code pos}.
+     *
+     * @param input the raw bytes
+     * @param pos   the offset where the record starts
+     * @param limit the end of the readable region (exclusive)
+     * @return the offset just past the record and its line terminator
+     */
+    public int parseRecord(byte[] input, int pos, int limit) {
+        fieldCount = 0;
+        linesConsumed = 0;
+        unterminated = false;
+        int start = pos;
+        int firstBreak = -1;
+        int length = 0;
+        int fieldStart = 0;
+        boolean inQuotes = false;
+
+        while (pos < limit) {
+            byte b = input[pos++];
+            if (b == '"') {
+                if (inQuotes && pos < limit && input[pos] == '"') {
+                    length = append(length, (byte) '"');
+                    pos++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (inQuotes) {
+                if (b == '\n') {
+                    if (firstBreak < 0) firstBreak = pos - 1;
+                    if (pos - 1 - start >= MAX_RECORD_BYTES) return cutAtFirstLine(firstBreak);
+                    linesConsumed++;
+                }
+                length = append(length, b);
+            } else if (b == ',') {
+                endField(fieldStart, length);
+                fieldStart = length;
+            } else if (b == '\n') {
+                linesConsumed++;
+                break;
+            } else if (b == '\r' && pos < limit && input[pos] == '\n') {
+                // CR of a CRLF terminator; the LF ends the record next iteration.
+            } else {
+                length = append(length, b);
+            }
+        }
+        if (inQuotes && firstBreak >= 0) return cutAtFirstLine(firstBreak);
+        endField(fieldStart, length);
+        return pos;
+    }
+
+    /**
+     * Returns the offset just past the record starting at {@code pos}, using
+     * the same rules as {@link #parseRecord(byte[], int, int)} but without
+     * parsing fields.
+     *
+     * @param input the raw bytes
+     * @param pos   the offset where the record starts
+     * @param limit the end of the bytes read so far (exclusive)
+     * @param atEof true if no bytes follow {@code limit}
+     * @return the offset just past the record, or -1 if more bytes are needed to find its end
+     */
+    public static int recordEnd(byte[] input, int pos, int limit, boolean atEof) {
+        int firstBreak = -1;
+        boolean inQuotes = false;
+        for (int i = pos; i < limit; i++) {
+            byte b = input[i];
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n') {
+                if (!inQuotes) return i + 1;
+                if (firstBreak < 0) firstBreak = i;
+                if (i - pos >= MAX_RECORD_BYTES) return firstBreak + 1;
+            }
+        }
+        if (!atEof) return -1;
+        return inQuotes && firstBreak >= 0 ? firstBreak + 1 : limit;
+    }
+
+    /** Ends the current record as unterminated after its first line. */
+    private int cutAtFirstLine(int firstBreak) {
+        fieldCount = 0;
+        linesConsumed = 1;
+        unterminated = true;
+        return firstBreak + 1;
+    }
+
+    /**
+     * Returns whether the last record had a quote that was never closed. Such a
+     * record has no fields and covers only its first line.
+     *
+     * @return {@code true} if the record was cut short
+     */
+    public boolean isUnterminated() { return unterminated; }
+
+    /** @return number of fields in the current record */
+    public int fieldCount() { return fieldCount; }
+
+    /** @return line breaks consumed by the current record */
+    public int linesConsumed() { return linesConsumed; }
+
+    /**
+     * Returns whether the current record contains nothing but whitespace.
+     *
+     * @return {@code true} for a blank line
+     */
+    public boolean isBlank() {
+        return fieldCount == 1 && trimmedStart(0) == trimmedEnd(0);
+    }
+
+    /**
+     * Returns a field as a trimmed string. Values seen recently are returned
+     * from the cache instead of being decoded again.
+     *
+     * @param index the zero-based field index
+     * @return the field text
+     */
+    public String getString(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        int len = end - start;
+        if (len == 0) return "";
+
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + data[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+
+        byte[] cached = cachedBytes[slot];
+        if (cached != null && cached.length == len && regionEquals(cached, start)) {
+            return cachedStrings[slot];
+        }
+        String value = new String(data, start, len, StandardCharsets.UTF_8);
+        byte[] key = new byte[len];
+        System.arraycopy(data, start, key, 0, len);
+        cachedBytes[slot] = key;
+        cachedStrings[slot] = value;
+        return value;
+    }
+
+    /**
+     * Parses a field as a decimal integer without creating a string.
+     *
+     * @param index the zero-based field index
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    public int getInt(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (data[i] == '-' || data[i] == '+')) {
+            negative = data[i] == '-';
+            i++;
+        }
+        if (i == end) throw invalidNumber(index);
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) throw invalidNumber(index);
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) throw invalidNumber(index);
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw invalidNumber(index);
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a double. Plain decimals such as {@code 12.50} are
+     * parsed directly from the bytes; other notations fall back to
+     * {@link Double#parseDouble(String)}.
+     *
+     * @param index the zero-based field index
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid number
+     */
+    public double getDouble(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (data[i] == '-' || data[i] == '+')) {
+            negative = data[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            byte b = data[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (seenPoint) fractionDigits++;
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+
+        // Both the mantissa and the power of ten are exact doubles here, so one
+        // division gives the correctly rounded result.
+        if (i == end && digits > 0 && digits <= 15 && fractionDigits <= 22) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(data, start, end - start, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            throw invalidNumber(index);
+        }
+    }
+
+    /**
+     * Parses a field as a boolean using the same rule as
+     * {@link Boolean#parseBoolean(String)}: only "true" (any case) is true.
+     *
+     * @param index the zero-based field index
+     * @return the parsed value
+     */
+    public boolean getBoolean(int index) {
+        int start = trimmedStart(index);
+        if (trimmedEnd(index) - start != 4) return false;
+        return (data[start] | 0x20) == 't' && (data[start + 1] | 0x20) == 'r'
+                && (data[start + 2] | 0x20) == 'u' && (data[start + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * Returns a field as an untrimmed, uncached string, for error messages.
+     *
+     * @param index the zero-based field index
+     * @return the raw field text
+     */
+    public String getRaw(int index) {
+        return new String(data, starts[index], ends[index] - starts[index], StandardCharsets.UTF_8);
+    }
+
+    // ------------------ INTERNAL HELPERS ------------------
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private int append(int length, byte b) {
+        if (length == data.length) {
+            byte[] grown = new byte[data.length * 2];
+            System.arraycopy(data, 0, grown, 0, length);
+            data = grown;
+        }
+        data[length] = b;
+        return length + 1;
+    }
+
+    private void endField(int start, int end) {
+        if (fieldCount == starts.length) {
+            int[] grownStarts = new int[starts.length * 2];
+            int[] grownEnds = new int[ends.length * 2];
+            System.arraycopy(starts, 0, grownStarts, 0, fieldCount);
+            System.arraycopy(ends, 0, grownEnds, 0, fieldCount);
+            starts = grownStarts;
+            ends = grownEnds;
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private int trimmedStart(int index) {
+        int start = starts[index];
+        int end = ends[index];
+        while (start < end && isWhitespace(data[start])) start++;
+        return start;
+    }
+
+    private int trimmedEnd(int index) {
+        int start = starts[index];
+        int end = ends[index];
+        while (end > start && isWhitespace(data[end - 1])) end--;
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private boolean regionEquals(byte[] key, int start) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != data[start + i]) return false;
+        }
+        return true;
+    }
+
+    private NumberFormatException invalidNumber(int index) {
+        return new NumberFormatException("not a number: \"" + getRaw(index).trim() + "\"");
+    }
+}
@@ -1,3 +1,5 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -14,10 +16,12 @@ import java.util.*;
 public class DMSforMTG {
     /** Scanner object for user input */
     private Scanner scanner = new Scanner(System.in);
-    /** DAO for performing database operations on Card objects */
-    private CardDAO cardDAO = new CardDAO();
+    /** DAO for performing database operations on Card objects, with reads cached in memory */
+    private CardDAO cardDAO = new CachingCardDAO();
     /** DAO for performing database operations on Deck objects */
     private DeckDAO deckDAO = new DeckDAO();
+    /** Checks decks against Commander and Standard rules */
+    private DeckLegalityValidator legalityValidator = new DeckLegalityValidator();
 
     /**
      * The main entry point for the MTG Deck Management System.
@@ -41,7 +45,9 @@ public class DMSforMTG {
             System.out.println("3. Update Card");
             System.out.println("4. Remove Card");
             System.out.println("5. Build Deck");
-            System.out.println("6. Exit");
+            System.out.println("6. Import Cards File");
+            System.out.println("7. Search Cards");
+            System.out.println("8. Exit");
             System.out.print("Select an option: ");
 
             String input = scanner.nextLine();
@@ -52,11 +58,14 @@ public class DMSforMTG {
                 case "3" -> updateCard();
                 case "4" -> removeCard();
                 case "5" -> buildDeck();
-                case "6" -> {
+                case "6" -> importCards();
+                case "7" -> searchCards();
+                case "8" -> {
                     System.out.println("Exiting program. Goodbye!");
+                    DatabaseConnection.closeConnection();
                     return;
                 }
-                default -> System.out.println("Invalid option. Please choose between 1 and 6.");
+                default -> System.out.println("Invalid option. Please choose between 1 and 8.");
             }
         }
     }
@@ -157,19 +166,67 @@ public class DMSforMTG {
 
     /**
      * Displays all cards currently in the database.
+     * Cards are streamed from the database and printed one at a time.
      */
     private void viewCollection() {
-        List<Card> cards = cardDAO.getAllCards();
-        if (cards.isEmpty()) {
+        System.out.println("\n--- Your Collection ---");
+        int count = cardDAO.forEachCard(System.out::println);
+        if (count == 0) {
             System.out.println("No cards found in the database.");
-        } else {
-            System.out.println("\n--- Your Collection ---");
-            for (Card card : cards) {
-                System.out.println(card);
-            }
         }
     }
 
+    /**
+     * Searches the collection by type, rarity, set, foil, value range and name prefix.
+     * Filtering, sorting and the result limit are applied by the database
+     * through {@link CardDAO#findCards(CardCriteria)}. Blank answers skip a condition.
+     */
+    private void searchCards() {
+        CardCriteria criteria = new CardCriteria();
+        try {
+            String type = ask("Type");
+            if (!type.isEmpty()) criteria.type(type);
+            String rarity = ask("Rarity");
+            if (!rarity.isEmpty()) criteria.rarity(rarity);
+            String setName = ask("Set name");
+            if (!setName.isEmpty()) criteria.setName(setName);
+            String foil = ask("Foil (y/n)");
+            if (!foil.isEmpty()) criteria.foil(foil.equalsIgnoreCase("y"));
+            String minValue = ask("Minimum value ($)");
+            if (!minValue.isEmpty()) criteria.minValue(Double.parseDouble(minValue));
+            String maxValue = ask("Maximum value ($)");
+            if (!maxValue.isEmpty()) criteria.maxValue(Double.parseDouble(maxValue));
+            String prefix = ask("Name starts with");
+            if (!prefix.isEmpty()) criteria.namePrefix(prefix);
+
+            System.out.println("Sort by: 1. None  2. Name  3. Value (low to high)  4. Value (high to low)  5. Collector number");
+            String sort = ask("Enter choice (1-5)");
+            CardCriteria.SortOrder[] orders = CardCriteria.SortOrder.values();
+            if (!sort.isEmpty()) criteria.sortBy(orders[Math.max(1, Math.min(orders.length, Integer.parseInt(sort))) - 1]);
+            String limit = ask("Maximum results");
+            if (!limit.isEmpty()) criteria.limit(Integer.parseInt(limit));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid number. Search cancelled.");
+            return;
+        }
+
+        List<Card> cards = cardDAO.findCards(criteria);
+        System.out.println("\n--- Search Results ---");
+        cards.forEach(System.out::println);
+        System.out.println(cards.size() + " of " + cardDAO.countCards(criteria) + " matching cards shown.");
+    }
+
+    /**
+     * Prompts for an optional value.
+     *
+     * @param label The prompt label
+     * @return The trimmed answer, empty if skipped
+     */
+    private String ask(String label) {
+        System.out.print(label + " (blank for any): ");
+        return scanner.nextLine().trim();
+    }
+
     /**
      * Updates the market value of a specified card.
      * Prompts the user for the card name and new value.
@@ -193,6 +250,38 @@ public class DMSforMTG {
         cardDAO.deleteCard(name);
     }
 
+    /**
+     * Imports cards from a CSV file into the database.
+     * Rows are parsed by {@link CsvCardImporter} and inserted in batches with
+     * {@link CardDAO#addCards(Collection)}; invalid rows are skipped.
+     */
+    private void importCards() {
+        System.out.print("CSV file path (blank for src/cards.csv): ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) path = "src/cards.csv";
+
+        int[] inserted = {0};
+        long[] invalid = {0};
+        try {
+            CsvCardImporter.Result result = new CsvCardImporter().importFile(Path.of(path), batch -> {
+                CardValidator.Report validation = CardValidator.validateAll(batch);
+                List<Card> valid = new ArrayList<>(validation.getValidCount());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (validation.isValid(i)) valid.add(batch.get(i));
+                }
+                invalid[0] += validation.getInvalidCount();
+                inserted[0] += cardDAO.addCards(valid).getInsertedCount();
+            });
+
+            System.out.println(result);
+            result.getErrors().forEach(error -> System.out.println("  " + error));
+            if (invalid[0] > 0) System.out.println(invalid[0] + " cards failed validation and were skipped.");
+            System.out.println(inserted[0] + " cards saved to the database.");
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+    }
+
     /**
      * Builds a deck (Commander or Standard format) and stores it in the database.
      * The deck and its associated cards are saved using {@link DeckDAO}.
@@ -211,28 +300,20 @@ public class DMSforMTG {
 
         Deck deck = new Deck(deckName, format);
         List<Card> allCards = cardDAO.getAllCards();
+        CardIndex index = new CardIndex(allCards);
+        CardSearchIndex searchIndex = new CardSearchIndex(allCards);
 
         // Commander selection
         if (format.equals("Commander")) {
             System.out.println("\nSelect your Commander card:");
-            allCards.forEach(c -> System.out.println("- " + c.getName()));
             System.out.print("Enter commander card name: ");
             String commanderName = scanner.nextLine();
 
-            Optional<Card> commanderOpt = allCards.stream()
-                    .filter(c -> c.getName().equalsIgnoreCase(commanderName))
-                    .findFirst();
+            Optional<Card> commanderOpt = findCard(commanderName, index, searchIndex);
 
             commanderOpt.ifPresent(deck::setCommander);
         }
 
-        // Save deck
-        int deckId = deckDAO.addDeck(deck);
-        if (deckId == -1) {
-            System.out.println("Error: Deck could not be saved.");
-            return;
-        }
-
         // Add cards
         System.out.println("\nAdd cards to your " + format + " deck (type 'done' when finished):");
         while (true) {
@@ -240,23 +321,67 @@ public class DMSforMTG {
             String cardName = scanner.nextLine();
             if (cardName.equalsIgnoreCase("done")) break;
 
-            Optional<Card> found = allCards.stream()
-                    .filter(c -> c.getName().equalsIgnoreCase(cardName))
-                    .findFirst();
+            Optional<Card> found = findCard(cardName, index, searchIndex);
 
             if (found.isPresent()) {
                 System.out.print("Enter quantity: ");
                 int quantity = Integer.parseInt(scanner.nextLine());
-                deckDAO.addCardToDeck(deckId, found.get().getCardId(), quantity);
-            } else {
-                System.out.println("Card not found.");
+                deck.addCard(found.get(), quantity);
             }
         }
 
+        List<DeckLegalityValidator.Violation> violations = legalityValidator.validate(deck);
+        if (!violations.isEmpty()) {
+            System.out.println("\nWarning: this deck is not legal in " + format + ":");
+            violations.forEach(v -> System.out.println(" - " + v));
+        }
+
+        // Save the deck and its cards in one transaction
+        int deckId = deckDAO.saveDeck(deck);
+        if (deckId == -1) {
+            System.out.println("Error: Deck could not be saved.");
+            return;
+        }
+
         System.out.println("\nDeck saved successfully!");
         deckDAO.viewDeck(deckId);
     }
 
+    /**
+     * Looks up a card by exact name. If there is none, offers the closest
+     * matches from the search index, which tolerates partial names and typos.
+     *
+     * @param name        The name the user typed
+     * @param index       Exact-name index of the collection
+     * @param searchIndex Search index of the collection
+     * @return The chosen card, or empty if none was chosen
+     */
+    private Optional<Card> findCard(String name, CardIndex index, CardSearchIndex searchIndex) {
+        Optional<Card> exact = index.findFirstByName(name);
+        if (exact.isPresent()) return exact;
+
+        List<Card> suggestions = searchIndex.search(name, 5);
+        if (suggestions.isEmpty()) {
+            System.out.println("Card not found.");
+            return Optional.empty();
+        }
+
+        System.out.println("Card not found. Did you mean:");
+        for (int i = 0; i < suggestions.size(); i++) {
+            Card c = suggestions.get(i);
+            System.out.println((i + 1) + ". " + c.getName() + " (" + c.getSetName() + ", " + c.getType() + ")");
+        }
+        System.out.print("Enter a number, or press Enter to skip: ");
+        String pick = scanner.nextLine().trim();
+        try {
+            int n = Integer.parseInt(pick);
+            if (n >= 1 && n <= suggestions.size()) return Optional.of(suggestions.get(n - 1));
+        } catch (NumberFormatException ignored) {
+            // Skipped
+        }
+        return Optional.empty();
+    }
+
     /**
      * Allows users to input multiple mana symbols for a card’s mana cost.
      *
@@ -1,8 +1,19 @@
 import javax.swing.*;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.io.File;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Graphical User Interface (GUI) for the Magic: The Gathering Deck Management System.
@@ -17,10 +28,32 @@ import java.util.List;
  *     <li>Load cards from CSV file</li>
  *     <li>CRUD operations on card objects</li>
  *     <li>Build decks (Commander or Standard)</li>
+ *     <li>Sortable, filterable collection table</li>
  *     <li>Scrollable output panel</li>
  *     <li>Dark theme with Nimbus UI</li>
  * </ul>
  *
+ * <p>
+ * File loading runs on a {@link SwingWorker} background thread. Results are
+ * published to the Event Dispatch Thread in small batches with a progress bar
+ * and a Cancel button, so the window stays responsive while large files load.
+ * Editing buttons are disabled while a task runs.
+ * </p>
+ *
+ * <p>
+ * The collection is shown in a {@link JTable} backed by {@link CardTableModel},
+ * which reads cells from the cards only for the rows on screen. Clicking a
+ * column header sorts by it, and the filter field narrows the rows by name,
+ * type or set; both are computed off the Event Dispatch Thread.
+ * </p>
+ *
+ * <p>
+ * Adding, updating and removing cards is recorded in a {@link CardJournal}
+ * next to the card file, so edits survive a restart or reload. Once the
+ * journal grows past {@link CardJournal#COMPACT_THRESHOLD_BYTES}, the
+ * collection is saved to a new {@link CardSnapshot} and the journal emptied.
+ * </p>
+ *
  * @author Emily
  * @version 1.0
  */
@@ -29,9 +62,60 @@ public class DMSforMTG_GUI extends JFrame {
     /** List holding all loaded card objects */
     private List<Card> collection = new ArrayList<>();
 
+    /** Name, printing, type and rarity index over {@link #collection} */
+    private CardIndex index = new CardIndex();
+
+    /** Substring, typo-tolerant and name-prefix search over {@link #collection} */
+    private CardSearchIndex searchIndex = new CardSearchIndex();
+
+    /** Bitmap query engine over a snapshot of {@link #collection}; {@code null} after an edit until rebuilt */
+    private CardQueryEngine queryEngine;
+
+    /** Write-ahead journal of edits to {@link #collection}, or {@code null} before the first load */
+    private CardJournal journal;
+
+    /** The card file {@link #collection} was loaded from */
+    private Path collectionFile;
+
+    /** True while a {@link CompactWorker} is saving the collection */
+    private boolean compacting;
+
     /** Output display panel used to show card lists, results, and system messages */
     private JTextArea outputArea = new JTextArea();
 
+    /** Delay after the last keystroke before the table filter is applied, in milliseconds */
+    private static final int FILTER_DELAY_MS = 150;
+
+    /** Table model and table showing {@link #collection} */
+    private CardTableModel tableModel = new CardTableModel();
+    private JTable cardTable = new JTable(tableModel);
+
+    /** Filter text for the collection table */
+    private JTextField filterField = new JTextField();
+
+    /** Applies the filter once typing pauses */
+    private Timer filterTimer;
+
+    /** Maximum number of card names suggested below the filter field */
+    private static final int MAX_NAME_SUGGESTIONS = 8;
+
+    /** Card names starting with the filter text, from {@link #searchIndex} */
+    private JPopupMenu nameSuggestions = new JPopupMenu();
+
+    /** The running sort/filter computation, or {@code null} */
+    private SwingWorker<int[], Void> tableViewTask;
+
+    /** Status line, progress bar and Cancel button for background tasks */
+    private JLabel statusLabel = new JLabel("Ready");
+    private JProgressBar progressBar = new JProgressBar(0, 100);
+    private JButton cancelBtn = new JButton("Cancel");
+
+    /** Buttons disabled while a background task is running */
+    private List<JButton> actionButtons = new ArrayList<>();
+
+    /** The running background task, or {@code null} */
+    private SwingWorker<?, ?> currentTask;
+
     /**
      * Constructs the MTG GUI window and initializes all UI components,
      * buttons, themes, and event listeners.
@@ -57,6 +141,12 @@ public class DMSforMTG_GUI extends JFrame {
         setTitle("MTG Deck Management System (GUI)");
         setSize(900, 600);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeJournal();
+            }
+        });
         setLayout(new BorderLayout());
 
         // Header label
@@ -73,10 +163,53 @@ public class DMSforMTG_GUI extends JFrame {
         outputArea.setForeground(textColor);
         outputArea.setCaretColor(textColor);
         outputArea.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-        add(new JScrollPane(outputArea), BorderLayout.CENTER);
+
+        // Collection table with a filter field, above the output area
+        cardTable.setAutoCreateRowSorter(false);
+        cardTable.setFillsViewportHeight(true);
+        cardTable.setBackground(bgColor);
+        cardTable.setForeground(textColor);
+        cardTable.getTableHeader().setReorderingAllowed(false);
+        cardTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = cardTable.convertColumnIndexToModel(cardTable.columnAtPoint(e.getPoint()));
+                if (column < 0) return;
+                boolean ascending = column != tableModel.getSortColumn() || !tableModel.isAscending();
+                requestTableView(column, ascending, filterField.getText());
+            }
+        });
+
+        filterTimer = new Timer(FILTER_DELAY_MS, e -> {
+            requestTableView(tableModel.getSortColumn(), tableModel.isAscending(), filterField.getText());
+            showNameSuggestions(filterField.getText());
+        });
+        filterTimer.setRepeats(false);
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { filterTimer.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { filterTimer.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { filterTimer.restart(); }
+        });
+
+        JPanel filterPanel = new JPanel(new BorderLayout(8, 0));
+        filterPanel.setBackground(panelColor);
+        filterPanel.setBorder(BorderFactory.createEmptyBorder(4, 4, 4, 4));
+        JLabel filterLabel = new JLabel("Filter:");
+        filterLabel.setForeground(textColor);
+        filterPanel.add(filterLabel, BorderLayout.WEST);
+        filterPanel.add(filterField, BorderLayout.CENTER);
+        nameSuggestions.setFocusable(false);
+
+        JPanel collectionPanel = new JPanel(new BorderLayout());
+        collectionPanel.add(filterPanel, BorderLayout.NORTH);
+        collectionPanel.add(new JScrollPane(cardTable), BorderLayout.CENTER);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, collectionPanel, new JScrollPane(outputArea));
+        splitPane.setResizeWeight(0.65);
+        add(splitPane, BorderLayout.CENTER);
 
         // Button panel
-        JPanel buttonPanel = new JPanel(new GridLayout(8, 1, 8, 8));
+        JPanel buttonPanel = new JPanel(new GridLayout(9, 1, 8, 8));
         buttonPanel.setBackground(panelColor);
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
@@ -84,6 +217,7 @@ public class DMSforMTG_GUI extends JFrame {
         JButton loadBtn = new JButton("Load Cards File");
         JButton addBtn = new JButton("Add Card");
         JButton viewBtn = new JButton("View Collection");
+        JButton findBtn = new JButton("Find Cards");
         JButton updateBtn = new JButton("Update Card");
         JButton removeBtn = new JButton("Remove Card");
         JButton deckBtn = new JButton("Build Deck");
@@ -94,6 +228,7 @@ public class DMSforMTG_GUI extends JFrame {
         buttonPanel.add(loadBtn);
         buttonPanel.add(addBtn);
         buttonPanel.add(viewBtn);
+        buttonPanel.add(findBtn);
         buttonPanel.add(updateBtn);
         buttonPanel.add(removeBtn);
         buttonPanel.add(deckBtn);
@@ -101,16 +236,38 @@ public class DMSforMTG_GUI extends JFrame {
         buttonPanel.add(exitBtn);
 
         add(buttonPanel, BorderLayout.WEST);
+        actionButtons.addAll(List.of(loadBtn, addBtn, viewBtn, findBtn, updateBtn, removeBtn));
+
+        // Status bar for background tasks
+        JPanel statusPanel = new JPanel(new BorderLayout(8, 0));
+        statusPanel.setBackground(panelColor);
+        statusPanel.setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
+        statusLabel.setForeground(textColor);
+        statusLabel.setPreferredSize(new Dimension(300, 20));
+        progressBar.setStringPainted(true);
+        cancelBtn.setEnabled(false);
+        statusPanel.add(statusLabel, BorderLayout.WEST);
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        statusPanel.add(cancelBtn, BorderLayout.EAST);
+        add(statusPanel, BorderLayout.SOUTH);
 
         // Event listeners
         loadBtn.addActionListener(e -> loadCardsFromFile("src/cards.csv"));
         addBtn.addActionListener(e -> addCard());
         viewBtn.addActionListener(e -> viewCollection());
+        findBtn.addActionListener(e -> findCards());
         updateBtn.addActionListener(e -> updateCard());
         removeBtn.addActionListener(e -> removeCard());
         deckBtn.addActionListener(e -> buildDeck());
         clearBtn.addActionListener(e -> outputArea.setText(""));
-        exitBtn.addActionListener(e -> System.exit(0));
+        cancelBtn.addActionListener(e -> {
+            if (currentTask != null) currentTask.cancel(true);
+        });
+        exitBtn.addActionListener(e -> {
+            if (currentTask != null) currentTask.cancel(true);
+            closeJournal();
+            System.exit(0);
+        });
 
         // Auto-load card file
         loadCardsFromFile("src/cards.csv");
@@ -118,57 +275,16 @@ public class DMSforMTG_GUI extends JFrame {
 
     /**
      * Loads card data from a CSV file and stores them in the local collection.
+     * <p>
+     * Parsing is done by {@link CsvCardImporter} on a background {@link LoadWorker};
+     * rows with errors are skipped and summarized in the output window instead of
+     * stopping the load.
+     * </p>
      *
      * @param filename The path to the CSV file
      */
     private void loadCardsFromFile(String filename) {
-        try (Scanner fileScanner = new Scanner(new File(filename))) {
-
-            fileScanner.nextLine(); // Skip header
-            collection.clear();
-
-            while (fileScanner.hasNextLine()) {
-                String line = fileScanner.nextLine();
-                if (line.trim().isEmpty()) continue;
-
-                // Handle CSV fields (including quoted values)
-                List<String> partsList = new ArrayList<>();
-                boolean inQuotes = false;
-                StringBuilder current = new StringBuilder();
-
-                for (char c : line.toCharArray()) {
-                    if (c == '"') {
-                        inQuotes = !inQuotes;
-                    } else if (c == ',' && !inQuotes) {
-                        partsList.add(current.toString());
-                        current.setLength(0);
-                    } else {
-                        current.append(c);
-                    }
-                }
-                partsList.add(current.toString());
-                String[] parts = partsList.toArray(new String[0]);
-
-                if (parts.length < 8) continue;
-
-                String name = parts[0].replace("\"", "").trim();
-                String manaCost = parts[1].trim();
-                String type = parts[2].trim();
-                String rarity = parts[3].trim();
-                String setName = parts[4].trim();
-                int collectorNumber = Integer.parseInt(parts[5].trim());
-                double marketValue = Double.parseDouble(parts[6].trim());
-                boolean foil = Boolean.parseBoolean(parts[7].trim());
-
-                Card card = new Card(name, manaCost, type, rarity, setName, collectorNumber, marketValue, foil);
-                collection.add(card);
-            }
-
-            outputArea.setText("Loaded " + collection.size() + " cards from " + filename + ".\n");
-
-        } catch (Exception e) {
-            outputArea.setText("Error loading cards: " + e.getMessage() + "\n");
-        }
+        startTask(new LoadWorker(filename), "Loading " + filename + "...");
     }
 
     /**
@@ -191,6 +307,11 @@ public class DMSforMTG_GUI extends JFrame {
 
             Card card = new Card(name, manaCost, type, rarity, setName, collectorNumber, marketValue, foil);
             collection.add(card);
+            index.add(card);
+            searchIndex.add(card);
+            queryEngine = null;
+            refreshTable();
+            if (journal != null) logEdit(journal.logAdd(card));
 
             outputArea.append("Card added:\n" + card + "\n\n");
 
@@ -200,7 +321,7 @@ public class DMSforMTG_GUI extends JFrame {
     }
 
     /**
-     * Displays all cards currently loaded in the system.
+     * Displays all cards currently loaded in the system in the collection table.
      */
     private void viewCollection() {
         if (collection.isEmpty()) {
@@ -208,10 +329,68 @@ public class DMSforMTG_GUI extends JFrame {
             return;
         }
 
-        StringBuilder sb = new StringBuilder("--- Collection (" + collection.size() + " cards) ---\n");
-        for (Card c : collection) sb.append(c).append("\n");
+        filterField.setText("");
+        refreshTable();
+        cardTable.requestFocusInWindow();
+    }
+
+    /**
+     * Finds cards by type, rarity, set, foil flag and value range, and shows
+     * the matches in the collection table.
+     */
+    private void findCards() {
+        JComboBox<String> typeBox = new JComboBox<>(withAny(
+                "Land", "Creature", "Artifact", "Enchantment", "Planeswalker", "Battle", "Instant", "Sorcery"));
+        JComboBox<String> rarityBox = new JComboBox<>(withAny("Common", "Uncommon", "Rare", "Mythic Rare"));
+        JTextField setField = new JTextField();
+        JComboBox<String> foilBox = new JComboBox<>(new String[]{"Any", "Foil", "Non-foil"});
+        JTextField minValueField = new JTextField();
+        JTextField maxValueField = new JTextField();
+        JComboBox<CardCriteria.SortOrder> sortBox = new JComboBox<>(CardCriteria.SortOrder.values());
+
+        JPanel form = new JPanel(new GridLayout(7, 2, 6, 6));
+        form.add(new JLabel("Type:"));
+        form.add(typeBox);
+        form.add(new JLabel("Rarity:"));
+        form.add(rarityBox);
+        form.add(new JLabel("Set name:"));
+        form.add(setField);
+        form.add(new JLabel("Foil:"));
+        form.add(foilBox);
+        form.add(new JLabel("Min value ($):"));
+        form.add(minValueField);
+        form.add(new JLabel("Max value ($):"));
+        form.add(maxValueField);
+        form.add(new JLabel("Sort by:"));
+        form.add(sortBox);
+
+        if (JOptionPane.showConfirmDialog(this, form, "Find Cards",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        CardCriteria criteria = new CardCriteria();
+        try {
+            if (typeBox.getSelectedIndex() > 0) criteria.type((String) typeBox.getSelectedItem());
+            if (rarityBox.getSelectedIndex() > 0) criteria.rarity((String) rarityBox.getSelectedItem());
+            if (!setField.getText().isBlank()) criteria.setName(setField.getText().trim());
+            if (foilBox.getSelectedIndex() > 0) criteria.foil(foilBox.getSelectedIndex() == 1);
+            if (!minValueField.getText().isBlank()) criteria.minValue(Double.parseDouble(minValueField.getText().trim()));
+            if (!maxValueField.getText().isBlank()) criteria.maxValue(Double.parseDouble(maxValueField.getText().trim()));
+            criteria.sortBy((CardCriteria.SortOrder) sortBox.getSelectedItem());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid number format.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        startTask(new FindWorker(criteria), "Searching...");
+    }
 
-        outputArea.setText(sb.toString());
+    private static String[] withAny(String... options) {
+        String[] all = new String[options.length + 1];
+        all[0] = "Any";
+        System.arraycopy(options, 0, all, 1, options.length);
+        return all;
     }
 
     /**
@@ -222,17 +401,20 @@ public class DMSforMTG_GUI extends JFrame {
         String name = JOptionPane.showInputDialog(this, "Enter card name to update:");
         if (name == null || name.isBlank()) return;
 
-        for (Card c : collection) {
-            if (c.getName().equalsIgnoreCase(name)) {
-                try {
-                    double newVal = Double.parseDouble(JOptionPane.showInputDialog(this, "New market value ($):"));
-                    c.setMarketValue(newVal);
-                    outputArea.append("Updated " + name + " to $" + newVal + "\n");
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(this, "Invalid number format.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
-                return;
+        Optional<Card> found = resolveCard(name);
+        if (found.isPresent()) {
+            try {
+                double newVal = Double.parseDouble(JOptionPane.showInputDialog(this, "New market value ($):"));
+                double oldVal = found.get().getMarketValue();
+                found.get().setMarketValue(newVal);
+                queryEngine = null;
+                refreshTable();
+                if (journal != null) logEdit(journal.logMarketValue(found.get(), oldVal));
+                outputArea.append("Updated " + found.get().getName() + " to $" + newVal + "\n");
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(this, "Invalid number format.", "Error", JOptionPane.ERROR_MESSAGE);
             }
+            return;
         }
 
         outputArea.append("Card not found: " + name + "\n");
@@ -245,10 +427,90 @@ public class DMSforMTG_GUI extends JFrame {
         String name = JOptionPane.showInputDialog(this, "Enter card name to remove:");
         if (name == null || name.isBlank()) return;
 
-        boolean removed = collection.removeIf(c -> c.getName().equalsIgnoreCase(name));
+        Optional<Card> found = resolveCard(name);
+        if (found.isEmpty()) {
+            outputArea.append("Card not found.\n");
+            return;
+        }
+        name = found.get().getName();
+
+        Set<Card> removedCards = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedCards.addAll(index.removeByName(name));
+        searchIndex.removeByName(name);
+        boolean removed = !removedCards.isEmpty() && collection.removeIf(removedCards::contains);
+        if (removed) {
+            queryEngine = null;
+            refreshTable();
+            if (journal != null) logEdit(journal.logRemove(name));
+        }
         outputArea.append(removed ? "Removed card: " + name + "\n" : "Card not found.\n");
     }
 
+    /**
+     * Finds the card a user meant by a typed name. An exact name match is used
+     * directly; otherwise the closest matches from {@link #searchIndex} are
+     * offered in a selection dialog, so partial names and typos still work.
+     *
+     * @param name The name the user typed
+     * @return The chosen card, or empty if nothing matched or the user cancelled
+     */
+    private Optional<Card> resolveCard(String name) {
+        Optional<Card> exact = index.findFirstByName(name);
+        if (exact.isPresent()) return exact;
+
+        List<Card> suggestions = searchIndex.search(name, 10);
+        if (suggestions.isEmpty()) return Optional.empty();
+
+        String[] options = new String[suggestions.size()];
+        for (int i = 0; i < options.length; i++) {
+            Card c = suggestions.get(i);
+            options[i] = (i + 1) + ". " + c.getName() + " (" + c.getSetName() + " #" + c.getCollectorNumber() + ")";
+        }
+        String selected = (String) JOptionPane.showInputDialog(this, "No card named \"" + name + "\". Did you mean:",
+                "Select Card", JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (selected == null) return Optional.empty();
+        return Optional.of(suggestions.get(Arrays.asList(options).indexOf(selected)));
+    }
+
+    /**
+     * Reports a journal write that fails, and compacts the journal once it
+     * has grown large enough.
+     *
+     * @param write The pending journal write
+     */
+    private void logEdit(CompletableFuture<Long> write) {
+        write.whenComplete((sequence, error) -> {
+            if (error != null) {
+                SwingUtilities.invokeLater(() ->
+                        outputArea.append("Error writing journal: " + error.getMessage() + "\n"));
+            }
+        });
+        compactIfNeeded();
+    }
+
+    /**
+     * Starts a {@link CompactWorker} if the journal has outgrown
+     * {@link CardJournal#COMPACT_THRESHOLD_BYTES} and none is running.
+     */
+    private void compactIfNeeded() {
+        if (journal == null || compacting || journal.size() < CardJournal.COMPACT_THRESHOLD_BYTES) return;
+        compacting = true;
+        new CompactWorker().execute();
+    }
+
+    /**
+     * Writes any queued journal entries to disk and closes the journal.
+     */
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
     /**
      * Creates a new deck using dialog prompts.
      * This is the GUI version of the "custom feature" required by the assignment.
@@ -314,6 +576,356 @@ public class DMSforMTG_GUI extends JFrame {
                 "Card Rarity", JOptionPane.PLAIN_MESSAGE, null, rarities, "Common");
     }
 
+    // ------------------ BACKGROUND TASKS ------------------
+
+    /**
+     * Starts a background task, disabling the editing buttons until it finishes.
+     *
+     * @param task   The task to run
+     * @param status The status text shown while it runs
+     */
+    private void startTask(SwingWorker<?, ?> task, String status) {
+        if (currentTask != null) currentTask.cancel(true);
+        currentTask = task;
+        setBusy(true, status);
+        task.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                progressBar.setValue((Integer) event.getNewValue());
+            }
+        });
+        task.execute();
+    }
+
+    /**
+     * Marks the current task as finished, if it is still the current one.
+     *
+     * @param task   The task that finished
+     * @param status The status text to show
+     */
+    private void finishTask(SwingWorker<?, ?> task, String status) {
+        if (currentTask != task) return;
+        currentTask = null;
+        setBusy(false, status);
+    }
+
+    private void setBusy(boolean busy, String status) {
+        for (JButton button : actionButtons) button.setEnabled(!busy);
+        cancelBtn.setEnabled(busy);
+        if (busy) progressBar.setValue(0);
+        statusLabel.setText(status);
+    }
+
+    /**
+     * Imports a card file and builds its {@link CardIndex}, {@link CardSearchIndex}
+     * and {@link CardQueryEngine} off the Event Dispatch Thread.
+     * <p>
+     * A {@link CardSnapshot} saved next to the CSV file by an earlier load is
+     * used instead of parsing the CSV file, as long as it is not older than it.
+     * The {@link CardJournal} is then replayed over the cards, skipping the
+     * entries the snapshot already holds.
+     * </p>
+     * <p>
+     * Each batch is published as it is parsed, so the status line counts cards as
+     * they arrive. The collection and indexes are replaced together when the load
+     * completes; a cancelled or failed load leaves the previous collection in place.
+     * </p>
+     */
+    private final class LoadWorker extends SwingWorker<CsvCardImporter.Result, List<Card>> {
+        private final String filename;
+        private final List<Card> loaded = new ArrayList<>();
+        private CardIndex loadedIndex;
+        private CardSearchIndex loadedSearchIndex;
+        private CardQueryEngine loadedQueryEngine;
+        private final CardJournal currentJournal = journal;
+        private CardJournal loadedJournal;
+        private long baseSequence;
+        private int replayed;
+        private long published;
+
+        LoadWorker(String filename) {
+            this.filename = filename;
+        }
+
+        @Override
+        protected CsvCardImporter.Result doInBackground() throws Exception {
+            CsvCardImporter.Result result = loadSnapshot();
+            if (result == null) result = importCsv();
+            Path journalFile = CardJournal.journalPathFor(Path.of(filename)).toAbsolutePath();
+            loadedJournal = currentJournal != null && currentJournal.getFile().equals(journalFile)
+                    ? currentJournal : CardJournal.open(journalFile);
+            replayed = loadedJournal.replay(loaded, baseSequence);
+            if (isCancelled()) closeLoadedJournal();
+            loadedIndex = new CardIndex(loaded);
+            loadedSearchIndex = new CardSearchIndex(loaded);
+            loadedQueryEngine = new CardQueryEngine(loaded);
+            setProgress(100);
+            return result;
+        }
+
+        /**
+         * Loads the cards from the binary snapshot next to the CSV file, if
+         * there is one at least as new as the CSV file.
+         *
+         * @return the load summary, or {@code null} to parse the CSV file instead
+         */
+        private CsvCardImporter.Result loadSnapshot() {
+            Path csv = Path.of(filename);
+            Path snapshotFile = CardSnapshot.snapshotPathFor(csv);
+            long start = System.nanoTime();
+            try {
+                if (!Files.exists(snapshotFile)
+                        || Files.getLastModifiedTime(snapshotFile).compareTo(Files.getLastModifiedTime(csv)) < 0) {
+                    return null;
+                }
+                try (CardSnapshot snapshot = CardSnapshot.read(snapshotFile)) {
+                    loaded.addAll(snapshot.toCards());
+                    baseSequence = snapshot.getJournalSequence();
+                }
+            } catch (IOException e) {
+                System.out.println("Error reading snapshot: " + e.getMessage());
+                loaded.clear();
+                return null;
+            }
+            publish(List.copyOf(loaded));
+            return new CsvCardImporter.Result(loaded.size(), loaded.size(), 0, List.of(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        /**
+         * Parses the CSV file, then writes a snapshot of it so the next start
+         * can skip parsing. A snapshot that cannot be written is only reported.
+         */
+        private CsvCardImporter.Result importCsv() throws IOException {
+            CsvCardImporter importer = new CsvCardImporter();
+            importer.setProgressListener((read, total) ->
+                    setProgress((int) Math.min(99, read * 100 / Math.max(1, total))));
+            CsvCardImporter.Result result = importer.importFile(Path.of(filename), batch -> {
+                loaded.addAll(batch);
+                publish(batch);
+            });
+            try {
+                CardSnapshot.write(CardSnapshot.snapshotPathFor(Path.of(filename)), loaded);
+            } catch (IOException e) {
+                System.out.println("Error writing snapshot: " + e.getMessage());
+            }
+            return result;
+        }
+
+        @Override
+        protected void process(List<List<Card>> batches) {
+            for (List<Card> batch : batches) published += batch.size();
+            statusLabel.setText("Loading " + filename + "... " + published + " cards");
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                closeLoadedJournal();
+                outputArea.append("Loading " + filename + " was cancelled.\n");
+                finishTask(this, "Load cancelled");
+                return;
+            }
+            try {
+                CsvCardImporter.Result result = get();
+                collection = loaded;
+                index = loadedIndex;
+                searchIndex = loadedSearchIndex;
+                queryEngine = loadedQueryEngine;
+                if (journal != loadedJournal) closeJournal();
+                journal = loadedJournal;
+                collectionFile = Path.of(filename);
+
+                StringBuilder sb = new StringBuilder("Loaded " + collection.size() + " cards from " + filename + ".\n");
+                if (replayed > 0) sb.append("Replayed ").append(replayed).append(" edits from the journal.\n");
+                if (result.getErrorCount() > 0) {
+                    sb.append("Skipped ").append(result.getErrorCount()).append(" invalid rows:\n");
+                    result.getErrors().stream().limit(10)
+                            .forEach(error -> sb.append("  ").append(error).append("\n"));
+                }
+                outputArea.setText(sb.toString());
+                refreshTable();
+                finishTask(this, "Loaded " + collection.size() + " cards in " + result.getElapsedMillis() + " ms");
+                compactIfNeeded();
+            } catch (InterruptedException | ExecutionException e) {
+                closeLoadedJournal();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                outputArea.setText("Error loading cards: " + cause.getMessage() + "\n");
+                finishTask(this, "Load failed");
+            }
+        }
+
+        /** Closes a journal this load opened but will not use. */
+        private void closeLoadedJournal() {
+            if (loadedJournal == null || loadedJournal == currentJournal) return;
+            try {
+                loadedJournal.close();
+            } catch (IOException e) {
+                System.out.println("Error closing journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Folds the journal into a new {@link CardSnapshot} off the Event Dispatch
+     * Thread, then drops the journal entries the snapshot now holds.
+     * <p>
+     * The Event Dispatch Thread only copies the list of cards, their market
+     * values and the sequence number of the last journal entry they include,
+     * so edits made while the snapshot is written stay in the journal. The
+     * market value is the only field an edit changes in place; the other
+     * fields are read from the cards in the background.
+     * </p>
+     */
+    private final class CompactWorker extends SwingWorker<Integer, Void> {
+        private final CardJournal compacted = journal;
+        private final Path snapshotFile = CardSnapshot.snapshotPathFor(collectionFile);
+        private final long sequence = journal.getLastSequence();
+        private final List<Card> cards = List.copyOf(collection);
+        private final double[] marketValues = new double[cards.size()];
+
+        CompactWorker() {
+            for (int i = 0; i < marketValues.length; i++) marketValues[i] = cards.get(i).getMarketValue();
+        }
+
+        @Override
+        protected Integer doInBackground() throws Exception {
+            int count;
+            try (CardSnapshot.Writer writer = new CardSnapshot.Writer(snapshotFile)) {
+                writer.setJournalSequence(sequence);
+                for (int i = 0; i < marketValues.length; i++) writer.add(cards.get(i), marketValues[i]);
+                count = writer.commit();
+            }
+            compacted.compact(sequence);
+            return count;
+        }
+
+        @Override
+        protected void done() {
+            compacting = false;
+            try {
+                int count = get();
+                if (currentTask == null) statusLabel.setText("Saved " + count + " cards to " + snapshotFile.getFileName());
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                outputArea.append("Error compacting journal: " + cause.getMessage() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Runs a {@link CardCriteria} query off the Event Dispatch Thread, first
+     * rebuilding the {@link CardQueryEngine} if the collection changed.
+     */
+    private final class FindWorker extends SwingWorker<List<Card>, Void> {
+        private final CardCriteria criteria;
+        private final List<Card> snapshot = new ArrayList<>(collection);
+        private CardQueryEngine engine = queryEngine;
+        private long elapsedMicros;
+
+        FindWorker(CardCriteria criteria) {
+            this.criteria = criteria;
+        }
+
+        @Override
+        protected List<Card> doInBackground() {
+            if (engine == null) engine = new CardQueryEngine(snapshot);
+            long start = System.nanoTime();
+            List<Card> matches = engine.find(criteria);
+            elapsedMicros = (System.nanoTime() - start) / 1000;
+            return matches;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                finishTask(this, "Search cancelled");
+                return;
+            }
+            try {
+                List<Card> matches = get();
+                // Editing buttons are disabled while the task runs, so the engine is still current.
+                queryEngine = engine;
+                tableModel.setCards(matches);
+                outputArea.append("Found " + matches.size() + " cards matching " + criteria
+                        + ". Click View Collection to show all cards.\n");
+                finishTask(this, "Found " + matches.size() + " of " + engine.size() + " cards in "
+                        + elapsedMicros + " \u00b5s");
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                outputArea.append("Error searching cards: " + cause.getMessage() + "\n");
+                finishTask(this, "Search failed");
+            }
+        }
+    }
+
+    // ------------------ COLLECTION TABLE ------------------
+
+    /**
+     * Shows the current collection in the table, keeping the sort and filter.
+     */
+    private void refreshTable() {
+        tableModel.setCards(collection);
+        requestTableView(tableModel.getSortColumn(), tableModel.isAscending(), filterField.getText());
+    }
+
+    /**
+     * Lists the card names starting with the filter text below the filter
+     * field. Picking one filters the table to that name. Nothing is shown when
+     * the field is not being typed in or the text already is the only match.
+     *
+     * @param text The filter text
+     */
+    private void showNameSuggestions(String text) {
+        nameSuggestions.setVisible(false);
+        nameSuggestions.removeAll();
+        if (!filterField.isFocusOwner() || text.isBlank()) return;
+
+        List<String> names = searchIndex.suggestNames(text.trim(), MAX_NAME_SUGGESTIONS);
+        if (names.isEmpty() || (names.size() == 1 && names.get(0).equalsIgnoreCase(text.trim()))) return;
+        for (String name : names) {
+            JMenuItem item = new JMenuItem(name);
+            item.addActionListener(e -> filterField.setText(name));
+            nameSuggestions.add(item);
+        }
+        nameSuggestions.show(filterField, 0, filterField.getHeight());
+    }
+
+    /**
+     * Computes the table rows for a sort and filter on a background thread and
+     * installs them when ready, replacing any computation still running.
+     *
+     * @param sortColumn The column to sort by, or -1
+     * @param ascending  The sort direction
+     * @param filter     The filter text
+     */
+    private void requestTableView(int sortColumn, boolean ascending, String filter) {
+        if (tableViewTask != null) tableViewTask.cancel(true);
+        CardTableModel.Snapshot snapshot = tableModel.getSnapshot();
+
+        tableViewTask = new SwingWorker<>() {
+            @Override
+            protected int[] doInBackground() {
+                return CardTableModel.buildView(snapshot, sortColumn, ascending, filter);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) return;
+                try {
+                    int[] view = get();
+                    if (tableModel.setView(snapshot, view, sortColumn, ascending, filter) && currentTask == null) {
+                        String sorted = sortColumn < 0 ? "" : ", sorted by " + tableModel.getColumnName(sortColumn)
+                                + (ascending ? " (ascending)" : " (descending)");
+                        statusLabel.setText("Showing " + view.length + " of " + snapshot.size() + " cards" + sorted);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Could not sort or filter: " + e.getMessage());
+                }
+            }
+        };
+        tableViewTask.execute();
+    }
+
     /**
      * Launches the GUI application.
      *
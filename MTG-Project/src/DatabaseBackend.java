@@ -0,0 +1,125 @@
+import java.util.Locale;
+
+/**
+ * The database engines the DAO classes can run on.
+ * <p>
+ * {@link #MYSQL} is the shared server the application was written for.
+ * {@link #H2} is an embedded, in-process database stored in a local file.
+ * It needs no server, starts in milliseconds and never crosses the network,
+ * which suits single-user installs and reproducible performance tests.
+ * H2 runs in MySQL compatibility mode, so the DAOs send the same SQL to both.
+ * The few remaining differences are handled by the methods of this enum.
+ * </p>
+ *
+ * <p>
+ * {@link DatabaseConnection} picks the backend from the {@code mtg.db.backend}
+ * system property ({@code mysql} or {@code h2}). Without it, the backend is
+ * inferred from {@code mtg.db.url} and otherwise defaults to MySQL.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public enum DatabaseBackend {
+
+    /** MySQL server, reached over the network through Connector/J. */
+    MYSQL("mysql", "MySQL",
+            // rewriteBatchedStatements sends JDBC batches as multi-row INSERTs; the cachePrepStmts
+            // settings keep server-side prepared statements per pooled connection.
+            "jdbc:mysql://localhost:3306/mtg_deck_manager?rewriteBatchedStatements=true"
+                    + "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=256&prepStmtCacheSqlLimit=2048",
+            "root", "1234") {
+        @Override
+        public int streamingFetchSize() {
+            // Connector/J streams rows one at a time only for this sentinel value.
+            return Integer.MIN_VALUE;
+        }
+
+        @Override
+        public String existingIndexesSql() {
+            return "SELECT DISTINCT TABLE_NAME, INDEX_NAME FROM information_schema.STATISTICS"
+                    + " WHERE TABLE_SCHEMA = DATABASE()";
+        }
+    },
+
+    /** Embedded H2 database in a local file, in MySQL compatibility mode. */
+    H2("h2", "H2",
+            // IGNORECASE makes text comparisons case-insensitive, like MySQL's default collation.
+            "jdbc:h2:file:./data/mtg_deck_manager;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE",
+            "sa", "") {
+        @Override
+        public int streamingFetchSize() {
+            // H2 reads results lazily; a negative fetch size is rejected.
+            return 1000;
+        }
+
+        @Override
+        public String existingIndexesSql() {
+            return "SELECT TABLE_NAME, INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = SCHEMA()";
+        }
+
+        @Override
+        public boolean isEmbedded() { return true; }
+    };
+
+    /** The name used in the {@code mtg.db.backend} property. */
+    private final String propertyName;
+    private final String displayName;
+    private final String defaultUrl;
+    private final String defaultUser;
+    private final String defaultPassword;
+
+    DatabaseBackend(String propertyName, String displayName, String defaultUrl, String defaultUser, String defaultPassword) {
+        this.propertyName = propertyName;
+        this.displayName = displayName;
+        this.defaultUrl = defaultUrl;
+        this.defaultUser = defaultUser;
+        this.defaultPassword = defaultPassword;
+    }
+
+    /** @return the JDBC URL used when {@code mtg.db.url} is not set */
+    public String getDefaultUrl() { return defaultUrl; }
+
+    /** @return the user name used when {@code mtg.db.user} is not set */
+    public String getDefaultUser() { return defaultUser; }
+
+    /** @return the password used when {@code mtg.db.password} is not set */
+    public String getDefaultPassword() { return defaultPassword; }
+
+    /** @return the fetch size that streams a large result instead of buffering it */
+    public abstract int streamingFetchSize();
+
+    /** @return a query returning (table name, index name) for every index in the current schema */
+    public abstract String existingIndexesSql();
+
+    /** @return true if the database runs inside this process */
+    public boolean isEmbedded() { return false; }
+
+    /**
+     * Looks up a backend by its property name, ignoring case.
+     *
+     * @param name {@code mysql} or {@code h2}
+     * @return the matching backend, or {@code null} if there is none
+     */
+    public static DatabaseBackend fromName(String name) {
+        if (name == null) return null;
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        for (DatabaseBackend backend : values()) {
+            if (backend.propertyName.equals(key)) return backend;
+        }
+        return null;
+    }
+
+    /**
+     * Infers the backend from a JDBC URL.
+     *
+     * @param url a JDBC URL, or {@code null}
+     * @return {@link #H2} for {@code jdbc:h2:} URLs, otherwise {@link #MYSQL}
+     */
+    public static DatabaseBackend forUrl(String url) {
+        return url != null && url.startsWith("jdbc:h2:") ? H2 : MYSQL;
+    }
+
+    @Override
+    public String toString() { return displayName; }
+}
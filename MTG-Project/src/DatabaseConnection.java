@@ -1,77 +1,166 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Handles the connection to the MySQL database for the MTG Deck Management System.
+ * Handles the connection to the database for the MTG Deck Management System:
+ * a MySQL server by default, or an embedded H2 file (see {@link DatabaseBackend}).
  * <p>
- * This class uses the Singleton pattern to ensure that only one database
- * connection is created and shared throughout the application. All DAO classes
- * will use this connection when executing SQL queries.
+ * Connections are served from a shared {@link ConnectionPool} that is created
+ * the first time one is requested. Every DAO method borrows its own connection
+ * and closes it in try-with-resources, which returns it to the pool, so DAO calls
+ * can run one after another or in parallel without reconnecting each time.
  * </p>
  *
  * <p><b>Features:</b></p>
  * <ul>
- *     <li>Establishes a connection to the MySQL server</li>
- *     <li>Provides a single shared connection instance</li>
- *     <li>Allows clean shutdown by closing the connection</li>
+ *     <li>Establishes connections to the configured backend through a bounded pool</li>
+ *     <li>Connection settings can be overridden with system properties</li>
+ *     <li>Exposes the pool so its wait-time and utilization counters can be monitored</li>
+ *     <li>Allows clean shutdown by closing all pooled connections</li>
  *     <li>Error messages printed to help with debugging</li>
  * </ul>
  *
+ * <p><b>System properties:</b></p>
+ * <ul>
+ *     <li>{@code mtg.db.backend}: {@code mysql} or {@code h2} (see {@link DatabaseBackend})</li>
+ *     <li>{@code mtg.db.url}, {@code mtg.db.user}, {@code mtg.db.password} (default per backend)</li>
+ *     <li>{@code mtg.db.pool.min} and {@code mtg.db.pool.max} (default 2 and 10)</li>
+ *     <li>{@code mtg.db.pool.leakMillis}: report connections held longer than this,
+ *         with the stack trace of the borrow (default 0, off)</li>
+ *     <li>{@code mtg.db.migrate}: set to {@code false} to skip {@link SchemaMigration} (default true).
+ *         An embedded database always runs it, since it starts without tables.</li>
+ * </ul>
+ *
  * @author Emily
  * @version 1.0
  */
 public class DatabaseConnection {
 
-    /** JDBC URL used to connect to the MySQL database */
-    private static final String URL = "jdbc:mysql://localhost:3306/mtg_deck_manager";
+    /** Default number of connections kept open by the pool */
+    private static final int DEFAULT_POOL_MIN = 2;
 
-    /** Username for MySQL authentication */
-    private static final String USER = "root";
+    /** Default maximum number of connections opened by the pool */
+    private static final int DEFAULT_POOL_MAX = 10;
 
-    /** Password for the MySQL account */
-    private static final String PASSWORD = "1234";
+    /** Shared connection pool instance */
+    private static ConnectionPool pool;
 
-    /** Shared database connection instance */
-    private static Connection connection;
+    /** Backend the pool connects to; set when the pool is created */
+    private static DatabaseBackend backend;
 
     /**
-     * Returns a shared database connection instance.
+     * Returns the configured database backend: the {@code mtg.db.backend}
+     * property if set, otherwise the backend matching {@code mtg.db.url},
+     * otherwise MySQL.
+     *
+     * @return the backend the DAOs talk to
+     * @throws IllegalArgumentException if {@code mtg.db.backend} names no backend
+     */
+    public static synchronized DatabaseBackend getBackend() {
+        if (backend != null) return backend;
+        String name = System.getProperty("mtg.db.backend");
+        if (name == null) return DatabaseBackend.forUrl(System.getProperty("mtg.db.url"));
+        DatabaseBackend configured = DatabaseBackend.fromName(name);
+        if (configured == null) throw new IllegalArgumentException("Unknown mtg.db.backend: " + name);
+        return configured;
+    }
+
+    /**
+     * Returns the shared connection pool, creating it on first use.
      * <p>
-     * If a connection has not yet been established, this method attempts to open
-     * a new connection using the provided URL, username, and password.
+     * A new pool is kept only once a connection has actually been borrowed
+     * from it; the schema is migrated after that. If the database cannot be
+     * reached the pool is discarded, and the next call tries again.
      * </p>
      *
-     * @return a {@link Connection} object used to communicate with MySQL,
-     *         or {@code null} if the connection attempt fails
+     * @return the application's {@link ConnectionPool}
+     * @throws SQLException if the pool cannot open a connection to the database
      */
-    public static Connection getConnection() {
-        if (connection == null) {
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null) {
+            DatabaseBackend selected = getBackend();
+            ConnectionPool created = new ConnectionPool(
+                    System.getProperty("mtg.db.url", selected.getDefaultUrl()),
+                    System.getProperty("mtg.db.user", selected.getDefaultUser()),
+                    System.getProperty("mtg.db.password", selected.getDefaultPassword()),
+                    Integer.getInteger("mtg.db.pool.min", DEFAULT_POOL_MIN),
+                    getMaxPoolSize());
+            created.setLeakThresholdMillis(Long.getLong("mtg.db.pool.leakMillis", 0));
             try {
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                System.out.println("✔ Connected to MySQL successfully!");
+                // Borrow and return one connection to check that the database is reachable.
+                created.borrow().close();
             } catch (SQLException e) {
-                System.out.println("Database connection failed: " + e.getMessage());
+                created.shutdown();
+                throw e;
+            }
+            pool = created;
+            backend = selected;
+            System.out.println("✔ Connected to " + selected + " successfully!");
+            if (selected.isEmbedded() || Boolean.parseBoolean(System.getProperty("mtg.db.migrate", "true"))) {
+                SchemaMigration.migrate();
             }
         }
-        return connection;
+        return pool;
     }
 
     /**
-     * Closes the active database connection, if one exists.
+     * Returns the configured maximum number of pooled connections, which is
+     * also the number of statements {@link DatabaseExecutor} runs at once.
+     *
+     * @return the {@code mtg.db.pool.max} property, or 10 if it is not set
+     */
+    public static int getMaxPoolSize() {
+        return Integer.getInteger("mtg.db.pool.max", DEFAULT_POOL_MAX);
+    }
+
+    /**
+     * Borrows a database connection from the shared pool.
+     * <p>
+     * The caller must close the returned connection when finished; closing it
+     * hands it back to the pool rather than disconnecting from the database.
+     * </p>
+     *
+     * @return a {@link Connection} object used to communicate with the database,
+     *         or {@code null} if the connection attempt fails
+     */
+    public static Connection getConnection() {
+        try {
+            return borrowConnection();
+        } catch (SQLException e) {
+            System.out.println("Database connection failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Borrows a database connection from the shared pool, like
+     * {@link #getConnection()}, but reports a failure to the caller.
+     *
+     * @return a pooled {@link Connection}; close it to return it to the pool
+     * @throws SQLException if no connection can be opened or borrowed in time
+     */
+    public static Connection borrowConnection() throws SQLException {
+        return getPool().borrow();
+    }
+
+    /**
+     * Closes all pooled database connections, if the pool has been created.
      * <p>
      * This should be called when the application shuts down to free system
-     * resources and prevent potential memory leaks.
+     * resources and prevent potential memory leaks. Tasks started by the
+     * {@code ...Async} DAO methods are given a few seconds to finish first.
      * </p>
      */
     public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+        // Outside the lock: running async tasks may still need it to finish.
+        DatabaseExecutor.shutdown();
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+                backend = null;
                 System.out.println("Connection closed.");
             }
-        } catch (SQLException e) {
-            System.out.println("Error closing connection: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,178 @@
+import java.sql.SQLException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs database work in the background for the asynchronous DAO methods,
+ * such as {@link CardDAO#getAllCardsAsync()} and {@link DeckDAO#loadDeckAsync(int)}.
+ * <p>
+ * Each task runs on its own virtual thread when the JVM supports them
+ * (Java 21 and later), so hundreds of queries can be started at once
+ * without tying up a platform thread each. On older JVMs the tasks share a
+ * fixed pool of daemon threads, one per pooled connection.
+ * </p>
+ *
+ * <p>
+ * A fair {@link Semaphore} with one permit per pooled connection
+ * ({@link DatabaseConnection#getMaxPoolSize()}) limits how many tasks use the
+ * database at once. Extra tasks wait for a permit in arrival order rather
+ * than in {@link ConnectionPool#borrow()}, where they would time out.
+ * </p>
+ *
+ * <p>
+ * Failures are not printed: a task that throws completes its future
+ * exceptionally with the original exception, wrapped in a
+ * {@link CompletionException} by {@link CompletableFuture#join()}.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class DatabaseExecutor {
+
+    /** The executor, created on first use. */
+    private static ExecutorService executor;
+
+    /** Limits concurrent tasks to the number of pooled connections. */
+    private static Semaphore permits;
+
+    /** Number of permits in {@link #permits}. */
+    private static int maxConcurrency;
+
+    /** True if {@link #executor} starts a virtual thread per task. */
+    private static boolean virtualThreads;
+
+    private DatabaseExecutor() {
+    }
+
+    /**
+     * Work that uses the database and may fail with a {@link SQLException}.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface SqlTask<T> {
+        /**
+         * Runs the task.
+         *
+         * @return the result
+         * @throws SQLException if a statement fails
+         */
+        T call() throws SQLException;
+    }
+
+    /**
+     * Starts a task in the background.
+     *
+     * @param task the database work
+     * @param <T>  the type of the result
+     * @return completes with the task's result, or exceptionally with what it threw
+     */
+    public static <T> CompletableFuture<T> submit(SqlTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Semaphore limit;
+        ExecutorService runner;
+        synchronized (DatabaseExecutor.class) {
+            runner = executor();
+            limit = permits;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    limit.acquire();
+                    try {
+                        future.complete(task.call());
+                    } finally {
+                        limit.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the executor, creating it and the semaphore on first use.
+     * Must be called while holding the class lock.
+     */
+    private static ExecutorService executor() {
+        if (executor == null) {
+            maxConcurrency = DatabaseConnection.getMaxPoolSize();
+            permits = new Semaphore(maxConcurrency, true);
+            executor = newThreadPerTaskExecutor("mtg-db-", maxConcurrency);
+            virtualThreads = isVirtualThreadExecutor(executor);
+        }
+        return executor;
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task, or a fixed
+     * pool of daemon platform threads on JVMs without virtual threads.
+     *
+     * @param namePrefix      prefix of the platform thread names
+     * @param fallbackThreads number of platform threads in the fallback pool
+     * @return the executor
+     */
+    static ExecutorService newThreadPerTaskExecutor(String namePrefix, int fallbackThreads) {
+        try {
+            // Looked up reflectively so the code still compiles and runs before Java 21.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(fallbackThreads, r -> {
+                Thread t = new Thread(r, namePrefix + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * @param executor an executor from {@link #newThreadPerTaskExecutor}
+     * @return true if it runs tasks on virtual threads
+     */
+    static boolean isVirtualThreadExecutor(ExecutorService executor) {
+        return !(executor instanceof ThreadPoolExecutor);
+    }
+
+    /** @return true if tasks run on virtual threads, false on a platform thread pool */
+    public static synchronized boolean usesVirtualThreads() {
+        executor();
+        return virtualThreads;
+    }
+
+    /** @return the number of tasks that may use the database at once */
+    public static synchronized int getMaxConcurrency() {
+        executor();
+        return maxConcurrency;
+    }
+
+    /** @return the number of tasks waiting for a free connection */
+    public static synchronized int getWaitingCount() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+
+    /**
+     * Stops accepting tasks and waits briefly for running ones to finish.
+     * The next {@link #submit} starts a new executor.
+     */
+    public static synchronized void shutdown() {
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        permits = null;
+    }
+}
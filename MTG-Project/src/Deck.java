@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Represents a Magic: The Gathering deck.
@@ -7,15 +8,43 @@ import java.util.*;
  * associate cards, track a commander, and summarize contents.
  * </p>
  *
+ * <p>
+ * Cards are stored as copy counts in a {@link CardCountMap} keyed by card ID,
+ * the same way the DeckCards table stores a quantity per card. The total card
+ * count, count per {@link CardType}, mana curve and total market value are
+ * updated on every add and remove, so deck statistics never scan the list.
+ * Cards that have not been saved yet (card ID 0) are counted per object.
+ * </p>
+ *
+ * <p>
+ * The statistics use each card's type, mana cost and market value at the time
+ * it was added. Call {@link #recalculate()} after changing one of those fields
+ * on a card that is already in the deck.
+ * </p>
+ *
  * @author Emily
  * @version 1.0
  */
 public class Deck {
+
+    /** Mana values at or above this share the last bucket of the mana curve. */
+    public static final int MAX_CURVE_BUCKET = 7;
+
     private int deckId;
     private String deckName;
     private String format;
     private Card commander;
-    private List<Card> cards = new ArrayList<>();
+
+    /** Copies per card, keyed by card ID or by a negative key for unsaved cards. */
+    private final CardCountMap counts = new CardCountMap();
+
+    /** Negative keys handed out to cards without a card ID. */
+    private final Map<Card, Integer> unsavedKeys = new IdentityHashMap<>();
+
+    private int totalCards;
+    private final int[] typeCounts = new int[CardType.values().length];
+    private final int[] manaCurve = new int[MAX_CURVE_BUCKET + 1];
+    private long totalValueCents;
 
     /**
      * Constructs a new Deck object.
@@ -52,15 +81,178 @@ public class Deck {
     /** @param commander sets the Commander card */
     public void setCommander(Card commander) { this.commander = commander; }
 
-    /** @return all cards in this deck */
-    public List<Card> getCards() { return cards; }
+    /**
+     * Returns every card in the deck, with one entry per copy.
+     * <p>
+     * The list is built on each call; prefer {@link #forEachEntry(ObjIntConsumer)}
+     * or {@link #getQuantity(Card)} when quantities are enough.
+     * </p>
+     *
+     * @return an unmodifiable list of all cards in this deck
+     */
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>(totalCards);
+        counts.forEach((card, quantity) -> {
+            for (int i = 0; i < quantity; i++) cards.add(card);
+        });
+        return Collections.unmodifiableList(cards);
+    }
 
     /**
      * Adds a card to the deck list.
      *
      * @param card The {@link Card} to add
      */
-    public void addCard(Card card) { cards.add(card); }
+    public void addCard(Card card) { addCard(card, 1); }
+
+    /**
+     * Adds several copies of a card to the deck list.
+     *
+     * @param card     The {@link Card} to add
+     * @param quantity The number of copies
+     */
+    public void addCard(Card card, int quantity) {
+        if (quantity < 1) throw new IllegalArgumentException("quantity must be at least 1");
+        counts.add(keyOf(card, true), card, quantity);
+        applyStats(card, quantity);
+    }
+
+    /**
+     * Removes copies of a card from the deck.
+     *
+     * @param card     The {@link Card} to remove
+     * @param quantity The number of copies to remove
+     * @return the number of copies actually removed
+     */
+    public int removeCard(Card card, int quantity) {
+        int key = keyOf(card, false);
+        if (key == 0) return 0;
+        Card stored = counts.getCard(key);
+        int removed = counts.remove(key, quantity);
+        if (removed > 0) {
+            applyStats(stored, -removed);
+            if (key < 0 && counts.getCount(key) == 0) unsavedKeys.remove(card);
+        }
+        return removed;
+    }
+
+    /**
+     * @param card a card
+     * @return how many copies of the card (matched by card ID) are in the deck
+     */
+    public int getQuantity(Card card) {
+        int key = keyOf(card, false);
+        return key == 0 ? 0 : counts.getCount(key);
+    }
+
+    /**
+     * @param cardId a card ID
+     * @return how many copies of that card are in the deck
+     */
+    public int getQuantity(int cardId) {
+        rekeySavedCards();
+        return cardId > 0 ? counts.getCount(cardId) : 0;
+    }
+
+    /**
+     * Passes every distinct card and its number of copies to {@code action}.
+     *
+     * @param action called once per distinct card
+     */
+    public void forEachEntry(ObjIntConsumer<Card> action) {
+        counts.forEach(action);
+    }
+
+    /** @return true if the deck holds a card without a card ID */
+    public boolean hasUnsavedCards() {
+        rekeySavedCards();
+        return !unsavedKeys.isEmpty();
+    }
+
+    // ------------------ STATISTICS ------------------
+
+    /** @return the total number of cards, counting every copy */
+    public int getTotalCards() { return totalCards; }
+
+    /** @return the number of distinct cards */
+    public int getDistinctCardCount() { return counts.size(); }
+
+    /**
+     * @param type a card type
+     * @return the number of cards of that type, counting every copy
+     */
+    public int getTypeCount(CardType type) { return typeCounts[type.ordinal()]; }
+
+    /**
+     * Returns the number of non-land cards at each mana value. Index {@code i}
+     * counts cards with mana value {@code i}; the last index counts
+     * {@value #MAX_CURVE_BUCKET} and above.
+     *
+     * @return a copy of the mana curve histogram
+     */
+    public int[] getManaCurve() { return manaCurve.clone(); }
+
+    /** @return the combined market value of every copy */
+    public double getTotalValue() { return totalValueCents / 100.0; }
+
+    /**
+     * Rebuilds the statistics from the current fields of the cards in the deck.
+     */
+    public void recalculate() {
+        totalCards = 0;
+        Arrays.fill(typeCounts, 0);
+        Arrays.fill(manaCurve, 0);
+        totalValueCents = 0;
+        counts.forEach(this::applyStats);
+    }
+
+    /** Adds (or, with a negative quantity, subtracts) a card's contribution to the statistics. */
+    private void applyStats(Card card, int quantity) {
+        totalCards += quantity;
+        totalValueCents += Math.round(card.getMarketValue() * 100) * quantity;
+
+        CardType type = CardType.fromName(card.getType());
+        if (type != null) typeCounts[type.ordinal()] += quantity;
+        if (type != CardType.LAND) {
+            ManaCost cost = card.getParsedManaCost();
+            if (cost != null) manaCurve[Math.min(cost.getConvertedManaCost(), MAX_CURVE_BUCKET)] += quantity;
+        }
+    }
+
+    /**
+     * Returns the count-map key for a card: its ID when it has one, otherwise a
+     * negative key tied to this card object. Returns 0 for an unsaved card not
+     * in the deck when {@code create} is false.
+     */
+    private int keyOf(Card card, boolean create) {
+        rekeySavedCards();
+        if (card.getCardId() > 0) return card.getCardId();
+        Integer key = unsavedKeys.get(card);
+        if (key == null) {
+            if (!create) return 0;
+            key = -(unsavedKeys.size() + 1);
+            while (counts.getCount(key) > 0) key--;
+            unsavedKeys.put(card, key);
+        }
+        return key;
+    }
+
+    /**
+     * Moves the copies of unsaved cards that have since been given a card ID,
+     * e.g. by {@link CardDAO#addCards(Collection)}, from their negative key to the ID.
+     */
+    private void rekeySavedCards() {
+        if (unsavedKeys.isEmpty()) return;
+        Iterator<Map.Entry<Card, Integer>> it = unsavedKeys.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Card, Integer> entry = it.next();
+            Card card = entry.getKey();
+            if (card.getCardId() <= 0) continue;
+            int quantity = counts.remove(entry.getValue(), Integer.MAX_VALUE);
+            if (quantity > 0) counts.add(card.getCardId(), card, quantity);
+            it.remove();
+        }
+    }
 
     /**
      * Prints a simple deck summary including commander and card count.
@@ -72,9 +264,20 @@ public class Deck {
         if (commander != null) {
             System.out.println("Commander: " + commander.getName());
         }
-        System.out.println("Total Cards: " + cards.size());
-        for (Card c : cards) {
-            System.out.println(" - " + c.getName() + " (" + c.getType() + ")");
+        System.out.println("Total Cards: " + totalCards);
+        forEachEntry((c, quantity) ->
+                System.out.println(" - " + quantity + "x " + c.getName() + " (" + c.getType() + ")"));
+
+        for (CardType type : CardType.values()) {
+            if (typeCounts[type.ordinal()] > 0) {
+                System.out.println(type.getDisplayName() + ": " + typeCounts[type.ordinal()]);
+            }
+        }
+        StringBuilder curve = new StringBuilder("Mana Curve:");
+        for (int i = 0; i < manaCurve.length; i++) {
+            curve.append(' ').append(i).append(i == MAX_CURVE_BUCKET ? "+=" : "=").append(manaCurve[i]);
         }
+        System.out.println(curve);
+        System.out.printf("Total Value: $%.2f%n", getTotalValue());
     }
 }
@@ -1,18 +1,47 @@
 import java.sql.*;
-import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object (DAO) class for handling Deck operations.
  * <p>
- * Provides methods to insert decks, add cards to decks, and display deck contents.
+ * Provides methods to insert, load and display decks and the cards they contain.
  * Uses {@link DatabaseConnection} for establishing database connectivity.
  * </p>
  *
+ * <p>
+ * {@link #saveDeck(Deck)} and {@link #saveDecks(Collection, int)} write a deck
+ * header and all of its cards in one transaction, sending the cards as
+ * multi-row upserts instead of one round-trip per card.
+ * {@link #loadDecks(Collection)} reads any number of decks back as
+ * {@link Deck} objects with a fixed number of set-based queries.
+ * </p>
+ *
+ * <p>
+ * {@link #saveDeckAsync(Deck)}, {@link #loadDeckAsync(int)},
+ * {@link #loadDecksAsync(Collection)} and {@link #getDeckIdsAsync()} run on
+ * {@link DatabaseExecutor} and complete exceptionally on failure instead of
+ * printing, so many decks can be read or written concurrently.
+ * </p>
+ *
  * @author Emily
  * @version 1.0
  */
 public class DeckDAO {
 
+    /** Insert statement for a deck header. */
+    private static final String INSERT_DECK_SQL =
+            "INSERT INTO Deck (deckName, format, commanderId) VALUES (?, ?, ?)";
+
+    /** Number of DeckCards rows sent in one multi-row upsert. */
+    private static final int ROWS_PER_UPSERT = 500;
+
+    /** Number of decks committed per transaction by {@link #saveDecks(Collection)}. */
+    public static final int DEFAULT_DECKS_PER_TRANSACTION = 100;
+
+    /** Multi-row upsert for a full chunk of {@link #ROWS_PER_UPSERT} rows. */
+    private static final String FULL_UPSERT_SQL = deckCardsUpsertSql(ROWS_PER_UPSERT);
+
     /**
      * Adds a new deck to the database.
      *
@@ -20,9 +49,8 @@ public class DeckDAO {
      * @return The generated deck ID, or -1 if the operation fails
      */
     public int addDeck(Deck deck) {
-        String sql = "INSERT INTO Deck (deckName, format, commanderId) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_DECK_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, deck.getDeckName());
             stmt.setString(2, deck.getFormat());
@@ -58,7 +86,7 @@ public class DeckDAO {
             VALUES (?, ?, ?)
             ON DUPLICATE KEY UPDATE quantity = quantity + ?
             """;
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.borrowConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, deckId);
@@ -72,44 +100,525 @@ public class DeckDAO {
         }
     }
 
+    /**
+     * Saves a deck and all of its cards in a single transaction.
+     * <p>
+     * The deck header is inserted first, then the cards are aggregated by card ID
+     * and written to DeckCards as multi-row upserts of up to
+     * {@value #ROWS_PER_UPSERT} rows. Either the whole deck is stored or, on
+     * failure, nothing is. Every card (and the commander) must already have a
+     * database ID.
+     * </p>
+     *
+     * @param deck The {@link Deck} to save; its ID is set on success
+     * @return The generated deck ID, or -1 if the operation fails
+     */
+    public int saveDeck(Deck deck) {
+        String problem = checkCardIds(deck);
+        if (problem != null) {
+            System.out.println("Error saving deck: " + problem);
+            return -1;
+        }
+
+        try {
+            int rows = insertDeck(deck);
+            System.out.println("Deck saved successfully (ID: " + deck.getDeckId() + ", " + rows + " card rows)");
+            return deck.getDeckId();
+        } catch (SQLException e) {
+            System.out.println("Error saving deck: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Saves a deck and all of its cards in one transaction, in the background.
+     *
+     * @param deck The {@link Deck} to save; its ID is set on success
+     * @return completes with the generated deck ID, or exceptionally with an
+     *         {@link IllegalArgumentException} if a card has no database ID
+     * @see #saveDeck(Deck)
+     */
+    public CompletableFuture<Integer> saveDeckAsync(Deck deck) {
+        return DatabaseExecutor.submit(() -> {
+            String problem = checkCardIds(deck);
+            if (problem != null) throw new IllegalArgumentException(problem);
+            insertDeck(deck);
+            return deck.getDeckId();
+        });
+    }
+
+    /**
+     * Writes one deck in its own transaction, rolling back on failure. The
+     * caller checks the card IDs first.
+     *
+     * @return the number of DeckCards rows written
+     */
+    private int insertDeck(Deck deck) throws SQLException {
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement deckStmt = conn.prepareStatement(INSERT_DECK_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            try {
+                int rows = writeDecks(conn, deckStmt, List.of(deck));
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                rollback(conn, e);
+                deck.setDeckId(0);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Saves many decks using {@link #DEFAULT_DECKS_PER_TRANSACTION} decks per transaction.
+     *
+     * @param decks The decks to save
+     * @return a report with counts and throughput
+     * @see #saveDecks(Collection, int)
+     */
+    public DeckImportReport saveDecks(Collection<Deck> decks) {
+        return saveDecks(decks, DEFAULT_DECKS_PER_TRANSACTION);
+    }
+
+    /**
+     * Saves many decks, such as a tournament decklist dump, in chunked transactions.
+     * <p>
+     * Each chunk inserts its deck headers as one JDBC batch, then writes the
+     * cards of every deck in the chunk as multi-row upserts, and commits. A chunk
+     * that fails is rolled back and reported, and later chunks are still saved.
+     * Decks containing cards without a database ID are skipped and counted as failed.
+     * </p>
+     *
+     * @param decks               The decks to save; IDs are set on the saved ones
+     * @param decksPerTransaction The number of decks per transaction
+     * @return a report with counts and throughput
+     */
+    public DeckImportReport saveDecks(Collection<Deck> decks, int decksPerTransaction) {
+        if (decksPerTransaction < 1) throw new IllegalArgumentException("decksPerTransaction must be at least 1");
+
+        DeckImportReport report = new DeckImportReport();
+        long start = System.nanoTime();
+
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             PreparedStatement deckStmt = conn.prepareStatement(INSERT_DECK_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            List<Deck> chunk = new ArrayList<>(Math.min(decksPerTransaction, decks.size()));
+            for (Deck deck : decks) {
+                if (checkCardIds(deck) != null) {
+                    report.skipped++;
+                    continue;
+                }
+                chunk.add(deck);
+                if (chunk.size() == decksPerTransaction) {
+                    saveChunk(conn, deckStmt, chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk(conn, deckStmt, chunk, report);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error saving decks: " + e.getMessage());
+        }
+
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(report);
+        return report;
+    }
+
+    /**
+     * Writes and commits one chunk of decks, or rolls it back on failure.
+     */
+    private void saveChunk(Connection conn, PreparedStatement deckStmt, List<Deck> chunk, DeckImportReport report) {
+        try {
+            int rows = writeDecks(conn, deckStmt, chunk);
+            conn.commit();
+            report.saved += chunk.size();
+            report.cardRows += rows;
+        } catch (SQLException e) {
+            rollback(conn, e);
+            for (Deck deck : chunk) deck.setDeckId(0);
+            report.failed += chunk.size();
+            report.failedChunks++;
+            System.out.println("Deck chunk rolled back: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inserts the deck headers as one batch, stores the generated IDs, then
+     * upserts every deck's cards. Does not commit.
+     *
+     * @return the number of DeckCards rows written
+     */
+    private int writeDecks(Connection conn, PreparedStatement deckStmt, List<Deck> decks) throws SQLException {
+        for (Deck deck : decks) {
+            deckStmt.setString(1, deck.getDeckName());
+            deckStmt.setString(2, deck.getFormat());
+            if (deck.getCommander() != null)
+                deckStmt.setInt(3, deck.getCommander().getCardId());
+            else
+                deckStmt.setNull(3, Types.INTEGER);
+            deckStmt.addBatch();
+        }
+        try {
+            deckStmt.executeBatch();
+        } finally {
+            deckStmt.clearBatch();
+        }
+        try (ResultSet keys = deckStmt.getGeneratedKeys()) {
+            for (Deck deck : decks) {
+                if (!keys.next()) throw new SQLException("No generated ID returned for deck " + deck.getDeckName());
+                deck.setDeckId(keys.getInt(1));
+            }
+        }
+
+        // Flatten (deckId, cardId, quantity) triples so rows from several decks share statements.
+        RowBuffer buffer = new RowBuffer();
+        for (Deck deck : decks) {
+            int deckId = deck.getDeckId();
+            deck.forEachEntry((card, quantity) -> buffer.add(deckId, card.getCardId(), quantity));
+        }
+        int[] rows = buffer.values;
+        int used = buffer.size;
+        int rowCount = used / 3;
+        if (rowCount == 0) return 0;
+
+        try (PreparedStatement full = rowCount >= ROWS_PER_UPSERT ? conn.prepareStatement(FULL_UPSERT_SQL) : null) {
+            int row = 0;
+            while (rowCount - row >= ROWS_PER_UPSERT) {
+                bindRows(full, rows, row, ROWS_PER_UPSERT);
+                full.executeUpdate();
+                row += ROWS_PER_UPSERT;
+            }
+            if (row < rowCount) {
+                try (PreparedStatement tail = conn.prepareStatement(deckCardsUpsertSql(rowCount - row))) {
+                    bindRows(tail, rows, row, rowCount - row);
+                    tail.executeUpdate();
+                }
+            }
+        }
+        return rowCount;
+    }
+
+    /** Binds {@code count} flattened rows starting at row {@code from}. */
+    private static void bindRows(PreparedStatement stmt, int[] rows, int from, int count) throws SQLException {
+        int param = 1;
+        for (int i = from * 3, end = (from + count) * 3; i < end; i++) {
+            stmt.setInt(param++, rows[i]);
+        }
+    }
+
+    /**
+     * Builds a DeckCards upsert with {@code rowCount} value tuples. Quantities
+     * for a card already in the deck are added to the stored quantity.
+     */
+    private static String deckCardsUpsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(64 + rowCount * 11)
+                .append("INSERT INTO DeckCards (deckId, cardId, quantity) VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(?, ?, ?)");
+        }
+        return sql.append(" ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)").toString();
+    }
+
+    /**
+     * @return a description of the first problem that prevents saving, or {@code null} if there is none
+     */
+    private static String checkCardIds(Deck deck) {
+        if (deck.getCommander() != null && deck.getCommander().getCardId() <= 0) {
+            return "commander " + deck.getCommander().getName() + " has not been saved to the database";
+        }
+        if (deck.hasUnsavedCards()) {
+            return "deck " + deck.getDeckName() + " contains cards that have not been saved to the database";
+        }
+        return null;
+    }
+
+    /** Growable buffer of flattened (deckId, cardId, quantity) rows. */
+    private static final class RowBuffer {
+        int[] values = new int[96];
+        int size;
+
+        void add(int deckId, int cardId, int quantity) {
+            if (size + 3 > values.length) values = Arrays.copyOf(values, values.length * 2);
+            values[size++] = deckId;
+            values[size++] = cardId;
+            values[size++] = quantity;
+        }
+    }
+
+    private static void rollback(Connection conn, SQLException cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+        }
+    }
+
+    /** Maximum number of deck IDs bound in one IN list. */
+    private static final int IDS_PER_QUERY = 500;
+
+    /**
+     * Loads one deck with its commander and cards.
+     *
+     * @param deckId The deck's ID
+     * @return the deck, or {@code null} if it does not exist or cannot be loaded
+     */
+    public Deck loadDeck(int deckId) {
+        return loadDecks(List.of(deckId)).get(deckId);
+    }
+
+    /**
+     * Loads one deck with its commander and cards in the background.
+     *
+     * @param deckId The deck's ID
+     * @return completes with the deck, or {@code null} if it does not exist
+     */
+    public CompletableFuture<Deck> loadDeckAsync(int deckId) {
+        return DatabaseExecutor.submit(() -> selectDecks(List.of(deckId)).get(deckId));
+    }
+
+    /**
+     * Loads many decks with their commanders and cards.
+     * <p>
+     * Decks are fetched {@value #IDS_PER_QUERY} at a time with two set-based
+     * queries per group: one for the deck headers joined to their commanders,
+     * and one for every DeckCards row of those decks joined to Card. Each card
+     * is added to its deck with its stored quantity. A card that
+     * appears in several decks is read into a single shared {@link Card} object.
+     * </p>
+     *
+     * @param deckIds The IDs of the decks to load
+     * @return the decks found, keyed by ID in the order requested
+     */
+    public Map<Integer, Deck> loadDecks(Collection<Integer> deckIds) {
+        Map<Integer, Deck> decks = new LinkedHashMap<>();
+        try {
+            selectDecks(deckIds, decks);
+        } catch (SQLException e) {
+            System.out.println("Error loading decks: " + e.getMessage());
+        }
+        return decks;
+    }
+
+    /**
+     * Loads many decks with their commanders and cards in the background.
+     *
+     * @param deckIds The IDs of the decks to load
+     * @return completes with the decks found, keyed by ID in the order requested
+     * @see #loadDecks(Collection)
+     */
+    public CompletableFuture<Map<Integer, Deck>> loadDecksAsync(Collection<Integer> deckIds) {
+        return DatabaseExecutor.submit(() -> selectDecks(deckIds));
+    }
+
+    private Map<Integer, Deck> selectDecks(Collection<Integer> deckIds) throws SQLException {
+        Map<Integer, Deck> decks = new LinkedHashMap<>();
+        selectDecks(deckIds, decks);
+        return decks;
+    }
+
+    /**
+     * Loads decks into {@code decks}. Groups read before a failure stay in the map.
+     */
+    private void selectDecks(Collection<Integer> deckIds, Map<Integer, Deck> decks) throws SQLException {
+        if (deckIds.isEmpty()) return;
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(deckIds));
+        Map<Integer, Card> cardsById = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.borrowConnection()) {
+            for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+                List<Integer> group = ids.subList(from, Math.min(ids.size(), from + IDS_PER_QUERY));
+                loadDeckGroup(conn, group, decks, cardsById);
+            }
+        }
+    }
+
+    /**
+     * Returns the IDs of every stored deck.
+     *
+     * @return the deck IDs in ascending order
+     */
+    public List<Integer> getDeckIds() {
+        try {
+            return selectDeckIds();
+        } catch (SQLException e) {
+            System.out.println("Error retrieving deck IDs: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns the IDs of every stored deck, in the background.
+     *
+     * @return completes with the deck IDs in ascending order
+     */
+    public CompletableFuture<List<Integer>> getDeckIdsAsync() {
+        return DatabaseExecutor.submit(this::selectDeckIds);
+    }
+
+    private List<Integer> selectDeckIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.borrowConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT deckId FROM Deck ORDER BY deckId")) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Loads the headers and cards of one group of decks into {@code decks}.
+     */
+    private void loadDeckGroup(Connection conn, List<Integer> group, Map<Integer, Deck> decks,
+                               Map<Integer, Card> cardsById) throws SQLException {
+        String in = placeholders(group.size());
+        String deckSql = "SELECT d.deckId, d.deckName, d.format, " + CardDAO.cardColumns("c")
+                + " FROM Deck d LEFT JOIN Card c ON d.commanderId = c.cardId"
+                + " WHERE d.deckId IN (" + in + ")";
+        String cardsSql = "SELECT dc.deckId, dc.quantity, " + CardDAO.cardColumns("c")
+                + " FROM DeckCards dc JOIN Card c ON dc.cardId = c.cardId"
+                + " WHERE dc.deckId IN (" + in + ")";
+
+        Map<Integer, Deck> loaded = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(deckSql)) {
+            bindIds(stmt, group);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Deck deck = new Deck(rs.getString(2), rs.getString(3));
+                    deck.setDeckId(rs.getInt(1));
+                    int commanderId = rs.getInt(4);
+                    if (!rs.wasNull()) {
+                        deck.setCommander(sharedCard(rs, 4, commanderId, cardsById));
+                    }
+                    loaded.put(deck.getDeckId(), deck);
+                }
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(cardsSql)) {
+            bindIds(stmt, group);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Deck deck = loaded.get(rs.getInt(1));
+                    if (deck == null) continue;
+                    deck.addCard(sharedCard(rs, 3, rs.getInt(3), cardsById), rs.getInt(2));
+                }
+            }
+        }
+
+        for (Integer id : group) {
+            Deck deck = loaded.get(id);
+            if (deck != null) decks.put(id, deck);
+        }
+    }
+
+    /** Returns the card already read for an ID, or reads it from the current row. */
+    private static Card sharedCard(ResultSet rs, int firstColumn, int cardId, Map<Integer, Card> cardsById)
+            throws SQLException {
+        Card card = cardsById.get(cardId);
+        if (card == null) {
+            card = CardDAO.mapCard(rs, firstColumn);
+            cardsById.put(cardId, card);
+        }
+        return card;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    private static void bindIds(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(i + 1, ids.get(i));
+        }
+    }
+
     /**
      * Displays all cards in a given deck.
      *
      * @param deckId The deck’s ID
      */
     public void viewDeck(int deckId) {
-        String deckSql = "SELECT deckName, format FROM Deck WHERE deckId = ?";
-        String cardsSql = """
-            SELECT c.name, c.manaCost, c.type, c.rarity, c.setName, dc.quantity
-            FROM DeckCards dc
-            JOIN Card c ON dc.cardId = c.cardId
-            WHERE dc.deckId = ?
-            """;
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement deckStmt = conn.prepareStatement(deckSql);
-             PreparedStatement cardsStmt = conn.prepareStatement(cardsSql)) {
-
-            deckStmt.setInt(1, deckId);
-            ResultSet deckRs = deckStmt.executeQuery();
-            if (deckRs.next()) {
-                System.out.println("\nDeck: " + deckRs.getString("deckName") +
-                        " (" + deckRs.getString("format") + ")");
-            }
+        Deck deck = loadDeck(deckId);
+        if (deck == null) {
+            System.out.println("Deck not found.");
+            return;
+        }
 
-            cardsStmt.setInt(1, deckId);
-            ResultSet cardRs = cardsStmt.executeQuery();
-            System.out.println("\n--- Cards in Deck ---");
-            while (cardRs.next()) {
+        System.out.println("\nDeck: " + deck.getDeckName() + " (" + deck.getFormat() + ")");
+        if (deck.getCommander() != null) {
+            System.out.println("Commander: " + deck.getCommander().getName());
+        }
+
+        System.out.println("\n--- Cards in Deck ---");
+        deck.forEachEntry((card, quantity) ->
                 System.out.printf("%s x%d [%s, %s, %s, %s]%n",
-                        cardRs.getString("name"),
-                        cardRs.getInt("quantity"),
-                        cardRs.getString("manaCost"),
-                        cardRs.getString("type"),
-                        cardRs.getString("rarity"),
-                        cardRs.getString("setName"));
-            }
-        } catch (SQLException e) {
-            System.out.println("Error viewing deck: " + e.getMessage());
+                        card.getName(),
+                        quantity,
+                        card.getManaCost(),
+                        card.getType(),
+                        card.getRarity(),
+                        card.getSetName()));
+    }
+
+    // ------------------ IMPORT REPORT ------------------
+
+    /**
+     * Summary of a bulk deck import made with {@link #saveDecks(Collection, int)}.
+     */
+    public static final class DeckImportReport {
+        private int saved;
+        private int failed;
+        private int skipped;
+        private int failedChunks;
+        private long cardRows;
+        private long elapsedMillis;
+
+        /** @return number of decks in committed chunks */
+        public int getSaved() { return saved; }
+
+        /** @return number of decks in chunks that were rolled back */
+        public int getFailed() { return failed; }
+
+        /** @return number of decks skipped because a card had no database ID */
+        public int getSkipped() { return skipped; }
+
+        /** @return number of chunks that were rolled back */
+        public int getFailedChunks() { return failedChunks; }
+
+        /** @return number of DeckCards rows written by committed chunks */
+        public long getCardRows() { return cardRows; }
+
+        /** @return the total time taken in milliseconds */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /** @return saved decks per second */
+        public double getDecksPerSecond() {
+            return saved * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        /** @return DeckCards rows written per second */
+        public double getRowsPerSecond() {
+            return cardRows * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Saved %d decks with %d card rows (%d failed, %d skipped) in %d ms [%.0f decks/s, %.0f rows/s]",
+                    saved, cardRows, failed, skipped, elapsedMillis, getDecksPerSecond(), getRowsPerSecond());
         }
     }
 }
@@ -0,0 +1,391 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Checks {@link Deck} objects against the construction rules of the Commander
+ * and Standard formats.
+ * <p>
+ * Each card is reduced once to a small {@link CardFacts} record: its color
+ * identity as a {@link ManaCost} bit mask, whether it is a basic land, which
+ * formats ban it, and a numeric ID for its name. The facts are cached by card
+ * ID, so checking a deck is a single pass over its distinct cards using integer
+ * operations and a {@link CardCountMap} of copies per name. Every violation in
+ * a deck is reported, not just the first.
+ * </p>
+ *
+ * <p><b>Rules:</b></p>
+ * <ul>
+ *     <li>Commander: a commander, exactly 100 cards including the commander,
+ *     one copy of each card except basic lands, and no card outside the
+ *     commander's color identity</li>
+ *     <li>Standard: at least 60 cards and at most 4 copies of each card except basic lands</li>
+ *     <li>Both: no banned cards</li>
+ * </ul>
+ * <p>
+ * Color identity is taken from mana costs only, since rules text is not stored.
+ * </p>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * DeckLegalityValidator validator = new DeckLegalityValidator();
+ * validator.setBannedCards(DeckLegalityValidator.Format.COMMANDER, List.of("Mana Crypt"));
+ * DeckLegalityValidator.Report report = validator.validateAll(decks);
+ * </pre>
+ *
+ * <p>The validator can be used from several threads at once.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class DeckLegalityValidator {
+
+    /** Number of cards in a Commander deck, including the commander. */
+    public static final int COMMANDER_DECK_SIZE = 100;
+
+    /** Minimum number of cards in a Standard deck. */
+    public static final int STANDARD_MIN_SIZE = 60;
+
+    /** Maximum copies of one card in a Standard deck. */
+    public static final int STANDARD_COPY_LIMIT = 4;
+
+    /** Batches with fewer decks than this are validated on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    /** Basic land names; any number of copies is allowed in every format. */
+    private static final Set<String> BASIC_LAND_NAMES = Set.of(
+            "plains", "island", "swamp", "mountain", "forest", "wastes",
+            "snow-covered plains", "snow-covered island", "snow-covered swamp",
+            "snow-covered mountain", "snow-covered forest", "snow-covered wastes");
+
+    /**
+     * A deck construction format.
+     */
+    public enum Format {
+        COMMANDER("Commander"),
+        STANDARD("Standard");
+
+        private final String displayName;
+
+        Format(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /** @return the name stored in {@link Deck#getFormat()} */
+        public String getDisplayName() { return displayName; }
+
+        /**
+         * @param name a format name, ignoring case
+         * @return the format, or {@code null} if the name is unknown
+         */
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.displayName.equalsIgnoreCase(name)) return format;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A construction rule, with the message shown when it is broken.
+     */
+    public enum Rule {
+        UNKNOWN_FORMAT("Unknown deck format."),
+        MISSING_COMMANDER("Commander decks need a commander."),
+        DECK_SIZE("Commander decks must contain exactly " + COMMANDER_DECK_SIZE + " cards."),
+        SINGLETON("Commander decks may contain only one copy of each non-basic card."),
+        COLOR_IDENTITY("Card is outside the commander's color identity."),
+        MINIMUM_SIZE("Standard decks must contain at least " + STANDARD_MIN_SIZE + " cards."),
+        COPY_LIMIT("Standard decks may contain at most " + STANDARD_COPY_LIMIT + " copies of each non-basic card."),
+        BANNED("Card is banned in this format.");
+
+        private final String message;
+
+        Rule(String message) {
+            this.message = message;
+        }
+
+        /** @return the message describing a failure of this rule */
+        public String getMessage() { return message; }
+    }
+
+    private static final Rule[] RULES = Rule.values();
+
+    /** Banned card names per format, case-folded. Replaced as a whole on update. */
+    private volatile Map<Format, Set<String>> banned = new EnumMap<>(Format.class);
+
+    /** Facts for saved cards, keyed by card ID. Cleared when the banned lists change. */
+    private final Map<Integer, CardFacts> factsById = new ConcurrentHashMap<>();
+
+    /** Numeric IDs for case-folded card names, so copies can be counted per name without strings. */
+    private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextNameId = new AtomicInteger(1);
+
+    /** Creates a validator with empty banned lists. */
+    public DeckLegalityValidator() { }
+
+    /**
+     * Replaces the banned list of a format.
+     *
+     * @param format    the format
+     * @param cardNames the banned card names, ignoring case
+     */
+    public synchronized void setBannedCards(Format format, Collection<String> cardNames) {
+        Set<String> names = new HashSet<>();
+        for (String name : cardNames) names.add(fold(name));
+        Map<Format, Set<String>> updated = new EnumMap<>(banned);
+        updated.put(format, names);
+        banned = updated;
+        factsById.clear();
+    }
+
+    /**
+     * Forgets the cached facts for every card. Call after changing the name,
+     * type or mana cost of a card that has already been validated.
+     */
+    public void clearCache() {
+        factsById.clear();
+    }
+
+    // ------------------ VALIDATION ------------------
+
+    /**
+     * Checks one deck.
+     *
+     * @param deck the deck to check
+     * @return every violation found, or an empty list if the deck is legal
+     */
+    public List<Violation> validate(Deck deck) {
+        List<Violation> violations = new ArrayList<>();
+        Format format = Format.fromName(deck.getFormat());
+        if (format == null) {
+            violations.add(new Violation(deck, Rule.UNKNOWN_FORMAT, null,
+                    "Format \"" + deck.getFormat() + "\" is not Commander or Standard"));
+            return violations;
+        }
+
+        Card commander = deck.getCommander();
+        CardFacts commanderFacts = commander == null ? null : factsFor(commander);
+        int identity = commanderFacts == null ? ManaCost.ALL_COLORS : commanderFacts.colorMask;
+        int copyLimit = format == Format.COMMANDER ? 1 : STANDARD_COPY_LIMIT;
+        Rule copyRule = format == Format.COMMANDER ? Rule.SINGLETON : Rule.COPY_LIMIT;
+
+        // Copies per card name, since different printings of a card share its limit.
+        CardCountMap copiesByName = new CardCountMap(deck.getDistinctCardCount());
+        boolean[] commanderInList = new boolean[1];
+
+        deck.forEachEntry((card, quantity) -> {
+            CardFacts facts = factsFor(card);
+            if (commanderFacts != null && facts.nameId == commanderFacts.nameId) commanderInList[0] = true;
+            if (facts.isBannedIn(format)) {
+                violations.add(new Violation(deck, Rule.BANNED, card, card.getName()));
+            }
+            if (format == Format.COMMANDER && commanderFacts != null && (facts.colorMask & ~identity) != 0) {
+                violations.add(new Violation(deck, Rule.COLOR_IDENTITY, card, card.getName()));
+            }
+            if (!facts.basicLand) {
+                int before = copiesByName.getCount(facts.nameId);
+                int after = copiesByName.add(facts.nameId, card, quantity);
+                if (before <= copyLimit && after > copyLimit) {
+                    violations.add(new Violation(deck, copyRule, card, card.getName()));
+                }
+            }
+        });
+
+        int total = deck.getTotalCards();
+        if (format == Format.COMMANDER) {
+            if (commander == null) {
+                violations.add(new Violation(deck, Rule.MISSING_COMMANDER, null, null));
+            } else {
+                if (commanderFacts.isBannedIn(format)) {
+                    violations.add(new Violation(deck, Rule.BANNED, commander, commander.getName()));
+                }
+                // The commander may be stored with the other cards or only as the deck's commander.
+                if (!commanderInList[0]) total++;
+            }
+            if (total != COMMANDER_DECK_SIZE) {
+                violations.add(new Violation(deck, Rule.DECK_SIZE, null, total + " cards"));
+            }
+        } else if (total < STANDARD_MIN_SIZE) {
+            violations.add(new Violation(deck, Rule.MINIMUM_SIZE, null, total + " cards"));
+        }
+        return violations;
+    }
+
+    /**
+     * @param deck the deck to check
+     * @return true if the deck breaks no rule
+     */
+    public boolean isLegal(Deck deck) {
+        return validate(deck).isEmpty();
+    }
+
+    /**
+     * Checks many decks, in parallel on the common fork-join pool when there
+     * are enough of them.
+     *
+     * @param decks the decks to check; should support fast random access
+     * @return the violations of every deck, in input order
+     */
+    public Report validateAll(List<Deck> decks) {
+        List<List<Violation>> results = new ArrayList<>(Collections.nCopies(decks.size(), null));
+        IntStream indexes = IntStream.range(0, decks.size());
+        if (decks.size() >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> results.set(i, validate(decks.get(i))));
+        return new Report(decks, results);
+    }
+
+    // ------------------ CARD FACTS ------------------
+
+    /** Returns the cached facts for a saved card, or computes them for an unsaved one. */
+    private CardFacts factsFor(Card card) {
+        if (card.getCardId() <= 0) return computeFacts(card);
+        CardFacts facts = factsById.get(card.getCardId());
+        if (facts == null) {
+            facts = computeFacts(card);
+            factsById.put(card.getCardId(), facts);
+        }
+        return facts;
+    }
+
+    private CardFacts computeFacts(Card card) {
+        String name = fold(card.getName());
+        ManaCost cost = card.getParsedManaCost();
+        boolean basicLand = CardType.fromName(card.getType()) == CardType.LAND && BASIC_LAND_NAMES.contains(name);
+
+        int bannedMask = 0;
+        for (Map.Entry<Format, Set<String>> entry : banned.entrySet()) {
+            if (entry.getValue().contains(name)) bannedMask |= 1 << entry.getKey().ordinal();
+        }
+
+        Integer nameId = nameIds.computeIfAbsent(name, k -> nextNameId.getAndIncrement());
+        return new CardFacts(nameId, cost == null ? 0 : cost.getColorMask(), basicLand, bannedMask);
+    }
+
+    private static String fold(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** The per-card data the rules need, computed once per card ID. */
+    private static final class CardFacts {
+        final int nameId;
+        final int colorMask;
+        final boolean basicLand;
+        final int bannedMask;
+
+        CardFacts(int nameId, int colorMask, boolean basicLand, int bannedMask) {
+            this.nameId = nameId;
+            this.colorMask = colorMask;
+            this.basicLand = basicLand;
+            this.bannedMask = bannedMask;
+        }
+
+        boolean isBannedIn(Format format) {
+            return (bannedMask & (1 << format.ordinal())) != 0;
+        }
+    }
+
+    // ------------------ RESULTS ------------------
+
+    /**
+     * One broken rule in one deck.
+     */
+    public static final class Violation {
+        private final Deck deck;
+        private final Rule rule;
+        private final Card card;
+        private final String detail;
+
+        /**
+         * @param deck   the deck that breaks the rule
+         * @param rule   the broken rule
+         * @param card   the offending card, or {@code null} for deck-level rules
+         * @param detail extra information such as the card name or deck size, or {@code null}
+         */
+        public Violation(Deck deck, Rule rule, Card card, String detail) {
+            this.deck = deck;
+            this.rule = rule;
+            this.card = card;
+            this.detail = detail;
+        }
+
+        /** @return the deck that breaks the rule */
+        public Deck getDeck() { return deck; }
+
+        /** @return the broken rule */
+        public Rule getRule() { return rule; }
+
+        /** @return the offending card, or {@code null} for deck-level rules */
+        public Card getCard() { return card; }
+
+        /** @return extra information, or {@code null} */
+        public String getDetail() { return detail; }
+
+        @Override
+        public String toString() {
+            return detail == null
+                    ? String.format("%s: %s", deck.getDeckName(), rule.getMessage())
+                    : String.format("%s: %s (%s)", deck.getDeckName(), rule.getMessage(), detail);
+        }
+    }
+
+    /**
+     * Result of checking a batch of decks.
+     */
+    public static final class Report {
+        private final List<Deck> decks;
+        private final List<List<Violation>> violations;
+        private final long[] ruleCounts = new long[RULES.length];
+        private final int illegalCount;
+
+        Report(List<Deck> decks, List<List<Violation>> violations) {
+            this.decks = decks;
+            this.violations = violations;
+            int illegal = 0;
+            for (List<Violation> deckViolations : violations) {
+                if (!deckViolations.isEmpty()) illegal++;
+                for (Violation violation : deckViolations) ruleCounts[violation.getRule().ordinal()]++;
+            }
+            this.illegalCount = illegal;
+        }
+
+        /** @return the number of decks checked */
+        public int getDeckCount() { return decks.size(); }
+
+        /** @return the number of decks with at least one violation */
+        public int getIllegalCount() { return illegalCount; }
+
+        /** @return the number of decks with no violations */
+        public int getLegalCount() { return decks.size() - illegalCount; }
+
+        /**
+         * @param index a position in the checked list
+         * @return the violations of the deck at that position
+         */
+        public List<Violation> getViolations(int index) {
+            return Collections.unmodifiableList(violations.get(index));
+        }
+
+        /**
+         * @param rule a rule
+         * @return how many times it was broken across all decks
+         */
+        public long getCount(Rule rule) { return ruleCounts[rule.ordinal()]; }
+
+        /**
+         * Returns a summary with the number of violations per rule.
+         *
+         * @return a readable report summary
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%d of %d decks legal", getLegalCount(), decks.size()));
+            for (Rule rule : RULES) {
+                long count = ruleCounts[rule.ordinal()];
+                if (count > 0) sb.append(String.format("%n  %-75s %d", rule.getMessage(), count));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Decides which entry a {@link ReadThroughCache} removes when it is full.
+ * <p>
+ * The cache reports every lookup, hit, insertion and removal to its policy
+ * while holding its own lock, so implementations do not need to be thread-safe.
+ * </p>
+ *
+ * @param <K> the cache key type
+ * @author Emily
+ * @version 1.0
+ */
+public interface EvictionPolicy<K> {
+
+    /**
+     * Called for every lookup, whether it hits or misses.
+     *
+     * @param key the requested key
+     */
+    default void recordRequest(K key) { }
+
+    /**
+     * Called when a lookup finds a live entry.
+     *
+     * @param key the key that was hit
+     */
+    void recordHit(K key);
+
+    /**
+     * Called when a new entry is stored.
+     *
+     * @param key the inserted key
+     */
+    void recordInsert(K key);
+
+    /**
+     * Called when an entry leaves the cache for any reason.
+     *
+     * @param key the removed key
+     */
+    void recordRemoval(K key);
+
+    /**
+     * Chooses the entry to evict next.
+     *
+     * @return the key of the victim, or {@code null} if the policy tracks no keys
+     */
+    K selectVictim();
+
+    /**
+     * Decides whether a new entry is worth evicting {@code victim} for.
+     * Policies that always admit new entries can keep the default.
+     *
+     * @param candidate the key about to be inserted
+     * @param victim    the key that would be evicted to make room
+     * @return true to evict the victim and insert the candidate
+     */
+    default boolean admit(K candidate, K victim) { return true; }
+
+    /**
+     * Creates a least-recently-used policy.
+     *
+     * @param <K> the cache key type
+     * @return a new LRU policy
+     */
+    static <K> EvictionPolicy<K> lru() {
+        return new LruEvictionPolicy<>();
+    }
+
+    /**
+     * Creates a TinyLFU policy: LRU ordering with a frequency-based admission filter.
+     *
+     * @param maxSize the maximum number of entries in the cache
+     * @param <K>     the cache key type
+     * @return a new TinyLFU policy
+     */
+    static <K> EvictionPolicy<K> tinyLfu(int maxSize) {
+        return new TinyLfuEvictionPolicy<>(maxSize);
+    }
+}
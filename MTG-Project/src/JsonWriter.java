@@ -0,0 +1,197 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Writes JSON text to a {@link Writer} as it is produced.
+ * <p>
+ * Values are written straight to the underlying writer, so a response of
+ * any size is serialized with constant memory and the client starts
+ * receiving it before it is complete. The writer tracks nesting and inserts
+ * commas itself; callers only open and close containers, name members and
+ * write values. U+2028 and U+2029 are escaped so the output is also
+ * valid JavaScript.
+ * </p>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * json.beginObject()
+ *     .name("name").value(card.getName())
+ *     .name("marketValue").value(card.getMarketValue())
+ *     .endObject();
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class JsonWriter implements Flushable, Closeable {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    /** Per nesting level: true once the container holds a value. */
+    private boolean[] hasValue = new boolean[16];
+    private int depth;
+
+    /** True right after {@link #name(String)}, when the next value needs no comma. */
+    private boolean afterName;
+
+    /**
+     * Creates a JSON writer.
+     *
+     * @param out the writer to send the text to; wrap it in a buffer for speed
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /** @return this writer, after writing <code>{</code> */
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    /** @return this writer, after writing <code>}</code> */
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    /** @return this writer, after writing {@code [} */
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    /** @return this writer, after writing {@code ]} */
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * Writes the name of the next object member.
+     *
+     * @param name the member name
+     * @return this writer
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * @param value a string, or {@code null}
+     * @return this writer
+     */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) return nullValue();
+        separate();
+        string(value);
+        return this;
+    }
+
+    /**
+     * @param value a whole number
+     * @return this writer
+     */
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * @param value a number; NaN and infinities are written as {@code null}
+     * @return this writer
+     */
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return nullValue();
+        separate();
+        out.write(Double.toString(value));
+        return this;
+    }
+
+    /**
+     * @param value a boolean
+     * @return this writer
+     */
+    public JsonWriter value(boolean value) throws IOException {
+        separate();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /** @return this writer, after writing {@code null} */
+    public JsonWriter nullValue() throws IOException {
+        separate();
+        out.write("null");
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /** Closes the underlying writer. */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        out.write(bracket);
+        if (++depth == hasValue.length) hasValue = Arrays.copyOf(hasValue, depth * 2);
+        hasValue[depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0) throw new IllegalStateException("Nothing to close");
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+
+    /** Writes the comma before a value or member, unless it is the first or follows a name. */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasValue[depth]) out.write(',');
+        hasValue[depth] = true;
+    }
+
+    private void string(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') continue;
+            out.write(value, start, i - start);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    out.write("\\u");
+                    out.write(HEX[c >> 12 & 0xF]);
+                    out.write(HEX[c >> 8 & 0xF]);
+                    out.write(HEX[c >> 4 & 0xF]);
+                    out.write(HEX[c & 0xF]);
+                }
+            }
+            start = i + 1;
+        }
+        out.write(value, start, length - start);
+        out.write('"');
+    }
+}
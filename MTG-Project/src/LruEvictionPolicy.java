@@ -0,0 +1,30 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Evicts the entry that was used least recently.
+ *
+ * @param <K> the cache key type
+ * @author Emily
+ * @version 1.0
+ */
+public class LruEvictionPolicy<K> implements EvictionPolicy<K> {
+
+    /** Keys in access order, least recently used first. */
+    private final LinkedHashMap<K, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void recordHit(K key) { order.get(key); }
+
+    @Override
+    public void recordInsert(K key) { order.put(key, Boolean.TRUE); }
+
+    @Override
+    public void recordRemoval(K key) { order.remove(key); }
+
+    @Override
+    public K selectVictim() {
+        Iterator<K> it = order.keySet().iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+}
@@ -0,0 +1,302 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed mana cost such as {@code {2}{W}{U}}.
+ * <p>
+ * The cost string is parsed once into a five-bit color mask (white, blue,
+ * black, red, green) plus counts of generic, colorless ({@code {C}}) and
+ * {@code {X}} symbols. Color identity, converted mana cost and subset checks
+ * are then simple integer operations. Instances are immutable, and
+ * {@link #parse(String)} returns a shared instance for costs it has seen before.
+ * </p>
+ *
+ * <p><b>Accepted symbols:</b></p>
+ * <ul>
+ *     <li>{@code {W} {U} {B} {R} {G}} colored mana</li>
+ *     <li>{@code {C}} colorless mana, {@code {X}} variable mana, {@code {0}}...{@code {20}} generic mana</li>
+ *     <li>Hybrid and Phyrexian symbols such as {@code {W/U}}, {@code {2/G}} and {@code {R/P}}</li>
+ *     <li>{@code "None"} or an empty string for cards without a mana cost (lands)</li>
+ * </ul>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * ManaCost cost = ManaCost.parse("{1}{W}{U}");
+ * cost.getConvertedManaCost();                     // 3
+ * cost.fitsColorIdentity(ManaCost.colorMaskOf("WUB")); // true
+ * </pre>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class ManaCost {
+
+    /** Color bit for white mana. */
+    public static final int WHITE = 1;
+    /** Color bit for blue mana. */
+    public static final int BLUE = 1 << 1;
+    /** Color bit for black mana. */
+    public static final int BLACK = 1 << 2;
+    /** Color bit for red mana. */
+    public static final int RED = 1 << 3;
+    /** Color bit for green mana. */
+    public static final int GREEN = 1 << 4;
+    /** All five color bits. */
+    public static final int ALL_COLORS = WHITE | BLUE | BLACK | RED | GREEN;
+
+    /** The cost of a card without mana symbols, such as a land. */
+    public static final ManaCost NONE = new ManaCost("None", 0, 0, 0, 0, 0);
+
+    /** The color letters in bit order. */
+    private static final String COLOR_LETTERS = "WUBRG";
+
+    /** Bits per color in {@link #pips}. */
+    private static final int PIP_BITS = 6;
+
+    /** Maximum number of distinct costs kept in the shared cache. */
+    private static final int MAX_CACHED = 4096;
+
+    /** Previously parsed costs, keyed by their text. */
+    private static final Map<String, ManaCost> CACHE = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final int colorMask;
+    private final int generic;
+    private final int colorless;
+    private final int xCount;
+    private final int convertedManaCost;
+
+    /** Colored symbol counts, {@link #PIP_BITS} bits per color in WUBRG order. */
+    private final int pips;
+
+    private ManaCost(String text, int colorMask, int generic, int colorless, int xCount, int pips) {
+        this.text = text;
+        this.colorMask = colorMask;
+        this.generic = generic;
+        this.colorless = colorless;
+        this.xCount = xCount;
+        this.pips = pips;
+        int colored = 0;
+        for (int i = 0; i < COLOR_LETTERS.length(); i++) {
+            colored += (pips >>> (i * PIP_BITS)) & ((1 << PIP_BITS) - 1);
+        }
+        this.convertedManaCost = generic + colorless + colored;
+    }
+
+    // ------------------ PARSING ------------------
+
+    /**
+     * Parses a mana cost string, returning a cached instance when possible.
+     *
+     * @param text the cost, e.g. "{2}{G}{G}", "None" or ""
+     * @return the parsed cost
+     * @throws IllegalArgumentException if the text contains an unknown symbol
+     */
+    public static ManaCost parse(String text) {
+        if (text == null) return NONE;
+        ManaCost cached = CACHE.get(text);
+        if (cached != null) return cached;
+
+        ManaCost parsed = parseUncached(text);
+        if (CACHE.size() < MAX_CACHED) {
+            ManaCost existing = CACHE.putIfAbsent(text, parsed);
+            if (existing != null) return existing;
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a mana cost string, returning {@code null} instead of throwing
+     * when it is not valid.
+     *
+     * @param text the cost text
+     * @return the parsed cost, or {@code null} if it contains an unknown symbol
+     */
+    public static ManaCost tryParse(String text) {
+        try {
+            return parse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static ManaCost parseUncached(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("None")) {
+            return text.equals(NONE.text) ? NONE : new ManaCost(text, 0, 0, 0, 0, 0);
+        }
+
+        int colorMask = 0;
+        int generic = 0;
+        int colorless = 0;
+        int xCount = 0;
+        int pips = 0;
+
+        int pos = 0;
+        while (pos < trimmed.length()) {
+            if (trimmed.charAt(pos) != '{') throw invalid(text);
+            int close = trimmed.indexOf('}', pos);
+            if (close < 0 || close == pos + 1) throw invalid(text);
+
+            String symbol = trimmed.substring(pos + 1, close);
+            pos = close + 1;
+
+            if (symbol.indexOf('/') >= 0) {
+                // Hybrid or Phyrexian: every color part joins the identity,
+                // and the symbol costs as much as its most expensive half.
+                int cost = 1;
+                for (String part : symbol.split("/")) {
+                    int color = colorBit(part);
+                    if (color != 0) {
+                        colorMask |= color;
+                    } else if (isNumber(part)) {
+                        cost = Math.max(cost, Integer.parseInt(part));
+                    } else if (!part.equalsIgnoreCase("P") && !part.equalsIgnoreCase("C")) {
+                        throw invalid(text);
+                    }
+                }
+                generic += cost;
+            } else if (isNumber(symbol)) {
+                generic += Integer.parseInt(symbol);
+            } else if (symbol.equalsIgnoreCase("C")) {
+                colorless++;
+            } else if (symbol.equalsIgnoreCase("X")) {
+                xCount++;
+            } else {
+                int color = colorBit(symbol);
+                if (color == 0) throw invalid(text);
+                colorMask |= color;
+                int shift = Integer.numberOfTrailingZeros(color) * PIP_BITS;
+                if (((pips >>> shift) & ((1 << PIP_BITS) - 1)) < (1 << PIP_BITS) - 1) {
+                    pips += 1 << shift;
+                }
+            }
+        }
+        return new ManaCost(text, colorMask, generic, colorless, xCount, pips);
+    }
+
+    private static boolean isNumber(String symbol) {
+        if (symbol.isEmpty() || symbol.length() > 2) return false;
+        for (int i = 0; i < symbol.length(); i++) {
+            if (!Character.isDigit(symbol.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static int colorBit(String symbol) {
+        if (symbol.length() != 1) return 0;
+        int index = COLOR_LETTERS.indexOf(Character.toUpperCase(symbol.charAt(0)));
+        return index < 0 ? 0 : 1 << index;
+    }
+
+    private static IllegalArgumentException invalid(String text) {
+        return new IllegalArgumentException("Invalid mana cost: " + text);
+    }
+
+    /**
+     * Builds a color mask from color letters, e.g. {@code "WU"} for Azorius.
+     *
+     * @param letters any combination of W, U, B, R and G (case-insensitive)
+     * @return the color mask
+     * @throws IllegalArgumentException if a character is not a color letter
+     */
+    public static int colorMaskOf(String letters) {
+        int mask = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            int index = COLOR_LETTERS.indexOf(Character.toUpperCase(letters.charAt(i)));
+            if (index < 0) throw new IllegalArgumentException("Not a color letter: " + letters.charAt(i));
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    // ------------------ QUERIES ------------------
+
+    /** @return the colors in this cost as a bit mask of {@link #WHITE}, {@link #BLUE}, etc. */
+    public int getColorMask() { return colorMask; }
+
+    /** @return the number of colors in this cost (0 to 5) */
+    public int getColorCount() { return Integer.bitCount(colorMask); }
+
+    /** @return true if the cost has no colored symbols */
+    public boolean isColorless() { return colorMask == 0; }
+
+    /** @return true if the cost has two or more colors */
+    public boolean isMulticolored() { return Integer.bitCount(colorMask) > 1; }
+
+    /**
+     * @param color a single color bit such as {@link #RED}
+     * @return true if the cost includes that color
+     */
+    public boolean hasColor(int color) { return (colorMask & color) != 0; }
+
+    /**
+     * Returns how many plain symbols of one color the cost contains.
+     * Hybrid symbols are not included.
+     *
+     * @param color a single color bit such as {@link #GREEN}
+     * @return the number of symbols of that color
+     */
+    public int getPips(int color) {
+        int shift = Integer.numberOfTrailingZeros(color) * PIP_BITS;
+        return (pips >>> shift) & ((1 << PIP_BITS) - 1);
+    }
+
+    /** @return the generic mana amount, including the cost of hybrid symbols */
+    public int getGeneric() { return generic; }
+
+    /** @return the number of {@code {C}} symbols */
+    public int getColorless() { return colorless; }
+
+    /** @return the number of {@code {X}} symbols */
+    public int getXCount() { return xCount; }
+
+    /** @return the converted mana cost (mana value), counting {@code {X}} as zero */
+    public int getConvertedManaCost() { return convertedManaCost; }
+
+    /**
+     * Checks whether every color in this cost is allowed by a color identity,
+     * as required for cards in a Commander deck.
+     *
+     * @param identityMask the allowed colors
+     * @return true if this cost uses no color outside the identity
+     */
+    public boolean fitsColorIdentity(int identityMask) {
+        return (colorMask & ~identityMask) == 0;
+    }
+
+    /**
+     * Checks whether this cost's colors are a subset of another cost's colors.
+     *
+     * @param other another cost
+     * @return true if every color here also appears in {@code other}
+     */
+    public boolean isColorSubsetOf(ManaCost other) {
+        return fitsColorIdentity(other.colorMask);
+    }
+
+    /**
+     * Returns the original cost text.
+     *
+     * @return the text this cost was parsed from
+     */
+    @Override
+    public String toString() { return text; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ManaCost other)) return false;
+        return colorMask == other.colorMask && generic == other.generic && colorless == other.colorless
+                && xCount == other.xCount && pips == other.pips;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = colorMask;
+        h = 31 * h + generic;
+        h = 31 * h + colorless;
+        h = 31 * h + xCount;
+        return 31 * h + pips;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * A new market value for one card, as found in a nightly price feed.
+ * <p>
+ * An update identifies its card either by database ID or by printing
+ * (set name, collector number and foil status). Instances are created with
+ * {@link #byId(int, double)} or {@link #byPrinting(String, int, boolean, double)}
+ * and applied in bulk with {@link CardDAO#applyPriceUpdates(java.util.Iterator, int)}.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class PriceUpdate {
+
+    private final int cardId;
+    private final String setName;
+    private final int collectorNumber;
+    private final boolean foil;
+    private final double marketValue;
+
+    private PriceUpdate(int cardId, String setName, int collectorNumber, boolean foil, double marketValue) {
+        this.cardId = cardId;
+        this.setName = setName;
+        this.collectorNumber = collectorNumber;
+        this.foil = foil;
+        this.marketValue = marketValue;
+    }
+
+    /**
+     * Creates an update keyed by database ID.
+     *
+     * @param cardId      the card's ID
+     * @param marketValue the new market value
+     * @return the update
+     */
+    public static PriceUpdate byId(int cardId, double marketValue) {
+        if (cardId <= 0) throw new IllegalArgumentException("cardId must be positive: " + cardId);
+        return new PriceUpdate(cardId, null, 0, false, marketValue);
+    }
+
+    /**
+     * Creates an update keyed by printing.
+     *
+     * @param setName         the set name
+     * @param collectorNumber the collector number within the set
+     * @param foil            whether the foil or non-foil copy is meant
+     * @param marketValue     the new market value
+     * @return the update
+     */
+    public static PriceUpdate byPrinting(String setName, int collectorNumber, boolean foil, double marketValue) {
+        if (setName == null) throw new IllegalArgumentException("setName is required");
+        return new PriceUpdate(0, setName, collectorNumber, foil, marketValue);
+    }
+
+    /** @return true if this update is keyed by card ID rather than by printing */
+    public boolean isById() { return cardId > 0; }
+
+    /** @return the card ID, or 0 for printing-keyed updates */
+    public int getCardId() { return cardId; }
+
+    /** @return the set name, or {@code null} for ID-keyed updates */
+    public String getSetName() { return setName; }
+
+    /** @return the collector number (printing-keyed updates only) */
+    public int getCollectorNumber() { return collectorNumber; }
+
+    /** @return the foil status (printing-keyed updates only) */
+    public boolean isFoil() { return foil; }
+
+    /** @return the new market value */
+    public double getMarketValue() { return marketValue; }
+
+    @Override
+    public String toString() {
+        return isById()
+                ? String.format("PriceUpdate [cardId=%d, $%.2f]", cardId, marketValue)
+                : String.format("PriceUpdate [Set: %s, #%d, Foil: %b, $%.2f]", setName, collectorNumber, foil, marketValue);
+    }
+}
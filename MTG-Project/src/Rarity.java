@@ -0,0 +1,61 @@
+import java.util.Arrays;
+
+/**
+ * The Magic: The Gathering rarities accepted by the system.
+ * <p>
+ * Mirrors the rarity list validated by {@link DMSUtils}.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public enum Rarity {
+    COMMON("Common"),
+    UNCOMMON("Uncommon"),
+    RARE("Rare"),
+    MYTHIC_RARE("Mythic Rare");
+
+    /** Constants grouped by display-name length, so a lookup only compares same-length names. */
+    private static final Rarity[][] BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (Rarity value : values()) maxLength = Math.max(maxLength, value.displayName.length());
+        BY_LENGTH = new Rarity[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            final int len = length;
+            BY_LENGTH[length] = Arrays.stream(values())
+                    .filter(v -> v.displayName.length() == len)
+                    .toArray(Rarity[]::new);
+        }
+    }
+
+    /** The name shown to users and stored in the database. */
+    private final String displayName;
+
+    Rarity(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /** @return the display name (e.g., "Mythic Rare") */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Looks up a rarity by name, ignoring case, without allocating.
+     *
+     * @param name the rarity name (e.g., "mythic rare")
+     * @return the matching rarity, or {@code null} if the name is unknown
+     */
+    public static Rarity fromName(String name) {
+        if (name == null || name.length() >= BY_LENGTH.length) return null;
+        for (Rarity rarity : BY_LENGTH[name.length()]) {
+            if (rarity.displayName.regionMatches(true, 0, name, 0, name.length())) {
+                return rarity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() { return displayName; }
+}
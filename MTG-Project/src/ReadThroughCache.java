@@ -0,0 +1,218 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A size- and time-bounded read-through cache.
+ * <p>
+ * {@link #get(Object, Function)} returns the cached value for a key, or calls
+ * the loader, stores its result and returns it. When the cache is full, the
+ * configured {@link EvictionPolicy} picks the entry to remove. Entries older
+ * than the time-to-live are treated as misses and reloaded.
+ * </p>
+ *
+ * <p>
+ * Loaders run outside the cache lock, so a slow database query does not block
+ * other lookups. A value loaded before an {@link #invalidate(Object)} or
+ * {@link #invalidateAll()} is returned to its caller but not stored, so a write
+ * can never be hidden by a stale load that finishes after it.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Emily
+ * @version 1.0
+ */
+public class ReadThroughCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final EvictionPolicy<K> policy;
+
+    /** Cached entries. Guarded by {@code this}. */
+    private final Map<K, Entry<V>> entries = new HashMap<>();
+
+    /** Incremented by every invalidation; loads that straddle one are not stored. */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long rejections;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize   the maximum number of entries (at least 1)
+     * @param ttlMillis how long an entry stays valid, or 0 for no expiry
+     * @param policy    the eviction policy
+     */
+    public ReadThroughCache(int maxSize, long ttlMillis, EvictionPolicy<K> policy) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it on a miss.
+     *
+     * @param key    the key
+     * @param loader computes the value when it is not cached; a {@code null}
+     *               result is returned but not cached
+     * @return the cached or freshly loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) return cached;
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        if (value == null) return null;
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                store(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for {@code key} without loading it on a miss.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} if it is not cached or has expired
+     */
+    public synchronized V getIfPresent(K key) {
+        return lookup(key);
+    }
+
+    /** Returns a fresh cached value or {@code null}, updating the counters. Caller must hold the lock. */
+    private V lookup(K key) {
+        policy.recordRequest(key);
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (ttlNanos == 0 || System.nanoTime() - entry.loadedAt < ttlNanos) {
+                hits++;
+                policy.recordHit(key);
+                return entry.value;
+            }
+            entries.remove(key);
+            policy.recordRemoval(key);
+            expirations++;
+        }
+        misses++;
+        return null;
+    }
+
+    /** Stores a value, evicting entries as needed. Caller must hold the lock. */
+    private void store(K key, V value) {
+        if (entries.containsKey(key)) {
+            entries.put(key, new Entry<>(value));
+            return;
+        }
+        while (entries.size() >= maxSize) {
+            K victim = policy.selectVictim();
+            if (victim == null) break;
+            if (!policy.admit(key, victim)) {
+                rejections++;
+                return;
+            }
+            entries.remove(victim);
+            policy.recordRemoval(victim);
+            evictions++;
+        }
+        entries.put(key, new Entry<>(value));
+        policy.recordInsert(key);
+    }
+
+    /**
+     * Removes one entry.
+     *
+     * @param key the key to remove
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            policy.recordRemoval(key);
+        }
+    }
+
+    /** Removes every entry. */
+    public synchronized void invalidateAll() {
+        generation++;
+        for (K key : entries.keySet()) {
+            policy.recordRemoval(key);
+        }
+        entries.clear();
+    }
+
+    /** @return the number of cached entries */
+    public synchronized int size() { return entries.size(); }
+
+    /** @return a snapshot of the cache counters */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, expirations, rejections);
+    }
+
+    /** A cached value and the time it was loaded. */
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt = System.nanoTime();
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Snapshot of a cache's hit, miss and eviction counters.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long rejections;
+
+        Stats(long hits, long misses, long evictions, long expirations, long rejections) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.rejections = rejections;
+        }
+
+        /** @return number of lookups served from the cache */
+        public long getHits() { return hits; }
+
+        /** @return number of lookups that had to call the loader */
+        public long getMisses() { return misses; }
+
+        /** @return number of entries removed to make room */
+        public long getEvictions() { return evictions; }
+
+        /** @return number of entries dropped because their time-to-live passed */
+        public long getExpirations() { return expirations; }
+
+        /** @return number of loaded values the eviction policy declined to store */
+        public long getRejections() { return rejections; }
+
+        /** @return hits divided by total lookups, or 0 if there were none */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cache [hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d, rejections=%d]",
+                    hits, misses, getHitRate() * 100, evictions, expirations, rejections);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed set of non-negative {@code int} values in the style of a roaring bitmap.
+ * <p>
+ * Values are split into chunks of 65536 by their upper 16 bits. A chunk with
+ * at most {@value #ARRAY_MAX} values stores them as a sorted {@code char[]};
+ * a denser chunk switches to a 1024-word bitmap. Sparse sets therefore cost
+ * two bytes per value and dense sets one bit per value. Intersections work
+ * chunk by chunk: only chunks present in both sets are visited, and two dense
+ * chunks are combined a 64-bit word at a time.
+ * </p>
+ *
+ * <p>
+ * Values added in ascending order, as when indexing a collection by position,
+ * are appended without searching. Bitmaps are not thread-safe while being
+ * modified, but can be read from several threads once built.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class RoaringBitmap {
+
+    /** Largest number of values kept in an array chunk. */
+    static final int ARRAY_MAX = 4096;
+
+    /** Number of 64-bit words in a bitmap chunk. */
+    private static final int WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int size;
+
+    /**
+     * Adds a value.
+     *
+     * @param value a value from 0 to {@link Integer#MAX_VALUE}
+     */
+    public void add(int value) {
+        if (value < 0) throw new IllegalArgumentException("value must not be negative: " + value);
+        char key = (char) (value >>> 16);
+        int i = size > 0 && keys[size - 1] == key ? size - 1 : indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new Chunk());
+        }
+        chunks[i].add((char) value);
+    }
+
+    /**
+     * @param value a value
+     * @return true if the value is in the set
+     */
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && chunks[i].contains((char) value);
+    }
+
+    /** @return the number of values in the set */
+    public int getCardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) total += chunks[i].cardinality;
+        return total;
+    }
+
+    /** @return true if the set holds no values */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Passes every value to {@code action} in ascending order.
+     *
+     * @param action called once per value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) chunks[i].forEach(keys[i] << 16, action);
+    }
+
+    /** @return the values in ascending order */
+    public int[] toArray() {
+        int[] values = new int[getCardinality()];
+        int[] n = new int[1];
+        forEach(v -> values[n[0]++] = v);
+        return values;
+    }
+
+    /**
+     * Returns the values that pass a test, as a new set.
+     *
+     * @param test the test
+     * @return the matching values
+     */
+    public RoaringBitmap filter(IntPredicate test) {
+        RoaringBitmap result = new RoaringBitmap();
+        forEach(v -> {
+            if (test.test(v)) result.add(v);
+        });
+        return result;
+    }
+
+    /**
+     * Returns the intersection of two sets.
+     *
+     * @param a a set
+     * @param b another set
+     * @return a new set holding the values in both
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Chunk chunk = Chunk.and(a.chunks[i], b.chunks[j]);
+                if (chunk.cardinality > 0) result.insertChunk(result.size, a.keys[i], chunk);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds a set from ascending values.
+     *
+     * @param sorted values in ascending order, without duplicates
+     * @param from   the first index to use
+     * @param to     the index after the last one to use
+     * @return a set holding those values
+     */
+    public static RoaringBitmap ofSorted(int[] sorted, int from, int to) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = from; i < to; i++) result.add(sorted[i]);
+        return result;
+    }
+
+    /**
+     * Builds the set of values in {@code [0, limit)} that pass a test.
+     * <p>
+     * Each 65536-value chunk is evaluated into its own bitmap, so with
+     * {@code parallel} set the chunks are tested on the common fork-join pool
+     * without any shared state. The test must then be thread-safe.
+     * </p>
+     *
+     * @param limit    one past the largest value to test
+     * @param test     the test
+     * @param parallel true to test chunks in parallel
+     * @return the values that passed
+     */
+    public static RoaringBitmap build(int limit, IntPredicate test, boolean parallel) {
+        int chunkCount = (int) ((limit + 0xFFFFL) >>> 16);
+        IntStream ids = IntStream.range(0, chunkCount);
+        Chunk[] built = new Chunk[chunkCount];
+        (parallel ? ids.parallel() : ids).forEach(c -> {
+            long[] bits = new long[WORDS];
+            int base = c << 16;
+            int end = (int) Math.min(limit, base + 0x10000L);
+            for (int v = base; v < end; v++) {
+                if (test.test(v)) bits[(v & 0xFFFF) >>> 6] |= 1L << v;
+            }
+            built[c] = Chunk.ofBits(bits);
+        });
+
+        RoaringBitmap result = new RoaringBitmap();
+        for (int c = 0; c < chunkCount; c++) {
+            if (built[c].cardinality > 0) result.insertChunk(result.size, (char) c, built[c]);
+        }
+        return result;
+    }
+
+    private int indexOf(char key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) low = mid + 1;
+            else if (keys[mid] > key) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    private void insertChunk(int i, char key, Chunk chunk) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            chunks = Arrays.copyOf(chunks, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(chunks, i, chunks, i + 1, size - i);
+        keys[i] = key;
+        chunks[i] = chunk;
+        size++;
+    }
+
+    /**
+     * The low 16 bits of the values sharing one key: a sorted array while
+     * sparse ({@code bits == null}), a bitmap once dense.
+     */
+    private static final class Chunk {
+        char[] array = new char[4];
+        long[] bits;
+        int cardinality;
+
+        void add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (bits[low >>> 6] != before) cardinality++;
+                return;
+            }
+            int i;
+            if (cardinality == 0 || array[cardinality - 1] < low) {
+                i = cardinality;
+            } else {
+                i = Arrays.binarySearch(array, 0, cardinality, low);
+                if (i >= 0) return;
+                i = -i - 1;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBits();
+                add(low);
+                return;
+            }
+            if (cardinality == array.length) array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            System.arraycopy(array, i, array, i + 1, cardinality - i);
+            array[i] = low;
+            cardinality++;
+        }
+
+        boolean contains(char low) {
+            return bits != null
+                    ? (bits[low >>> 6] & (1L << low)) != 0
+                    : Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        void forEach(int high, IntConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) action.accept(high | array[i]);
+                return;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private void toBits() {
+            bits = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) bits[array[i] >>> 6] |= 1L << array[i];
+            array = null;
+        }
+
+        static Chunk ofBits(long[] bits) {
+            Chunk chunk = new Chunk();
+            int count = 0;
+            for (long word : bits) count += Long.bitCount(word);
+            if (count > ARRAY_MAX) {
+                chunk.bits = bits;
+                chunk.array = null;
+                chunk.cardinality = count;
+                return chunk;
+            }
+            chunk.array = new char[Math.max(4, count)];
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    chunk.array[chunk.cardinality++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return chunk;
+        }
+
+        static Chunk and(Chunk a, Chunk b) {
+            if (a.bits != null && b.bits != null) {
+                long[] bits = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) bits[w] = a.bits[w] & b.bits[w];
+                return ofBits(bits);
+            }
+            if (a.bits != null) return and(b, a);
+
+            Chunk result = new Chunk();
+            result.array = new char[Math.max(4, a.cardinality)];
+            if (b.bits != null) {
+                for (int i = 0; i < a.cardinality; i++) {
+                    char low = a.array[i];
+                    if ((b.bits[low >>> 6] & (1L << low)) != 0) result.array[result.cardinality++] = low;
+                }
+                return result;
+            }
+            int i = 0;
+            int j = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                if (a.array[i] < b.array[j]) i++;
+                else if (a.array[i] > b.array[j]) j++;
+                else {
+                    result.array[result.cardinality++] = a.array[i];
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
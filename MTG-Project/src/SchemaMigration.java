@@ -0,0 +1,178 @@
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Creates the tables and indexes that the DAO classes rely on.
+ * <p>
+ * Tables are created with {@code CREATE TABLE IF NOT EXISTS}, so an empty
+ * database, such as a new embedded H2 file, is ready to use. Each index is
+ * checked against the backend's catalog (see {@link DatabaseBackend#existingIndexesSql()})
+ * and created only if it is missing, so the migration can run on every start.
+ * The same statements ship as {@code migrations/000_schema.sql} and
+ * {@code migrations/001_card_query_indexes.sql} for applying by hand.
+ * </p>
+ *
+ * <p>
+ * The composite indexes follow the shape of {@link CardDAO#findCards(CardCriteria)}:
+ * equality columns come first and the range or sort column (market value,
+ * collector number) last, so MySQL can seek to the matching rows and read
+ * them already in order. The name index also serves the name-keyed UPDATE
+ * and DELETE statements.
+ * </p>
+ *
+ * <p>
+ * {@link DatabaseConnection} runs the migration when it creates the pool
+ * unless the {@code mtg.db.migrate} system property is {@code false}.
+ * </p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public final class SchemaMigration {
+
+    /** Table definitions, in creation order. They run unchanged on MySQL and on H2 in MySQL mode. */
+    static final List<String> TABLES = List.of(
+            """
+            CREATE TABLE IF NOT EXISTS Card (
+                cardId INT AUTO_INCREMENT PRIMARY KEY,
+                name VARCHAR(255) NOT NULL,
+                manaCost VARCHAR(64),
+                type VARCHAR(32),
+                rarity VARCHAR(32),
+                setName VARCHAR(255),
+                collectorNumber INT,
+                marketValue DOUBLE,
+                isFoil BOOLEAN
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS Deck (
+                deckId INT AUTO_INCREMENT PRIMARY KEY,
+                deckName VARCHAR(255) NOT NULL,
+                format VARCHAR(32),
+                commanderId INT
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS DeckCards (
+                deckId INT NOT NULL,
+                cardId INT NOT NULL,
+                quantity INT NOT NULL,
+                PRIMARY KEY (deckId, cardId)
+            )"""
+    );
+
+    /** Indexes on the Card table, in creation order. */
+    static final List<IndexDefinition> CARD_INDEXES = List.of(
+            new IndexDefinition("idx_card_name", "Card", "name"),
+            new IndexDefinition("idx_card_type_rarity_value", "Card", "type", "rarity", "marketValue"),
+            new IndexDefinition("idx_card_rarity_value", "Card", "rarity", "marketValue"),
+            new IndexDefinition("idx_card_set_number", "Card", "setName", "collectorNumber"),
+            new IndexDefinition("idx_card_foil_value", "Card", "isFoil", "marketValue"),
+            new IndexDefinition("idx_card_value", "Card", "marketValue")
+    );
+
+    private SchemaMigration() { }
+
+    /**
+     * Creates any missing tables and indexes using a pooled connection.
+     *
+     * @return the number of indexes created, or -1 if the migration failed
+     */
+    public static int migrate() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) return -1;
+            return migrate(conn, DatabaseConnection.getBackend());
+        } catch (SQLException e) {
+            System.out.println("Error migrating schema: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Creates any missing tables and indexes on the given connection. An index
+     * that cannot be created is reported and skipped.
+     *
+     * @param conn    an open connection to the application database
+     * @param backend the database engine behind the connection
+     * @return the number of indexes created
+     * @throws SQLException if a table cannot be created or the existing indexes cannot be read
+     */
+    static int migrate(Connection conn, DatabaseBackend backend) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) stmt.executeUpdate(table);
+        }
+
+        Set<String> existing = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(backend.existingIndexesSql())) {
+            while (rs.next()) {
+                existing.add(key(rs.getString(1), rs.getString(2)));
+            }
+        }
+
+        int created = 0;
+        for (IndexDefinition index : CARD_INDEXES) {
+            if (existing.contains(key(index.getTable(), index.getName()))) continue;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(index.toSql());
+                created++;
+                System.out.println("Created index " + index.getName() + ".");
+            } catch (SQLException e) {
+                System.out.println("Error creating index " + index.getName() + ": " + e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /** Table and index names compare ignoring case, as MySQL does on most platforms and H2 stores them lowercased. */
+    private static String key(String table, String index) {
+        return (table + "." + index).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Applies the migration to the configured backend, or with {@code --print}
+     * prints the statements instead.
+     *
+     * @param args {@code --print} to print the SQL without connecting
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--print")) {
+            TABLES.forEach(table -> System.out.println(table + ";\n"));
+            CARD_INDEXES.forEach(index -> System.out.println(index.toSql() + ";"));
+            return;
+        }
+        // Migrate explicitly below rather than again when the pool is created.
+        System.setProperty("mtg.db.migrate", "false");
+        int created = migrate();
+        if (created >= 0) System.out.println(created + " indexes created.");
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * A named index over one or more columns of a table.
+     */
+    public static final class IndexDefinition {
+        private final String name;
+        private final String table;
+        private final List<String> columns;
+
+        IndexDefinition(String name, String table, String... columns) {
+            this.name = name;
+            this.table = table;
+            this.columns = List.of(columns);
+        }
+
+        /** @return the index name */
+        public String getName() { return name; }
+
+        /** @return the indexed table */
+        public String getTable() { return table; }
+
+        /** @return the indexed columns, in index order */
+        public List<String> getColumns() { return columns; }
+
+        /** @return the CREATE INDEX statement for this index */
+        public String toSql() {
+            return "CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")";
+        }
+    }
+}
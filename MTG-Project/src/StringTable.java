@@ -0,0 +1,60 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A symbol table that maps each distinct string to a small integer ID.
+ * <p>
+ * Columns with few distinct values (set names, mana costs, repeated card names)
+ * can then be stored as {@code int} IDs, with each distinct string kept once.
+ * IDs are assigned in insertion order starting at 0 and never change.
+ * </p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class StringTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the ID of a string, adding it to the table if needed.
+     *
+     * @param value the string (must not be {@code null})
+     * @return its ID
+     */
+    public int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) return id;
+        int newId = values.size();
+        values.add(value);
+        ids.put(value, newId);
+        return newId;
+    }
+
+    /**
+     * Returns the ID of a string without adding it.
+     *
+     * @param value the string
+     * @return its ID, or -1 if it is not in the table
+     */
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the string for an ID.
+     *
+     * @param id an ID returned by {@link #intern(String)}
+     * @return the string
+     */
+    public String get(int id) { return values.get(id); }
+
+    /** @return the number of distinct strings */
+    public int size() { return values.size(); }
+}
@@ -0,0 +1,94 @@
+/**
+ * LRU eviction guarded by a TinyLFU admission filter.
+ * <p>
+ * A small count-min sketch estimates how often each key has been requested.
+ * When the cache is full, a new entry only replaces the LRU victim if it has
+ * been requested more often than the victim, so one-off lookups (such as a
+ * single scan over many pages) cannot flush out frequently used entries.
+ * Counters are halved periodically so the estimates follow recent traffic.
+ * </p>
+ *
+ * @param <K> the cache key type
+ * @author Emily
+ * @version 1.0
+ */
+public class TinyLfuEvictionPolicy<K> extends LruEvictionPolicy<K> {
+
+    /** Number of hash rows in the sketch. */
+    private static final int DEPTH = 4;
+
+    /** Largest value a counter can reach. */
+    private static final int MAX_COUNT = 15;
+
+    /** Per-row seeds used to derive independent hashes. */
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int[][] counters;
+    private final int mask;
+
+    /** Number of recorded requests after which all counters are halved. */
+    private final int sampleSize;
+
+    private int additions;
+
+    /**
+     * Creates a policy sized for a cache of {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of entries in the cache
+     */
+    public TinyLfuEvictionPolicy(int maxSize) {
+        int width = Integer.highestOneBit(Math.max(16, maxSize * 4 - 1)) << 1;
+        this.counters = new int[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(10 * maxSize, 100);
+    }
+
+    @Override
+    public void recordRequest(K key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (counters[row][index] < MAX_COUNT) counters[row][index]++;
+        }
+        if (++additions >= sampleSize) age();
+    }
+
+    @Override
+    public boolean admit(K candidate, K victim) {
+        return frequency(candidate) > frequency(victim);
+    }
+
+    /**
+     * Estimates how many times a key has been requested recently.
+     *
+     * @param key the key
+     * @return the estimated request count (0 to 15)
+     */
+    public int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[row][indexOf(hash, row)]);
+        }
+        return min;
+    }
+
+    /** Halves every counter so old traffic gradually stops counting. */
+    private void age() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) row[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45D9F3B;
+        return h ^ (h >>> 16);
+    }
+}
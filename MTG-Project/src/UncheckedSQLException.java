@@ -0,0 +1,28 @@
+import java.sql.SQLException;
+
+/**
+ * Wraps a {@link SQLException} so it can be thrown from places that cannot
+ * declare checked exceptions, such as lambdas and {@link java.util.stream.Stream} pipelines.
+ *
+ * @author Emily
+ * @version 1.0
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new unchecked wrapper around a database error.
+     *
+     * @param cause the original SQL exception
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /** @return the wrapped {@link SQLException} */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
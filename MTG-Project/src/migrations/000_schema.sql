@@ -0,0 +1,28 @@
+-- Tables used by CardDAO and DeckDAO. Runs unchanged on MySQL and on H2 in MySQL mode.
+-- SchemaMigration applies this automatically when the connection pool is created.
+
+CREATE TABLE IF NOT EXISTS Card (
+    cardId INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    manaCost VARCHAR(64),
+    type VARCHAR(32),
+    rarity VARCHAR(32),
+    setName VARCHAR(255),
+    collectorNumber INT,
+    marketValue DOUBLE,
+    isFoil BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS Deck (
+    deckId INT AUTO_INCREMENT PRIMARY KEY,
+    deckName VARCHAR(255) NOT NULL,
+    format VARCHAR(32),
+    commanderId INT
+);
+
+CREATE TABLE IF NOT EXISTS DeckCards (
+    deckId INT NOT NULL,
+    cardId INT NOT NULL,
+    quantity INT NOT NULL,
+    PRIMARY KEY (deckId, cardId)
+);
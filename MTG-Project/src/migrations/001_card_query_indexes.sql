@@ -0,0 +1,11 @@
+-- Indexes for CardDAO.findCards and the name-keyed UPDATE/DELETE statements.
+-- Equality columns come first and the range or sort column last.
+-- SchemaMigration applies these automatically after 000_schema.sql, skipping indexes that already exist;
+-- this script is for creating them by hand on a fresh database.
+
+CREATE INDEX idx_card_name ON Card (name);
+CREATE INDEX idx_card_type_rarity_value ON Card (type, rarity, marketValue);
+CREATE INDEX idx_card_rarity_value ON Card (rarity, marketValue);
+CREATE INDEX idx_card_set_number ON Card (setName, collectorNumber);
+CREATE INDEX idx_card_foil_value ON Card (isFoil, marketValue);
+CREATE INDEX idx_card_value ON Card (marketValue);